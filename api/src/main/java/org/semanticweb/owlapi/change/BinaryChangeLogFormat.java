@@ -0,0 +1,82 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.change;
+
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * Constants shared by {@link BinaryChangeLogWriter} and {@link BinaryChangeLogReader}, and by
+ * the {@link BinaryOWLObjectWriter} and {@link BinaryOWLObjectReader} they use for OWL objects.
+ * <p>
+ * A log is a sequence of segments. Each segment starts with a checkpoint (tag, magic number and
+ * version) and is followed by change records; IRIs, namespaces and ontology IDs are dictionary
+ * encoded, and dictionaries are reset at each checkpoint, so that reading can start at any
+ * checkpoint. A record is a change tag, an ontology ID reference and the change payload. OWL
+ * objects are encoded as a one byte tag derived from {@code typeIndex()} followed by their
+ * components; integers and lengths are unsigned varints and strings are length prefixed UTF-8.
+ * Anonymous ontology IDs are written as their internal id, in modified UTF-8.
+ */
+final class BinaryChangeLogFormat {
+
+    static final int MAGIC = 0x4f574c43;
+    static final int VERSION = 3;
+    // record tags
+    static final int CHECKPOINT = 0;
+    static final int ADD_AXIOM = 1;
+    static final int REMOVE_AXIOM = 2;
+    static final int ADD_IMPORT = 3;
+    static final int REMOVE_IMPORT = 4;
+    static final int ADD_ONTOLOGY_ANNOTATION = 5;
+    static final int REMOVE_ONTOLOGY_ANNOTATION = 6;
+    static final int SET_ONTOLOGY_ID = 7;
+    // value tags; OWL objects use objectTag(), whose tags all follow these
+    static final int IRI_TAG = 0;
+    static final int LIST = 1;
+    static final int INT = 2;
+    static final int STRING = 3;
+    static final int FACET = 4;
+    // ontology ID kinds
+    static final int ANONYMOUS_ID = 0;
+    static final int NAMED_ID = 1;
+    static final int VERSIONED_ID = 2;
+    /**
+     * type indexes are grouped in thousands, with fewer than 40 types in each group
+     */
+    private static final int GROUP = 40;
+    private static final int FIRST_OBJECT_TAG = FACET + 1;
+    private static final int MAX_TAG = 0xFF;
+
+    private BinaryChangeLogFormat() {}
+
+    /**
+     * @param typeIndex type index of an OWL object
+     * @return one byte tag for the type
+     * @throws OWLRuntimeException if the type index has no one byte tag
+     */
+    static int objectTag(int typeIndex) {
+        int tag = FIRST_OBJECT_TAG + typeIndex / 1000 * GROUP + typeIndex % 1000;
+        if (typeIndex < 0 || typeIndex % 1000 >= GROUP || tag > MAX_TAG) {
+            throw new OWLRuntimeException("No one byte tag for type index " + typeIndex);
+        }
+        return tag;
+    }
+
+    /**
+     * @param tag tag created by {@link #objectTag(int)}
+     * @return type index
+     */
+    static int typeIndex(int tag) {
+        int offset = tag - FIRST_OBJECT_TAG;
+        return offset / GROUP * 1000 + offset % GROUP;
+    }
+}
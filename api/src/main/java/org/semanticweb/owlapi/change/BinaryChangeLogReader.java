@@ -0,0 +1,199 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.change;
+
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ADD_AXIOM;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ADD_IMPORT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ADD_ONTOLOGY_ANNOTATION;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ANONYMOUS_ID;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.CHECKPOINT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.MAGIC;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.NAMED_ID;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.REMOVE_AXIOM;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.REMOVE_IMPORT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.REMOVE_ONTOLOGY_ANNOTATION;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.SET_ONTOLOGY_ID;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.VERSION;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.VERSIONED_ID;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Reads the change records written by a {@link BinaryChangeLogWriter}. The stream must be
+ * positioned at a checkpoint, i.e., at the start of a log or at an offset returned by
+ * {@link BinaryChangeLogWriter#getLastCheckpointOffset()}.
+ *
+ * @since 5.1.17
+ */
+public class BinaryChangeLogReader implements Closeable {
+
+    private final DataInputStream in;
+    private final OWLDataFactory df;
+    private final BinaryOWLObjectReader objects;
+    private final List<OWLOntologyID> ontologyIDs = new ArrayList<>();
+    private boolean started;
+
+    /**
+     * @param in stream to read from
+     * @param df data factory used to create the axioms and annotations read
+     */
+    public BinaryChangeLogReader(InputStream in, OWLDataFactory df) {
+        this.in =
+            new DataInputStream(new BufferedInputStream(checkNotNull(in, "in cannot be null")));
+        this.df = checkNotNull(df, "df cannot be null");
+        objects = new BinaryOWLObjectReader(this.in, df);
+    }
+
+    /**
+     * @return the next record, or null at the end of the log
+     * @throws IOException if reading fails or the log is truncated within a record
+     */
+    @Nullable
+    public OWLOntologyChangeRecord read() throws IOException {
+        int tag = in.read();
+        while (tag == CHECKPOINT) {
+            readCheckpoint();
+            tag = in.read();
+        }
+        if (tag < 0) {
+            return null;
+        }
+        if (!started) {
+            throw new IOException("Not a change log, or not positioned at a checkpoint");
+        }
+        OWLOntologyID id = readOntologyID();
+        switch (tag) {
+            case ADD_AXIOM:
+                return new OWLOntologyChangeRecord(id,
+                    new AddAxiomData(objects.readObject(OWLAxiom.class)));
+            case REMOVE_AXIOM:
+                return new OWLOntologyChangeRecord(id,
+                    new RemoveAxiomData(objects.readObject(OWLAxiom.class)));
+            case ADD_IMPORT:
+                return new OWLOntologyChangeRecord(id,
+                    new AddImportData(df.getOWLImportsDeclaration(objects.readIRI())));
+            case REMOVE_IMPORT:
+                return new OWLOntologyChangeRecord(id,
+                    new RemoveImportData(df.getOWLImportsDeclaration(objects.readIRI())));
+            case ADD_ONTOLOGY_ANNOTATION:
+                return new OWLOntologyChangeRecord(id,
+                    new AddOntologyAnnotationData(objects.readObject(OWLAnnotation.class)));
+            case REMOVE_ONTOLOGY_ANNOTATION:
+                return new OWLOntologyChangeRecord(id,
+                    new RemoveOntologyAnnotationData(objects.readObject(OWLAnnotation.class)));
+            case SET_ONTOLOGY_ID:
+                return new OWLOntologyChangeRecord(id, new SetOntologyIDData(readOntologyID()));
+            default:
+                throw new IOException("Unknown record tag " + tag);
+        }
+    }
+
+    /**
+     * @return all remaining records
+     * @throws IOException if reading fails
+     */
+    public List<OWLOntologyChangeRecord> readAll() throws IOException {
+        List<OWLOntologyChangeRecord> records = new ArrayList<>();
+        OWLOntologyChangeRecord record = read();
+        while (record != null) {
+            records.add(record);
+            record = read();
+        }
+        return records;
+    }
+
+    /**
+     * Replays the remaining records into the ontologies of a manager. Changes are applied through
+     * {@link OWLOntologyManager#applyChanges(List)} in batches of {@code batchSize} changes; a
+     * batch is also closed after a change of ontology ID, since the records that follow refer to
+     * the new ID.
+     *
+     * @param manager manager containing the ontologies to change
+     * @param batchSize number of changes applied together
+     * @return number of records replayed
+     * @throws IOException if reading fails
+     */
+    public int replay(OWLOntologyManager manager, int batchSize) throws IOException {
+        int size = Math.max(1, batchSize);
+        int count = 0;
+        List<OWLOntologyChange> batch = new ArrayList<>(size);
+        OWLOntologyChangeRecord record = read();
+        while (record != null) {
+            batch.add(record.createOntologyChange(manager));
+            count++;
+            if (batch.size() >= size || record.getData() instanceof SetOntologyIDData) {
+                manager.applyChanges(batch);
+                batch.clear();
+            }
+            record = read();
+        }
+        if (!batch.isEmpty()) {
+            manager.applyChanges(batch);
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readCheckpoint() throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a change log: wrong magic number");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported change log version " + version);
+        }
+        objects.reset();
+        ontologyIDs.clear();
+        started = true;
+    }
+
+    private OWLOntologyID readOntologyID() throws IOException {
+        int index = objects.readVarint();
+        if (index > 0) {
+            return ontologyIDs.get(index - 1);
+        }
+        int kind = in.readUnsignedByte();
+        OWLOntologyID id;
+        if (kind == ANONYMOUS_ID) {
+            id = OWLOntologyID.anonymous(in.readUTF());
+        } else if (kind == NAMED_ID) {
+            id = new OWLOntologyID(objects.readIRI());
+        } else if (kind == VERSIONED_ID) {
+            id = new OWLOntologyID(objects.readIRI(), objects.readIRI());
+        } else {
+            throw new IOException("Unknown ontology ID kind " + kind);
+        }
+        ontologyIDs.add(id);
+        return id;
+    }
+}
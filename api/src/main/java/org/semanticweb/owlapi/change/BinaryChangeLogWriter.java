@@ -0,0 +1,198 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.change;
+
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ADD_AXIOM;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ADD_IMPORT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ADD_ONTOLOGY_ANNOTATION;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.ANONYMOUS_ID;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.CHECKPOINT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.MAGIC;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.NAMED_ID;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.REMOVE_AXIOM;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.REMOVE_IMPORT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.REMOVE_ONTOLOGY_ANNOTATION;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.SET_ONTOLOGY_ID;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.VERSION;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.VERSIONED_ID;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * Appends {@link OWLOntologyChangeRecord} objects to a compact binary log, readable with
+ * {@link BinaryChangeLogReader}. IRIs and ontology IDs are dictionary encoded; a checkpoint is
+ * written when the writer is created and then every {@code checkpointInterval} records, resetting
+ * the dictionaries. Each record is buffered and written to the underlying stream in one call, so
+ * that a log is never left with a partial record unless the stream itself fails. To append to an
+ * existing log, create a writer over a stream positioned at its end: the new records start with a
+ * checkpoint of their own.
+ *
+ * @since 5.1.17
+ */
+public class BinaryChangeLogWriter implements Closeable, Flushable {
+
+    private final OutputStream out;
+    private final int checkpointInterval;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream buffer = new DataOutputStream(bytes);
+    private final BinaryOWLObjectWriter objects = new BinaryOWLObjectWriter(buffer);
+    private final Map<OWLOntologyID, Integer> ontologyIDs = new HashMap<>();
+    private int sinceCheckpoint;
+    private long offset;
+    private long lastCheckpoint;
+
+    /**
+     * @param out stream to write to; the writer does not buffer beyond a single record
+     * @param checkpointInterval number of records between checkpoints
+     * @throws IOException if the first checkpoint cannot be written
+     */
+    public BinaryChangeLogWriter(OutputStream out, int checkpointInterval) throws IOException {
+        this.out = checkNotNull(out, "out cannot be null");
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        checkpoint();
+    }
+
+    /**
+     * @return offset, in bytes from where this writer started, of the last checkpoint written; a
+     *         reader can start from any checkpoint
+     */
+    public long getLastCheckpointOffset() {
+        return lastCheckpoint;
+    }
+
+    /**
+     * @return number of bytes written by this writer
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Writes a checkpoint and resets the dictionaries.
+     *
+     * @throws IOException if writing fails
+     */
+    public void checkpoint() throws IOException {
+        objects.reset();
+        ontologyIDs.clear();
+        sinceCheckpoint = 0;
+        buffer.writeByte(CHECKPOINT);
+        buffer.writeInt(MAGIC);
+        buffer.writeByte(VERSION);
+        lastCheckpoint = offset;
+        emit();
+    }
+
+    /**
+     * @param change change to write
+     * @throws IOException if writing fails
+     */
+    public void write(OWLOntologyChange change) throws IOException {
+        write(OWLOntologyChangeRecord.createFromOWLOntologyChange(change));
+    }
+
+    /**
+     * @param changes changes to write
+     * @throws IOException if writing fails
+     */
+    public void writeAll(Collection<? extends OWLOntologyChange> changes) throws IOException {
+        for (OWLOntologyChange change : changes) {
+            write(change);
+        }
+    }
+
+    /**
+     * @param record record to write
+     * @throws IOException if writing fails
+     */
+    public void write(OWLOntologyChangeRecord record) throws IOException {
+        checkNotNull(record, "record cannot be null");
+        if (sinceCheckpoint >= checkpointInterval) {
+            checkpoint();
+        }
+        OWLOntologyChangeData data = record.getData();
+        if (data instanceof AxiomChangeData) {
+            buffer.writeByte(data instanceof AddAxiomData ? ADD_AXIOM : REMOVE_AXIOM);
+            writeOntologyID(record.getOntologyID());
+            objects.writeObject(((AxiomChangeData) data).getAxiom());
+        } else if (data instanceof ImportChangeData) {
+            buffer.writeByte(data instanceof AddImportData ? ADD_IMPORT : REMOVE_IMPORT);
+            writeOntologyID(record.getOntologyID());
+            objects.writeIRI(((ImportChangeData) data).getDeclaration().getIRI());
+        } else if (data instanceof OntologyAnnotationChangeData) {
+            buffer.writeByte(data instanceof AddOntologyAnnotationData ? ADD_ONTOLOGY_ANNOTATION
+                : REMOVE_ONTOLOGY_ANNOTATION);
+            writeOntologyID(record.getOntologyID());
+            objects.writeObject(((OntologyAnnotationChangeData) data).getAnnotation());
+        } else if (data instanceof SetOntologyIDData) {
+            buffer.writeByte(SET_ONTOLOGY_ID);
+            writeOntologyID(record.getOntologyID());
+            writeOntologyID(((SetOntologyIDData) data).getNewId());
+        } else {
+            throw new OWLRuntimeException("Unknown change data: " + data);
+        }
+        sinceCheckpoint++;
+        emit();
+    }
+
+    private void emit() throws IOException {
+        buffer.flush();
+        bytes.writeTo(out);
+        offset += bytes.size();
+        bytes.reset();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeOntologyID(OWLOntologyID id) throws IOException {
+        Integer index = ontologyIDs.get(id);
+        if (index != null) {
+            objects.writeVarint(index.intValue() + 1);
+            return;
+        }
+        objects.writeVarint(0);
+        ontologyIDs.put(id, Integer.valueOf(ontologyIDs.size()));
+        if (id.isAnonymous()) {
+            buffer.writeByte(ANONYMOUS_ID);
+            buffer.writeUTF(id.getInternalID().get());
+        } else if (id.getVersionIRI().isPresent()) {
+            buffer.writeByte(VERSIONED_ID);
+            objects.writeIRI(id.getOntologyIRI().get());
+            objects.writeIRI(id.getVersionIRI().get());
+        } else {
+            buffer.writeByte(NAMED_ID);
+            objects.writeIRI(id.getOntologyIRI().get());
+        }
+    }
+}
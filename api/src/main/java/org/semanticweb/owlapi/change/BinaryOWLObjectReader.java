@@ -0,0 +1,475 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.change;
+
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.FACET;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.INT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.IRI_TAG;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.LIST;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.STRING;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.typeIndex;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLFacetRestriction;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLPropertyExpression;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLDArgument;
+import org.semanticweb.owlapi.model.SWRLIArgument;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Reads OWL objects written by a {@link BinaryOWLObjectWriter}. Objects are rebuilt through an
+ * {@link OWLDataFactory}, so they are interned like any other object the factory creates; only
+ * OWL object types can be read, no arbitrary class is instantiated.
+ *
+ * @since 5.1.17
+ */
+public class BinaryOWLObjectReader {
+
+    private final DataInput in;
+    private final OWLDataFactory df;
+    private final List<IRI> iris = new ArrayList<>();
+    private final List<String> namespaces = new ArrayList<>();
+
+    /**
+     * @param in input to read from
+     * @param df data factory used to create the objects read
+     */
+    public BinaryOWLObjectReader(DataInput in, OWLDataFactory df) {
+        this.in = checkNotNull(in, "in cannot be null");
+        this.df = checkNotNull(df, "df cannot be null");
+    }
+
+    /**
+     * Forgets the IRIs and namespaces read so far, at the point where the writer was reset.
+     */
+    public void reset() {
+        iris.clear();
+        namespaces.clear();
+    }
+
+    /**
+     * @return the next IRI
+     * @throws IOException if reading fails
+     */
+    public IRI readIRI() throws IOException {
+        int index = readVarint();
+        if (index > 0) {
+            return iris.get(index - 1);
+        }
+        int ns = readVarint();
+        String namespace;
+        if (ns > 0) {
+            namespace = namespaces.get(ns - 1);
+        } else {
+            namespace = readString();
+            namespaces.add(namespace);
+        }
+        String remainder = readString();
+        IRI iri = IRI.create(namespace, remainder.isEmpty() ? null : remainder);
+        iris.add(iri);
+        return iri;
+    }
+
+    /**
+     * @param type expected type of the object
+     * @param <T> object type
+     * @return the next object, created with the data factory
+     * @throws IOException if reading fails or the object is not of the expected type
+     */
+    public <T extends OWLObject> T readObject(Class<T> type) throws IOException {
+        return read(type);
+    }
+
+    private <T> T read(Class<T> type) throws IOException {
+        Object o = readValue();
+        if (!type.isInstance(o)) {
+            throw new IOException("Expected " + type.getSimpleName() + " but found " + o);
+        }
+        return type.cast(o);
+    }
+
+    private <T> List<T> list(Class<T> type) throws IOException {
+        int tag = in.readUnsignedByte();
+        if (tag != LIST) {
+            throw new IOException("Expected a list but found tag " + tag);
+        }
+        int size = readVarint();
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(read(type));
+        }
+        return list;
+    }
+
+    private List<OWLAnnotation> anns() throws IOException {
+        return list(OWLAnnotation.class);
+    }
+
+    private OWLClassExpression ce() throws IOException {
+        return read(OWLClassExpression.class);
+    }
+
+    private OWLObjectPropertyExpression ope() throws IOException {
+        return read(OWLObjectPropertyExpression.class);
+    }
+
+    private OWLDataPropertyExpression dpe() throws IOException {
+        return read(OWLDataPropertyExpression.class);
+    }
+
+    private OWLDataRange dr() throws IOException {
+        return read(OWLDataRange.class);
+    }
+
+    private OWLIndividual ind() throws IOException {
+        return read(OWLIndividual.class);
+    }
+
+    private OWLLiteral lit() throws IOException {
+        return read(OWLLiteral.class);
+    }
+
+    private int integer() throws IOException {
+        int tag = in.readUnsignedByte();
+        if (tag != INT) {
+            throw new IOException("Expected an integer but found tag " + tag);
+        }
+        return readVarint();
+    }
+
+    private Object readValue() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case IRI_TAG:
+                return readIRI();
+            case STRING:
+                return readString();
+            case FACET:
+                return OWLFacet.values()[in.readUnsignedByte()];
+            default:
+                return readObject(typeIndex(tag));
+        }
+    }
+
+    private Object readObject(int typeIndex) throws IOException {
+        if (typeIndex >= 2000 && typeIndex < 3000) {
+            return readAxiom(typeIndex - 2000);
+        }
+        switch (typeIndex) {
+            case 1001:
+                return df.getOWLClass(readIRI());
+            case 1002:
+                return df.getOWLObjectProperty(readIRI());
+            case 1003:
+                return df.getOWLObjectInverseOf(read(OWLObjectProperty.class));
+            case 1004:
+                return df.getOWLDataProperty(readIRI());
+            case 1005:
+                return df.getOWLNamedIndividual(readIRI());
+            case 1006:
+                return df.getOWLAnnotationProperty(readIRI());
+            case 1007:
+                return df.getOWLAnonymousIndividual(readString());
+            case 3001:
+                return df.getOWLObjectIntersectionOf(list(OWLClassExpression.class));
+            case 3002:
+                return df.getOWLObjectUnionOf(list(OWLClassExpression.class));
+            case 3003:
+                return df.getOWLObjectComplementOf(ce());
+            case 3004:
+                return df.getOWLObjectOneOf(list(OWLIndividual.class));
+            case 3005:
+                return df.getOWLObjectSomeValuesFrom(ope(), ce());
+            case 3006:
+                return df.getOWLObjectAllValuesFrom(ope(), ce());
+            case 3007:
+                return df.getOWLObjectHasValue(ope(), ind());
+            case 3008: {
+                OWLObjectPropertyExpression property = ope();
+                return df.getOWLObjectMinCardinality(integer(), property, ce());
+            }
+            case 3009: {
+                OWLObjectPropertyExpression property = ope();
+                return df.getOWLObjectExactCardinality(integer(), property, ce());
+            }
+            case 3010: {
+                OWLObjectPropertyExpression property = ope();
+                return df.getOWLObjectMaxCardinality(integer(), property, ce());
+            }
+            case 3011:
+                return df.getOWLObjectHasSelf(ope());
+            case 3012:
+                return df.getOWLDataSomeValuesFrom(dpe(), dr());
+            case 3013:
+                return df.getOWLDataAllValuesFrom(dpe(), dr());
+            case 3014:
+                return df.getOWLDataHasValue(dpe(), lit());
+            case 3015: {
+                OWLDataPropertyExpression property = dpe();
+                return df.getOWLDataMinCardinality(integer(), property, dr());
+            }
+            case 3016: {
+                OWLDataPropertyExpression property = dpe();
+                return df.getOWLDataExactCardinality(integer(), property, dr());
+            }
+            case 3017: {
+                OWLDataPropertyExpression property = dpe();
+                return df.getOWLDataMaxCardinality(integer(), property, dr());
+            }
+            case 4001:
+                return df.getOWLDatatype(readIRI());
+            case 4002:
+                return df.getOWLDataComplementOf(dr());
+            case 4003:
+                return df.getOWLDataOneOf(list(OWLLiteral.class));
+            case 4004:
+                return df.getOWLDataIntersectionOf(list(OWLDataRange.class));
+            case 4005:
+                return df.getOWLDataUnionOf(list(OWLDataRange.class));
+            case 4006:
+                return df.getOWLDatatypeRestriction(read(OWLDatatype.class),
+                    list(OWLFacetRestriction.class));
+            case 4007:
+                return df.getOWLFacetRestriction(read(OWLFacet.class), lit());
+            case 4008:
+                return readLiteral();
+            case 5001:
+                return df.getOWLAnnotation(read(OWLAnnotationProperty.class),
+                    read(OWLAnnotationValue.class), anns());
+            default:
+                return readSWRLObject(typeIndex);
+        }
+    }
+
+    private OWLLiteral readLiteral() throws IOException {
+        String literal = readString();
+        String lang = readString();
+        if (!lang.isEmpty()) {
+            return df.getOWLLiteral(literal, lang);
+        }
+        return df.getOWLLiteral(literal, df.getOWLDatatype(readIRI()));
+    }
+
+    private Object readSWRLObject(int typeIndex) throws IOException {
+        switch (typeIndex) {
+            case 6001: {
+                SWRLIArgument arg = read(SWRLIArgument.class);
+                return df.getSWRLClassAtom(ce(), arg);
+            }
+            case 6002: {
+                SWRLDArgument arg = read(SWRLDArgument.class);
+                return df.getSWRLDataRangeAtom(dr(), arg);
+            }
+            case 6003: {
+                SWRLIArgument first = read(SWRLIArgument.class);
+                SWRLIArgument second = read(SWRLIArgument.class);
+                return df.getSWRLObjectPropertyAtom(ope(), first, second);
+            }
+            case 6004: {
+                SWRLIArgument first = read(SWRLIArgument.class);
+                SWRLDArgument second = read(SWRLDArgument.class);
+                return df.getSWRLDataPropertyAtom(dpe(), first, second);
+            }
+            case 6005: {
+                List<SWRLDArgument> args = list(SWRLDArgument.class);
+                return df.getSWRLBuiltInAtom(read(IRI.class), args);
+            }
+            case 6006:
+                return df.getSWRLVariable(readIRI());
+            case 6007:
+                return df.getSWRLIndividualArgument(ind());
+            case 6008:
+                return df.getSWRLLiteralArgument(lit());
+            case 6009: {
+                SWRLIArgument first = read(SWRLIArgument.class);
+                SWRLIArgument second = read(SWRLIArgument.class);
+                // the predicate is the owl:sameAs IRI
+                readValue();
+                return df.getSWRLSameIndividualAtom(first, second);
+            }
+            case 6010: {
+                SWRLIArgument first = read(SWRLIArgument.class);
+                SWRLIArgument second = read(SWRLIArgument.class);
+                readValue();
+                return df.getSWRLDifferentIndividualsAtom(first, second);
+            }
+            default:
+                throw new IOException("Unknown object type " + typeIndex);
+        }
+    }
+
+    private OWLAxiom readAxiom(int axiomType) throws IOException {
+        switch (axiomType) {
+            case 0:
+                return df.getOWLDeclarationAxiom(read(OWLEntity.class), anns());
+            case 1:
+                return df.getOWLEquivalentClassesAxiom(list(OWLClassExpression.class), anns());
+            case 2:
+                return df.getOWLSubClassOfAxiom(ce(), ce(), anns());
+            case 3:
+                return df.getOWLDisjointClassesAxiom(list(OWLClassExpression.class), anns());
+            case 4:
+                return df.getOWLDisjointUnionAxiom(read(OWLClass.class),
+                    list(OWLClassExpression.class), anns());
+            case 5: {
+                OWLIndividual individual = ind();
+                return df.getOWLClassAssertionAxiom(ce(), individual, anns());
+            }
+            case 6:
+                return df.getOWLSameIndividualAxiom(list(OWLIndividual.class), anns());
+            case 7:
+                return df.getOWLDifferentIndividualsAxiom(list(OWLIndividual.class), anns());
+            case 8: {
+                OWLIndividual subject = ind();
+                return df.getOWLObjectPropertyAssertionAxiom(ope(), subject, ind(), anns());
+            }
+            case 9: {
+                OWLIndividual subject = ind();
+                return df.getOWLNegativeObjectPropertyAssertionAxiom(ope(), subject, ind(),
+                    anns());
+            }
+            case 10: {
+                OWLIndividual subject = ind();
+                return df.getOWLDataPropertyAssertionAxiom(dpe(), subject, lit(), anns());
+            }
+            case 11: {
+                OWLIndividual subject = ind();
+                return df.getOWLNegativeDataPropertyAssertionAxiom(dpe(), subject, lit(),
+                    anns());
+            }
+            case 12:
+                return df.getOWLEquivalentObjectPropertiesAxiom(
+                    list(OWLObjectPropertyExpression.class), anns());
+            case 13:
+                return df.getOWLSubObjectPropertyOfAxiom(ope(), ope(), anns());
+            case 14: {
+                List<OWLObjectPropertyExpression> operands =
+                    list(OWLObjectPropertyExpression.class);
+                // a property inverse of itself has a single operand
+                return df.getOWLInverseObjectPropertiesAxiom(operands.get(0),
+                    operands.get(operands.size() - 1), anns());
+            }
+            case 15:
+                return df.getOWLFunctionalObjectPropertyAxiom(ope(), anns());
+            case 16:
+                return df.getOWLInverseFunctionalObjectPropertyAxiom(ope(), anns());
+            case 17:
+                return df.getOWLSymmetricObjectPropertyAxiom(ope(), anns());
+            case 18:
+                return df.getOWLAsymmetricObjectPropertyAxiom(ope(), anns());
+            case 19:
+                return df.getOWLTransitiveObjectPropertyAxiom(ope(), anns());
+            case 20:
+                return df.getOWLReflexiveObjectPropertyAxiom(ope(), anns());
+            case 21:
+                return df.getOWLIrreflexiveObjectPropertyAxiom(ope(), anns());
+            case 22:
+                return df.getOWLObjectPropertyDomainAxiom(ope(), ce(), anns());
+            case 23:
+                return df.getOWLObjectPropertyRangeAxiom(ope(), ce(), anns());
+            case 24:
+                return df.getOWLDisjointObjectPropertiesAxiom(
+                    list(OWLObjectPropertyExpression.class), anns());
+            case 25:
+                return df.getOWLSubPropertyChainOfAxiom(list(OWLObjectPropertyExpression.class),
+                    ope(), anns());
+            case 26:
+                return df.getOWLEquivalentDataPropertiesAxiom(
+                    list(OWLDataPropertyExpression.class), anns());
+            case 27:
+                return df.getOWLSubDataPropertyOfAxiom(dpe(), dpe(), anns());
+            case 28:
+                return df.getOWLFunctionalDataPropertyAxiom(dpe(), anns());
+            case 29:
+                return df.getOWLDataPropertyDomainAxiom(dpe(), ce(), anns());
+            case 30:
+                return df.getOWLDataPropertyRangeAxiom(dpe(), dr(), anns());
+            case 31:
+                return df.getOWLDisjointDataPropertiesAxiom(list(OWLDataPropertyExpression.class),
+                    anns());
+            case 32:
+                return df.getOWLHasKeyAxiom(ce(), list(OWLPropertyExpression.class), anns());
+            case 33:
+                return df.getSWRLRule(list(SWRLAtom.class), list(SWRLAtom.class), anns());
+            case 34: {
+                OWLAnnotationSubject subject = read(OWLAnnotationSubject.class);
+                return df.getOWLAnnotationAssertionAxiom(read(OWLAnnotationProperty.class),
+                    subject, read(OWLAnnotationValue.class), anns());
+            }
+            case 35:
+                return df.getOWLSubAnnotationPropertyOfAxiom(read(OWLAnnotationProperty.class),
+                    read(OWLAnnotationProperty.class), anns());
+            case 36:
+                return df.getOWLAnnotationPropertyRangeAxiom(read(OWLAnnotationProperty.class),
+                    read(IRI.class), anns());
+            case 37:
+                return df.getOWLAnnotationPropertyDomainAxiom(read(OWLAnnotationProperty.class),
+                    read(IRI.class), anns());
+            case 38:
+                return df.getOWLDatatypeDefinitionAxiom(read(OWLDatatype.class), dr(), anns());
+            default:
+                throw new IOException("Unknown axiom type " + axiomType);
+        }
+    }
+
+    /**
+     * @return the next length prefixed UTF-8 string
+     * @throws IOException if reading fails
+     */
+    public String readString() throws IOException {
+        byte[] utf8 = new byte[readVarint()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the next unsigned integer
+     * @throws IOException if reading fails or the integer is malformed
+     */
+    public int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,175 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.change;
+
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.FACET;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.INT;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.IRI_TAG;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.LIST;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.STRING;
+import static org.semanticweb.owlapi.change.BinaryChangeLogFormat.objectTag;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.HasIRI;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Writes OWL objects in the compact binary encoding of {@link BinaryChangeLogWriter}, readable
+ * with {@link BinaryOWLObjectReader}. An object is a one byte tag derived from its type index
+ * followed by its components, so that entities and IRIs are written as positions in a dictionary
+ * once they have been written in full. No Java serialization is involved.
+ *
+ * @since 5.1.17
+ */
+public class BinaryOWLObjectWriter {
+
+    private final DataOutput out;
+    private final Map<IRI, Integer> iris = new HashMap<>();
+    private final Map<String, Integer> namespaces = new HashMap<>();
+
+    /**
+     * @param out output to write to
+     */
+    public BinaryOWLObjectWriter(DataOutput out) {
+        this.out = checkNotNull(out, "out cannot be null");
+    }
+
+    /**
+     * Forgets the IRIs and namespaces written so far; a reader must be reset at the same point.
+     */
+    public void reset() {
+        iris.clear();
+        namespaces.clear();
+    }
+
+    /**
+     * @param object object to write
+     * @throws IOException if writing fails
+     */
+    public void writeObject(OWLObject object) throws IOException {
+        writeValue(checkNotNull(object, "object cannot be null"));
+    }
+
+    /**
+     * @param iri IRI to write; IRIs and namespaces already written are referenced by position
+     * @throws IOException if writing fails
+     */
+    public void writeIRI(IRI iri) throws IOException {
+        Integer index = iris.get(iri);
+        if (index != null) {
+            writeVarint(index.intValue() + 1);
+            return;
+        }
+        writeVarint(0);
+        iris.put(iri, Integer.valueOf(iris.size()));
+        String namespace = iri.getNamespace();
+        Integer ns = namespaces.get(namespace);
+        if (ns != null) {
+            writeVarint(ns.intValue() + 1);
+        } else {
+            writeVarint(0);
+            namespaces.put(namespace, Integer.valueOf(namespaces.size()));
+            writeString(namespace);
+        }
+        writeString(iri.getRemainder().orElse(""));
+    }
+
+    private void writeValue(Object o) throws IOException {
+        if (o instanceof IRI) {
+            out.writeByte(IRI_TAG);
+            writeIRI((IRI) o);
+        } else if (o instanceof OWLEntity || o instanceof SWRLVariable) {
+            out.writeByte(objectTag(((OWLObject) o).typeIndex()));
+            writeIRI(((HasIRI) o).getIRI());
+        } else if (o instanceof OWLLiteral) {
+            OWLLiteral literal = (OWLLiteral) o;
+            out.writeByte(objectTag(literal.typeIndex()));
+            writeString(literal.getLiteral());
+            writeString(literal.getLang());
+            if (!literal.hasLang()) {
+                writeIRI(literal.getDatatype().getIRI());
+            }
+        } else if (o instanceof OWLAnonymousIndividual) {
+            OWLAnonymousIndividual individual = (OWLAnonymousIndividual) o;
+            out.writeByte(objectTag(individual.typeIndex()));
+            writeString(individual.getID().getID());
+        } else if (o instanceof OWLObject) {
+            OWLObject object = (OWLObject) o;
+            out.writeByte(objectTag(object.typeIndex()));
+            Iterator<?> components = object.components().iterator();
+            while (components.hasNext()) {
+                writeValue(components.next());
+            }
+        } else if (o instanceof Collection) {
+            Collection<?> c = (Collection<?>) o;
+            out.writeByte(LIST);
+            writeVarint(c.size());
+            for (Object element : c) {
+                writeValue(element);
+            }
+        } else if (o instanceof Stream) {
+            writeValue(((Stream<?>) o).collect(Collectors.toList()));
+        } else if (o instanceof Integer) {
+            out.writeByte(INT);
+            writeVarint(((Integer) o).intValue());
+        } else if (o instanceof String) {
+            out.writeByte(STRING);
+            writeString((String) o);
+        } else if (o instanceof OWLFacet) {
+            out.writeByte(FACET);
+            out.writeByte(((OWLFacet) o).ordinal());
+        } else {
+            throw new OWLRuntimeException("Cannot encode " + o);
+        }
+    }
+
+    /**
+     * @param s string to write, as length prefixed UTF-8
+     * @throws IOException if writing fails
+     */
+    public void writeString(String s) throws IOException {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * @param value unsigned integer to write in one to five bytes
+     * @throws IOException if writing fails
+     */
+    public void writeVarint(int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte(v & 0x7F | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+}
@@ -100,6 +100,21 @@ public class OWLOntologyID implements Comparable<OWLOntologyID>, Serializable, I
         this(emptyOptional(IRI.class), emptyOptional(IRI.class));
     }
 
+    /**
+     * Recreates the identifier of an anonymous ontology, e.g., when reading it back from a binary
+     * change log. Identifiers with the same internal id are equal.
+     *
+     * @param internalID internal id, as returned by {@link #getInternalID()}
+     * @return the anonymous ontology identifier
+     * @since 5.1.17
+     */
+    public static OWLOntologyID anonymous(String internalID) {
+        OWLOntologyID id = new OWLOntologyID();
+        id.internalID = optional(checkNotNull(internalID, "internalID cannot be null"));
+        id.hashCode = 17 + 37 * id.internalID.hashCode();
+        return id;
+    }
+
     private static Optional<IRI> opt(@Nullable IRI i) {
         if (i == null || NodeID.isAnonymousNodeIRI(i)) {
             return emptyOptional();
@@ -218,6 +233,16 @@ public class OWLOntologyID implements Comparable<OWLOntologyID>, Serializable, I
         return versionIRI;
     }
 
+    /**
+     * Gets the internal id that distinguishes anonymous ontologies.
+     *
+     * @return an optional of the internal id, or Optional.absent if the ontology is not anonymous
+     * @since 5.1.17
+     */
+    public Optional<String> getInternalID() {
+        return internalID;
+    }
+
     /**
      * Gets the IRI which is used as a default for the document that contain a representation of an
      * ontology with this ID. This will be the version IRI if there is an ontology IRI and version
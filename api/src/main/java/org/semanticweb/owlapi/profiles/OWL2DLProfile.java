@@ -12,6 +12,9 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.profiles;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -22,7 +25,12 @@ public class OWL2DLProfile implements OWLProfile {
 
     @Override
     public OWLProfileReport checkOntology(OWLOntology ontology) {
-        return checkOntologyClosureInProfiles(ontology, Profiles.OWL2_DL);
+        return checkOntologyClosureInProfiles(ontology, getCheckedProfiles());
+    }
+
+    @Override
+    public List<Profiles> getCheckedProfiles() {
+        return Arrays.asList(Profiles.OWL2_DL);
     }
 
     @Override
@@ -18,7 +18,9 @@ import java.util.Collection;
 import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.util.OWLObjectWalker;
 import org.semanticweb.owlapi.util.OWLOntologyWalker;
@@ -32,6 +34,8 @@ import org.semanticweb.owlapi.util.StructureWalker;
  */
 public class OWLOntologyProfileWalker extends OWLOntologyWalker {
 
+    private final ProfileWalker profileWalker;
+
     /**
      * @param objects ontologies to walk
      */
@@ -44,7 +48,36 @@ public class OWLOntologyProfileWalker extends OWLOntologyWalker {
      */
     public OWLOntologyProfileWalker(Collection<OWLOntology> objects) {
         super(objects);
-        setStructureWalker(new ProfileWalker(this));
+        profileWalker = new ProfileWalker(this);
+        setStructureWalker(profileWalker);
+    }
+
+    /**
+     * Walks an ontology and its annotations, but not its axioms. Together with
+     * {@link #walkAxiom(OWLOntology, OWLAxiom, OWLObjectVisitor)}, this allows the axioms of an
+     * ontology to be split between walkers.
+     *
+     * @param ontology ontology to walk
+     * @param v visitor
+     */
+    public void walkOntologyHeader(OWLOntology ontology, OWLObjectVisitor v) {
+        setVisitor(v);
+        this.ontology = ontology;
+        setAxiom(null);
+        profileWalker.walkHeader(ontology);
+    }
+
+    /**
+     * Walks a single axiom, as if it was visited while walking the ontology.
+     *
+     * @param ontology ontology containing the axiom
+     * @param axiom axiom to walk
+     * @param v visitor
+     */
+    public void walkAxiom(OWLOntology ontology, OWLAxiom axiom, OWLObjectVisitor v) {
+        setVisitor(v);
+        this.ontology = ontology;
+        axiom.accept(profileWalker);
     }
 
     class ProfileWalker extends StructureWalker<OWLOntology> {
@@ -53,6 +86,10 @@ public class OWLOntologyProfileWalker extends OWLOntologyWalker {
             super(owlObjectWalker);
         }
 
+        void walkHeader(OWLOntology ontology) {
+            process(ontology);
+        }
+
         @Override
         public void visit(OWLAnnotationAssertionAxiom axiom) {
             process(axiom);
@@ -13,11 +13,15 @@
 package org.semanticweb.owlapi.profiles;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.semanticweb.owlapi.model.HasIRI;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
 
 /**
  * @author Matthew Horridge, The University of Manchester, Information Management Group
@@ -41,6 +45,40 @@ public interface OWLProfile extends HasIRI {
      */
     OWLProfileReport checkOntology(OWLOntology ontology);
 
+    /**
+     * Checks an ontology and its import closure to see if it is within this profile, using
+     * several threads. The check stops once {@code maxViolations} violations have been found; use
+     * 1 to only find out whether the ontology is in the profile. Profiles that do not declare
+     * their {@link #getCheckedProfiles() checked profiles} are checked by
+     * {@link #checkOntology(OWLOntology)} on the calling thread instead.
+     *
+     * @param ontology The ontology to be checked.
+     * @param workers number of threads to use
+     * @param maxViolations maximum number of violations to report
+     * @return An {@code OWLProfileReport} that describes whether or not the ontology is within this
+     *         profile. If the ontology is not in the profile, the report contains at least one
+     *         and at most {@code maxViolations} violations.
+     */
+    default OWLProfileReport checkOntology(OWLOntology ontology, int workers, int maxViolations) {
+        int max = Math.max(1, maxViolations);
+        if (getCheckedProfiles().isEmpty()) {
+            List<OWLProfileViolation> violations = checkOntology(ontology).getViolations();
+            return new OWLProfileReport(this,
+                violations.subList(0, Math.min(max, violations.size())));
+        }
+        return new ParallelProfileCheck(this, workers, max).check(ontology);
+    }
+
+    /**
+     * Gets the profiles whose restrictions are checked by {@link #checkOntology(OWLOntology)}.
+     *
+     * @return the profiles checked. An empty list means that only the restrictions common to all
+     *         profiles are checked.
+     */
+    default List<Profiles> getCheckedProfiles() {
+        return Collections.emptyList();
+    }
+
     /**
      * Checks an ontology and its import closure to see if it is within the specified profiles.
      *
@@ -51,9 +89,25 @@ public interface OWLProfile extends HasIRI {
      */
     default OWLProfileReport checkOntologyClosureInProfiles(OWLOntology ontology,
         Profiles... profiles) {
+        return checkOntologyClosureInProfiles(ontology, Arrays.asList(profiles));
+    }
+
+    /**
+     * Checks an ontology and its import closure to see if it is within the specified profiles.
+     *
+     * @param ontology The ontology to be checked.
+     * @param profiles the profiles to check
+     * @return An {@code OWLProfileReport} that describes whether or not the ontology is within the
+     *         specified profiles.
+     */
+    default OWLProfileReport checkOntologyClosureInProfiles(OWLOntology ontology,
+        Collection<Profiles> profiles) {
         Set<OWLProfileViolation> violations = new LinkedHashSet<>();
         OWLOntologyProfileWalker walker = new OWLOntologyProfileWalker(ontology.importsClosure());
-        walker.walkStructure(new ProfileVisitor(walker, violations, Arrays.asList(profiles)));
+        // properties are simple or not in the imports closure of the checked ontology, not in that
+        // of the ontology being walked when the property manager is first needed
+        walker.walkStructure(new ProfileVisitor(walker, violations, profiles,
+            new OWLObjectPropertyManager(ontology)));
         return new OWLProfileReport(this, violations);
     }
 }
@@ -0,0 +1,139 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
+import org.semanticweb.owlapi.util.WorkerPool;
+
+/**
+ * Profile check that splits the axioms of an imports closure in chunks, checked by a pool of
+ * workers. Each worker owns its walker and visitor and collects the violations of each chunk
+ * separately; violations are reported in chunk order. The visitors share one property manager for
+ * the whole imports closure, so that properties made non simple by axioms of one ontology are
+ * found in the axioms of the others. The check stops once the requested number
+ * of violations has been found.
+ */
+class ParallelProfileCheck {
+
+    private final OWLProfile profile;
+    private final int workers;
+    private final int maxViolations;
+    private final AtomicInteger found = new AtomicInteger();
+    private final AtomicInteger nextChunk = new AtomicInteger();
+    private final List<Chunk> chunks = new ArrayList<>();
+    @Nullable
+    private OWLObjectPropertyManager propertyManager;
+
+    /**
+     * @param profile profile to check
+     * @param workers number of workers
+     * @param maxViolations number of violations after which the check stops
+     */
+    ParallelProfileCheck(OWLProfile profile, int workers, int maxViolations) {
+        this.profile = profile;
+        this.workers = Math.max(1, workers);
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * @param ontology ontology to check, together with its imports closure
+     * @return report with at most {@code maxViolations} violations
+     */
+    OWLProfileReport check(OWLOntology ontology) {
+        List<OWLOntology> ontologies = asList(ontology.importsClosure());
+        propertyManager = ProfileVisitor.sharedPropertyManager(ontology);
+        Worker headers = new Worker();
+        Set<OWLProfileViolation> violations = new LinkedHashSet<>();
+        headers.visitor.violations = violations;
+        ontologies.forEach(o -> headers.walker.walkOntologyHeader(o, headers.visitor));
+        found.set(violations.size());
+        if (!isDone()) {
+            List<List<OWLAxiom>> axioms = new ArrayList<>();
+            ontologies.forEach(o -> axioms.add(asList(o.axioms())));
+            int total = axioms.stream().mapToInt(List::size).sum();
+            int chunkSize = Math.max(1, total / (workers * WorkerPool.TASKS_PER_WORKER) + 1);
+            for (int i = 0; i < ontologies.size(); i++) {
+                List<OWLAxiom> list = axioms.get(i);
+                for (int start = 0; start < list.size(); start += chunkSize) {
+                    chunks.add(new Chunk(ontologies.get(i),
+                        list.subList(start, Math.min(list.size(), start + chunkSize))));
+                }
+            }
+            runWorkers();
+            chunks.forEach(c -> violations.addAll(c.violations));
+        }
+        return new OWLProfileReport(profile, truncate(violations));
+    }
+
+    private boolean isDone() {
+        return found.get() >= maxViolations;
+    }
+
+    private List<OWLProfileViolation> truncate(Set<OWLProfileViolation> violations) {
+        List<OWLProfileViolation> list = new ArrayList<>(violations);
+        return list.size() > maxViolations ? list.subList(0, maxViolations) : list;
+    }
+
+    private void runWorkers() {
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            pool.runOnEachWorker(() -> new Worker().run());
+        }
+    }
+
+    private static class Chunk {
+
+        final OWLOntology ontology;
+        final List<OWLAxiom> axioms;
+        final Set<OWLProfileViolation> violations = new LinkedHashSet<>();
+
+        Chunk(OWLOntology ontology, List<OWLAxiom> axioms) {
+            this.ontology = ontology;
+            this.axioms = axioms;
+        }
+    }
+
+    private class Worker {
+
+        final OWLOntologyProfileWalker walker = new OWLOntologyProfileWalker(new ArrayList<>());
+        final ProfileVisitor visitor = new ProfileVisitor(walker, new LinkedHashSet<>(),
+            profile.getCheckedProfiles(), verifyNotNull(propertyManager));
+
+        void run() {
+            int i;
+            while (!isDone() && (i = nextChunk.getAndIncrement()) < chunks.size()) {
+                Chunk chunk = chunks.get(i);
+                visitor.violations = chunk.violations;
+                for (OWLAxiom ax : chunk.axioms) {
+                    int before = chunk.violations.size();
+                    walker.walkAxiom(chunk.ontology, ax, visitor);
+                    if (found.addAndGet(chunk.violations.size() - before) >= maxViolations) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -77,6 +77,7 @@ import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
 import org.semanticweb.owlapi.util.OWLOntologyWalker;
 
 /**
@@ -100,6 +101,20 @@ public class ProfileVisitor extends ProfileVisitorBase {
         super(walker, violations, profiles);
     }
 
+    /**
+     * @param walker ontology walker to use
+     * @param violations collection of violations; the collection is modified during the visit
+     * @param profiles the profiles to check. An empty collection means OWL 2 FULL will be the
+     *        profile used.
+     * @param propertyManager property manager for the imports closure of the root ontology of the
+     *        check; see {@link #sharedPropertyManager(OWLOntology)}
+     * @since 5.1.17
+     */
+    public ProfileVisitor(OWLOntologyWalker walker, Collection<OWLProfileViolation> violations,
+        Collection<Profiles> profiles, OWLObjectPropertyManager propertyManager) {
+        super(walker, violations, profiles, propertyManager);
+    }
+
     @Override
     public void visit(IRI iri) {
         relativeIRI(iri);
@@ -134,7 +149,8 @@ public class ProfileVisitor extends ProfileVisitorBase {
 
     @Override
     public void visit(OWLOntology ontology) {
-        propertyManager = null;
+        // a shared property manager covers the whole imports closure, keep it
+        propertyManager = rootPropertyManager;
         // The ontology IRI and version IRI must be absolute and must not be
         // from the reserved vocab
         OWLOntologyID id = ontology.getOntologyID();
@@ -13,6 +13,7 @@
 package org.semanticweb.owlapi.profiles;
 
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
@@ -70,6 +71,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
 import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
@@ -361,6 +363,9 @@ public class ProfileVisitorBase extends OWLOntologyWalkerVisitor {
     protected Collection<OWLProfileViolation> violations;
     @Nullable
     protected OWLObjectPropertyManager propertyManager = null;
+    /** Property manager for the imports closure of the checked ontology, if shared. */
+    @Nullable
+    protected final OWLObjectPropertyManager rootPropertyManager;
 
     /**
      * @param walker ontology walker to use
@@ -373,6 +378,44 @@ public class ProfileVisitorBase extends OWLOntologyWalkerVisitor {
         super(walker);
         this.violations = violations;
         validating = new HashSet<>(profiles);
+        rootPropertyManager = null;
+    }
+
+    /**
+     * @param walker ontology walker to use
+     * @param violations collection of violations; the collection is modified during the visit
+     * @param profiles the profiles to check. An empty collection means OWL 2 FULL will be the
+     *        profile used.
+     * @param propertyManager property manager for the imports closure of the root ontology of the
+     *        check; see {@link #sharedPropertyManager(OWLOntology)}
+     * @since 5.1.17
+     */
+    protected ProfileVisitorBase(OWLOntologyWalker walker,
+        Collection<OWLProfileViolation> violations, Collection<Profiles> profiles,
+        OWLObjectPropertyManager propertyManager) {
+        super(walker);
+        this.violations = violations;
+        validating = new HashSet<>(profiles);
+        rootPropertyManager = checkNotNull(propertyManager, "propertyManager cannot be null");
+        this.propertyManager = rootPropertyManager;
+    }
+
+    /**
+     * Creates a property manager that several visitors can share, also on different threads: all
+     * its lazily computed properties are computed here, after which it is only read. Visitors that
+     * walk single axioms, rather than a whole ontology, need it to decide which properties are
+     * simple in the imports closure of the ontology being checked.
+     *
+     * @param ontology root ontology of the check
+     * @return property manager for the imports closure of the ontology
+     * @since 5.1.17
+     */
+    public static OWLObjectPropertyManager sharedPropertyManager(OWLOntology ontology) {
+        OWLObjectPropertyManager manager = new OWLObjectPropertyManager(ontology);
+        // also computes the composite properties, the hierarchy and its closure
+        manager.getNonSimpleProperties();
+        manager.getPropertyPartialOrdering();
+        return manager;
     }
 
     protected void dl(Runnable... runnables) {
@@ -92,6 +92,11 @@ public enum Profiles implements HasIRI, KnownFactories, OWLProfile {
         return getOWLProfile().checkOntology(ontology);
     }
 
+    @Override
+    public List<Profiles> getCheckedProfiles() {
+        return getOWLProfile().getCheckedProfiles();
+    }
+
     @Override
     public IRI getIRI() {
         return iri;
@@ -14,24 +14,40 @@ package org.semanticweb.owlapi.util;
 
 import static org.semanticweb.owlapi.util.CollectionFactory.createMap;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
-import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -67,6 +83,12 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
     static final Pattern pattern = Pattern.compile("Ontology\\(<([^>]+)>");
     static final Pattern manPattern = Pattern.compile("Ontology:[\r\n ]*<([^>]+)>");
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoIRIMapper.class);
+    private static final int CACHE_VERSION = 1;
+    /**
+     * Receives the ontology IRIs found by {@link #startElement} while a file is parsed on the
+     * current thread; files are parsed concurrently, with this mapper as handler.
+     */
+    private static final ThreadLocal<Consumer<IRI>> FOUND = new ThreadLocal<>();
     private final Set<String> fileExtensions =
         new HashSet<>(Arrays.asList(".owl", ".xml", ".rdf", ".omn", ".ofn"));
     private final boolean recursive;
@@ -75,8 +97,9 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
     private final Map<String, IRI> oboFileMap = createMap();
     private final String directoryPath;
     private boolean mapped;
+    private int workers = Runtime.getRuntime().availableProcessors();
     @Nullable
-    private transient File currentFile;
+    private File cacheFile;
 
     /**
      * Creates an auto-mapper which examines ontologies that reside in the specified root folder
@@ -165,6 +188,26 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         fileExtensions.addAll(extensions);
     }
 
+    /**
+     * @param workers number of threads used to scan files; 1 or less scans on the calling thread
+     * @since 5.1.17
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Sets a file used to cache the ontology IRIs found in each file, keyed by path, size and last
+     * modification time. The cache is read before and written after each scan; files that have not
+     * changed since the cache was written are not opened again.
+     *
+     * @param cacheFile cache file; null to disable caching
+     * @since 5.1.17
+     */
+    public void setCacheFile(@Nullable File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
     /**
      * Gets the set of ontology IRIs that this mapper has found.
      *
@@ -207,55 +250,250 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
     private void mapFiles() {
         mapped = true;
         ontologyIRI2PhysicalURIMap.clear();
-        processFile(getDirectory());
-    }
-
-    private void processFile(File f) {
-        if (f.isHidden()) {
-            return;
-        }
-        // if pointed directly at a zip file, map it
-        parseIfExtensionSupported(f);
-        File[] files = f.listFiles();
-        if (files == null) {
+        File root = getDirectory();
+        if (root.isHidden()) {
             return;
         }
-        for (File file : files) {
-            if (file.isDirectory() && recursive) {
-                processFile(file);
-            } else {
-                parseIfExtensionSupported(file);
+        // files are filtered once, here; only the files with a supported extension are scanned
+        List<File> files = new ArrayList<>();
+        for (Path path : listFiles(root.toPath())) {
+            File file = path.toFile();
+            String extension = extension(file);
+            if (extension == null) {
+                // no extension for the file, nothing to do
+                continue;
             }
+            if (".obo".equalsIgnoreCase(extension)) {
+                oboFileMap.put(file.getName(), IRI.create(file));
+            } else if (isSupported(extension)) {
+                files.add(file);
+            }
+        }
+        Map<String, ScannedFile> cache = loadCache();
+        List<ScannedFile> scanned = scanFiles(files, cache);
+        Map<String, ScannedFile> updated = new HashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            ScannedFile result = scanned.get(i);
+            add(files.get(i), result);
+            updated.put(result.path, result);
         }
+        saveCache(updated);
     }
 
-    protected void parseIfExtensionSupported(File file) {
+    /**
+     * @param root root file or directory
+     * @return the files to examine, in the order they were visited; hidden directories are
+     *         skipped, and directories below the root only examined if the mapper is recursive.
+     *         Symbolic links are followed; a link to one of its own ancestors is skipped.
+     */
+    private List<Path> listFiles(Path root) {
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                recursive ? Integer.MAX_VALUE : 1, new SimpleFileVisitor<Path>() {
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(@Nullable Path dir,
+                        @Nullable BasicFileAttributes attrs) {
+                        if (dir != null && !dir.equals(root) && dir.toFile().isHidden()) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(@Nullable Path file,
+                        @Nullable BasicFileAttributes attrs) {
+                        if (file != null && attrs != null && !attrs.isDirectory()) {
+                            files.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(@Nullable Path file,
+                        @Nullable IOException exc) {
+                        if (exc instanceof FileSystemLoopException) {
+                            LOGGER.debug("Skipping directory already visited: {}", file);
+                        } else {
+                            LOGGER.debug("Exception listing file", exc);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        } catch (IOException e) {
+            LOGGER.debug("Exception listing files", e);
+        }
+        return files;
+    }
+
+    /**
+     * Scans the files that need to be opened, in parallel if more than one worker is configured.
+     *
+     * @param files files to scan, all with a supported extension
+     * @param cache previous results
+     * @return one result per file
+     */
+    private List<ScannedFile> scanFiles(List<File> files, Map<String, ScannedFile> cache) {
+        try (WorkerPool pool = new WorkerPool(Math.min(workers, files.size()))) {
+            return pool.map(files, f -> scan(f, cache));
+        }
+    }
+
+    @Nullable
+    private static String extension(File file) {
         String name = file.getName();
         int lastIndexOf = name.lastIndexOf('.');
         if (lastIndexOf < 0) {
             // no extension for the file, nothing to do
-            return;
+            return null;
         }
-        String extension = name.substring(lastIndexOf);
-        if (".zip".equalsIgnoreCase(extension) || ".jar".equalsIgnoreCase(extension)) {
+        return name.substring(lastIndexOf);
+    }
+
+    /**
+     * @param extension file extension, other than {@code .obo}
+     * @return true if files with the extension are opened to look for ontology IRIs
+     */
+    private boolean isSupported(String extension) {
+        return ".zip".equalsIgnoreCase(extension) || ".jar".equalsIgnoreCase(extension)
+            || ".ofn".equalsIgnoreCase(extension) || ".omn".equalsIgnoreCase(extension)
+            || fileExtensions.contains(extension.toLowerCase());
+    }
+
+    /**
+     * @param file file to scan, with a supported extension
+     * @param cache previous results
+     * @return the mappings found in the file
+     */
+    private ScannedFile scan(File file, Map<String, ScannedFile> cache) {
+        String extension = checkNotNull(extension(file));
+        boolean zip = ".zip".equalsIgnoreCase(extension) || ".jar".equalsIgnoreCase(extension);
+        ScannedFile result =
+            new ScannedFile(file.getAbsolutePath(), file.length(), file.lastModified());
+        ScannedFile cached = cache.get(result.path);
+        if (cached != null && cached.size == result.size
+            && cached.lastModified == result.lastModified) {
+            return cached;
+        }
+        if (zip) {
             try {
                 ZipIRIMapper mapper = new ZipIRIMapper(file, "jar:" + file.toURI() + "!/");
-                mapper.oboMappings().forEach(e -> oboFileMap.put(e.getKey(), e.getValue()));
-                mapper.iriMappings()
-                    .forEach(e -> ontologyIRI2PhysicalURIMap.put(e.getKey(), e.getValue()));
+                mapper.oboMappings().forEach(e -> result.oboMappings
+                    .add(new AbstractMap.SimpleEntry<>(e.getKey(), e.getValue().toString())));
+                mapper.iriMappings().forEach(e -> result.zipMappings.add(
+                    new AbstractMap.SimpleEntry<>(e.getKey().toString(), e.getValue().toString())));
             } catch (IOException e) {
                 // if we can't parse a file, then we can't map it
                 LOGGER.debug("Exception reading file", e);
             }
-
-        } else if (".obo".equalsIgnoreCase(extension)) {
-            oboFileMap.put(name, IRI.create(file));
         } else if (".ofn".equalsIgnoreCase(extension)) {
-            parseFSSFile(file);
+            parseFSSFile(file, result.ontologyIRIs);
         } else if (".omn".equalsIgnoreCase(extension)) {
-            parseManchesterSyntaxFile(file);
-        } else if (fileExtensions.contains(extension.toLowerCase())) {
-            parseFile(file);
+            parseManchesterSyntaxFile(file, result.ontologyIRIs);
+        } else {
+            parseFile(file, result.ontologyIRIs);
+        }
+        return result;
+    }
+
+    private void add(File file, ScannedFile result) {
+        result.oboMappings.forEach(e -> oboFileMap.put(e.getKey(), IRI.create(e.getValue())));
+        result.zipMappings.forEach(e -> ontologyIRI2PhysicalURIMap.put(IRI.create(e.getKey()),
+            IRI.create(e.getValue())));
+        result.ontologyIRIs.forEach(iri -> addMapping(IRI.create(iri), file));
+    }
+
+    /**
+     * Maps a single file, with the same extension rules as the directory scan.
+     *
+     * @param file file to map
+     */
+    protected void parseIfExtensionSupported(File file) {
+        String extension = extension(file);
+        if (extension == null) {
+            return;
+        }
+        if (".obo".equalsIgnoreCase(extension)) {
+            oboFileMap.put(file.getName(), IRI.create(file));
+        } else if (isSupported(extension)) {
+            add(file, scan(file, new HashMap<>()));
+        }
+    }
+
+    private Map<String, ScannedFile> loadCache() {
+        Map<String, ScannedFile> cache = new HashMap<>();
+        File f = cacheFile;
+        if (f == null || !f.exists()) {
+            return cache;
+        }
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+            if (in.readInt() != CACHE_VERSION) {
+                return cache;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                ScannedFile file = new ScannedFile(in.readUTF(), in.readLong(), in.readLong());
+                readStrings(in, file.ontologyIRIs);
+                readEntries(in, file.zipMappings);
+                readEntries(in, file.oboMappings);
+                cache.put(file.path, file);
+            }
+        } catch (IOException e) {
+            // a damaged cache only means all files are scanned again
+            LOGGER.debug("Exception reading cache file", e);
+            cache.clear();
+        }
+        return cache;
+    }
+
+    private void saveCache(Map<String, ScannedFile> cache) {
+        File f = cacheFile;
+        if (f == null) {
+            return;
+        }
+        try (DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(new FileOutputStream(f)))) {
+            out.writeInt(CACHE_VERSION);
+            out.writeInt(cache.size());
+            for (ScannedFile file : cache.values()) {
+                out.writeUTF(file.path);
+                out.writeLong(file.size);
+                out.writeLong(file.lastModified);
+                out.writeInt(file.ontologyIRIs.size());
+                for (String iri : file.ontologyIRIs) {
+                    out.writeUTF(iri);
+                }
+                writeEntries(out, file.zipMappings);
+                writeEntries(out, file.oboMappings);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Exception writing cache file", e);
+        }
+    }
+
+    private static void readStrings(DataInputStream in, List<String> list) throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            list.add(in.readUTF());
+        }
+    }
+
+    private static void readEntries(DataInputStream in, List<Map.Entry<String, String>> list)
+        throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            list.add(new AbstractMap.SimpleEntry<>(in.readUTF(), in.readUTF()));
+        }
+    }
+
+    private static void writeEntries(DataOutputStream out, List<Map.Entry<String, String>> list)
+        throws IOException {
+        out.writeInt(list.size());
+        for (Map.Entry<String, String> e : list) {
+            out.writeUTF(e.getKey());
+            out.writeUTF(e.getValue());
         }
     }
 
@@ -263,8 +501,9 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
      * Search first 100 lines for FSS style Ontology(&lt;IRI&gt; ...
      *
      * @param file the file to parse
+     * @param found list of ontology IRIs found
      */
-    private void parseFSSFile(File file) {
+    private static void parseFSSFile(File file, List<String> found) {
         try (InputStream input = new FileInputStream(file);
             Reader reader = new InputStreamReader(input, "UTF-8");
             BufferedReader br = new BufferedReader(reader)) {
@@ -276,7 +515,7 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
                 if (m.matches()) {
                     String group = m.group(1);
                     assert group != null;
-                    addMapping(IRI.create(group), file);
+                    found.add(group);
                     break;
                 }
             }
@@ -286,14 +525,14 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         }
     }
 
-    private void parseFile(File file) {
+    private void parseFile(File file, List<String> found) {
         try (FileInputStream in = new FileInputStream(file);
             BufferedInputStream delegate = new BufferedInputStream(in);
             InputStream is = DocumentSources.wrap(delegate);) {
-            currentFile = file;
             // Using the default expansion limit. If the ontology IRI cannot be
             // found before 64000 entities are expanded, the file is too
             // expensive to parse.
+            FOUND.set(iri -> found.add(iri.toString()));
             SAXParsers.initParserWithOWLAPIStandards(null, "64000").parse(is, this);
         } catch (SAXException e) {
             // Exceptions thrown to halt parsing early when the ontology IRI is found
@@ -304,17 +543,21 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         } catch (IOException e) {
             // if we can't parse a file, then we can't map it
             LOGGER.debug("IO Exception reading file", e);
+        } finally {
+            FOUND.remove();
         }
     }
 
-    private void parseManchesterSyntaxFile(File file) {
+    private static void parseManchesterSyntaxFile(File file, List<String> found) {
         try (FileInputStream input = new FileInputStream(file);
             InputStreamReader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
             BufferedReader br = new BufferedReader(reader)) {
             // Ontology: <URI>
             String line = br.readLine();
             while (line != null) {
-                if (parseManLine(file, line) != null) {
+                Matcher matcher = manPattern.matcher(line);
+                if (matcher.matches()) {
+                    found.add(matcher.group(1));
                     return;
                 }
                 line = br.readLine();
@@ -325,17 +568,6 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         }
     }
 
-    @Nullable
-    private IRI parseManLine(File file, String line) {
-        Matcher matcher = manPattern.matcher(line);
-        if (matcher.matches()) {
-            IRI iri = IRI.create(matcher.group(1));
-            addMapping(iri, file);
-            return iri;
-        }
-        return null;
-    }
-
     @Override
     public void startElement(@Nullable String uri, @Nullable String localName,
         @Nullable String qName, @Nullable Attributes attributes) throws SAXException {
@@ -343,8 +575,9 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         OntologyRootElementHandler handler = handlerMap.get(tag);
         if (handler != null) {
             IRI ontologyIRI = handler.handle(checkNotNull(attributes));
-            if (ontologyIRI != null && currentFile != null) {
-                addMapping(ontologyIRI, verifyNotNull(currentFile));
+            Consumer<IRI> found = FOUND.get();
+            if (ontologyIRI != null && found != null) {
+                found.accept(ontologyIRI);
             }
         }
         if (tag.equals("http://www.w3.org/2002/07/owl#Ontology")) {
@@ -369,6 +602,26 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         return sb.toString();
     }
 
+    /**
+     * Ontology IRIs found in a file, with the size and modification time of the file when it was
+     * scanned.
+     */
+    private static class ScannedFile {
+
+        final String path;
+        final long size;
+        final long lastModified;
+        final List<String> ontologyIRIs = new ArrayList<>();
+        final List<Map.Entry<String, String>> zipMappings = new ArrayList<>();
+        final List<Map.Entry<String, String>> oboMappings = new ArrayList<>();
+
+        ScannedFile(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
     /**
      * A simple interface which extracts an ontology IRI from a set of element attributes.
      */
@@ -13,6 +13,8 @@
 package org.semanticweb.owlapi.util;
 
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
@@ -37,6 +39,22 @@ public interface InferredAxiomGenerator<A extends OWLAxiom> {
      */
     Set<A> createAxioms(OWLDataFactory df, OWLReasoner reasoner);
 
+    /**
+     * Generates the axioms with tasks submitted to an executor; the reasoner must be thread safe.
+     * The default implementation does not use the executor.
+     *
+     * @param df data factory
+     * @param reasoner the reasoner to use
+     * @param executor executor for the generation tasks
+     * @param shards number of tasks to split the work into
+     * @return the set of axioms generated
+     * @since 5.1.17
+     */
+    default Set<A> createAxioms(OWLDataFactory df, OWLReasoner reasoner,
+        ExecutorService executor, int shards) {
+        return createAxioms(df, reasoner);
+    }
+
     /**
      * @return the label
      */
@@ -12,8 +12,14 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.util;
 
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
@@ -40,6 +46,25 @@ public abstract class InferredEntityAxiomGenerator<E extends OWLEntity, A extend
         return result;
     }
 
+    /**
+     * Splits the entities in contiguous shards; each shard is processed by a task adding to a
+     * shared concurrent set. {@link #addAxioms(OWLEntity, OWLReasoner, OWLDataFactory, Set)} is
+     * therefore called concurrently and must not modify shared state.
+     */
+    @Override
+    public Set<A> createAxioms(OWLDataFactory df, OWLReasoner reasoner, ExecutorService executor,
+        int shards) {
+        Set<A> result = ConcurrentHashMap.newKeySet();
+        List<Runnable> tasks = new ArrayList<>();
+        for (List<E> shard : WorkerPool.split(asList(getAllEntities(reasoner)), shards)) {
+            tasks.add(() -> shard.forEach(e -> addAxioms(e, reasoner, df, result)));
+        }
+        try (WorkerPool pool = new WorkerPool(executor, shards)) {
+            pool.runAll(tasks);
+        }
+        return result;
+    }
+
     /**
      * Adds inferred axioms to a results set. The inferred axioms are generated
      * for the specific entity.
@@ -18,7 +18,11 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.empty;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -122,6 +126,48 @@ public class InferredOntologyGenerator {
             .forEach(ontology::add);
     }
 
+    /**
+     * Adds 'inferred axioms' to an ontology, splitting the work of each generator across a pool of
+     * workers; the reasoner must be thread safe. The axioms are collected first and added to the
+     * ontology in one batch.
+     *
+     * @param df data factory.
+     * @param ontology The ontology which the inferred axioms will be added to
+     * @param workers number of threads querying the reasoner
+     * @throws OWLOntologyChangeException If there was a problem adding the inferred axioms to the
+     *         specified ontology.
+     * @since 5.1.17
+     */
+    public void fillOntology(OWLDataFactory df, OWLOntology ontology, int workers) {
+        checkNotNull(df, "df cannot be null");
+        checkNotNull(ontology, "ontology cannot be null");
+        int threads = Math.max(1, workers);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<OWLAxiom> axioms = new LinkedHashSet<>();
+        try {
+            for (InferredAxiomGenerator<? extends OWLAxiom> g : axiomGenerators) {
+                generate(df, g, executor, threads * WorkerPool.TASKS_PER_WORKER)
+                    .filter(ax -> !ontology.containsAxiom(ax, INCLUDED, IGNORE_AXIOM_ANNOTATIONS))
+                    .forEach(axioms::add);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        ontology.add(axioms);
+    }
+
+    protected Stream<OWLAxiom> generate(OWLDataFactory df,
+        InferredAxiomGenerator<? extends OWLAxiom> g, ExecutorService executor, int shards) {
+        try {
+            Set<? extends OWLAxiom> axioms = g.createAxioms(df, reasoner, executor, shards);
+            return axioms.stream().map(x -> x);
+        } catch (Exception e) {
+            logger.warn("Error generating {} axioms using {}, version {}", g.getLabel(),
+                reasoner.getReasonerName(), reasoner.getReasonerVersion(), e);
+            return empty();
+        }
+    }
+
     protected Stream<OWLAxiom> generate(OWLDataFactory df,
         InferredAxiomGenerator<? extends OWLAxiom> g) {
         try {
@@ -18,8 +18,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.AddAxiom;
@@ -33,6 +36,7 @@ import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.RemoveAxiom;
 import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 
 /**
  * Renames entities that have a particular IRI. Entities with the specified IRI are renamed
@@ -159,4 +163,92 @@ public class OWLEntityRenamer {
         }
         return changes;
     }
+
+    /**
+     * Renames entities in bulk and applies the changes. The axioms to rewrite are found through the
+     * reference indexes of each ontology; each affected axiom is rewritten once, even if it refers
+     * to several renamed entities. Axioms are rewritten in batches of at most {@code batchSize}
+     * axioms, each batch split among {@code workers} threads and applied as a single change set,
+     * so that at most one batch of new axioms and changes is held in memory at any time.
+     *
+     * @param entity2IRIMap map of entities to their new IRIs
+     * @param workers number of threads rewriting axioms
+     * @param batchSize maximum number of axioms rewritten and applied in one change set
+     * @return {@code SUCCESSFULLY} if all batches were applied, {@code NO_OPERATION} if no axiom
+     *         needed rewriting, {@code UNSUCCESSFULLY} if any batch failed
+     * @since 5.1.17
+     */
+    public ChangeApplied renameEntities(Map<OWLEntity, IRI> entity2IRIMap, int workers,
+        int batchSize) {
+        checkNotNull(entity2IRIMap, "entity2IRIMap cannot be null");
+        int threads = Math.max(1, workers);
+        int batch = Math.max(1, batchSize);
+        List<OWLObjectDuplicator> duplicators = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            duplicators.add(new OWLObjectDuplicator(entity2IRIMap, Collections.emptyMap(), m,
+                new RemappingIndividualProvider(false, m.getOWLDataFactory())));
+        }
+        ChangeApplied result = ChangeApplied.NO_OPERATION;
+        try (WorkerPool pool = new WorkerPool(threads)) {
+            for (OWLOntology ont : ontologies) {
+                Set<OWLAxiom> affected = new LinkedHashSet<>();
+                entity2IRIMap.keySet().forEach(e -> getAxioms(ont, e).forEach(affected::add));
+                List<OWLAxiom> axioms = new ArrayList<>(affected);
+                affected.clear();
+                for (int start = 0; start < axioms.size(); start += batch) {
+                    List<OWLAxiom> slice =
+                        axioms.subList(start, Math.min(axioms.size(), start + batch));
+                    List<OWLOntologyChange> changes =
+                        rewrite(pool, duplicators, ont, slice);
+                    if (!changes.isEmpty()) {
+                        result = merge(result, m.applyChanges(changes));
+                    }
+                }
+                List<OWLOntologyChange> changes = new ArrayList<>();
+                fillListWithOntologyAnnotationTransformChanges(changes, ont, duplicators.get(0));
+                if (!changes.isEmpty()) {
+                    result = merge(result, m.applyChanges(changes));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static ChangeApplied merge(ChangeApplied result, ChangeApplied batch) {
+        if (result == ChangeApplied.UNSUCCESSFULLY || batch == ChangeApplied.UNSUCCESSFULLY) {
+            return ChangeApplied.UNSUCCESSFULLY;
+        }
+        if (batch == ChangeApplied.SUCCESSFULLY) {
+            return batch;
+        }
+        return result;
+    }
+
+    /**
+     * Rewrites a batch of axioms, splitting it among the duplicators; changes are returned in the
+     * order of the axioms in the batch.
+     */
+    private static List<OWLOntologyChange> rewrite(WorkerPool pool,
+        List<OWLObjectDuplicator> duplicators, OWLOntology ont, List<OWLAxiom> axioms) {
+        List<List<OWLAxiom>> slices = WorkerPool.split(axioms, duplicators.size());
+        List<Callable<List<OWLOntologyChange>>> tasks = new ArrayList<>(slices.size());
+        for (int i = 0; i < slices.size(); i++) {
+            List<OWLAxiom> slice = slices.get(i);
+            OWLObjectDuplicator duplicator = duplicators.get(i);
+            tasks.add(() -> {
+                List<OWLOntologyChange> changes = new ArrayList<>();
+                slice.forEach(ax -> {
+                    OWLAxiom dupAx = duplicator.duplicateObject(ax);
+                    if (!dupAx.equals(ax)) {
+                        changes.add(new RemoveAxiom(ont, ax));
+                        changes.add(new AddAxiom(ont, dupAx));
+                    }
+                });
+                return changes;
+            });
+        }
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        pool.invokeAll(tasks, changes::addAll);
+        return changes;
+    }
 }
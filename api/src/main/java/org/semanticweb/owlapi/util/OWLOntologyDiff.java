@@ -0,0 +1,159 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+
+/**
+ * The differences between the axioms of two versions of an ontology, as computed by
+ * {@link OWLOntologyDiffer}. Differences are classified as annotation changes (an axiom whose
+ * annotations changed), entity renames (axioms that are equal once the renamed entities are
+ * replaced) and plain additions and removals; each axiom appears in one category only.
+ *
+ * @since 5.1.17
+ */
+public class OWLOntologyDiff {
+
+    private final List<OWLAxiom> added;
+    private final List<OWLAxiom> removed;
+    private final Map<OWLAxiom, OWLAxiom> annotationChanges;
+    private final Map<OWLEntity, OWLEntity> renamedEntities;
+    private final Map<OWLAxiom, OWLAxiom> renamedAxioms;
+
+    /**
+     * @param added axioms only in the newer version
+     * @param removed axioms only in the older version
+     * @param annotationChanges axioms of the older version mapped to the axiom in the newer version
+     *        that differs only in its annotations
+     * @param renamedEntities entities of the older version mapped to their new names
+     * @param renamedAxioms axioms of the older version mapped to their renamed version
+     */
+    public OWLOntologyDiff(Collection<OWLAxiom> added, Collection<OWLAxiom> removed,
+        Map<OWLAxiom, OWLAxiom> annotationChanges, Map<OWLEntity, OWLEntity> renamedEntities,
+        Map<OWLAxiom, OWLAxiom> renamedAxioms) {
+        this.added = new ArrayList<>(added);
+        this.removed = new ArrayList<>(removed);
+        this.annotationChanges = Collections.unmodifiableMap(annotationChanges);
+        this.renamedEntities = Collections.unmodifiableMap(renamedEntities);
+        this.renamedAxioms = Collections.unmodifiableMap(renamedAxioms);
+    }
+
+    /**
+     * @return axioms only in the newer version, excluding annotation changes and renames
+     */
+    public List<OWLAxiom> getAddedAxioms() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /**
+     * @return axioms only in the older version, excluding annotation changes and renames
+     */
+    public List<OWLAxiom> getRemovedAxioms() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * @return axioms of the older version mapped to the same axiom with different annotations
+     */
+    public Map<OWLAxiom, OWLAxiom> getAnnotationChanges() {
+        return annotationChanges;
+    }
+
+    /**
+     * @return entities of the older version mapped to their new names
+     */
+    public Map<OWLEntity, OWLEntity> getRenamedEntities() {
+        return renamedEntities;
+    }
+
+    /**
+     * @return axioms of the older version mapped to their version after the renames
+     */
+    public Map<OWLAxiom, OWLAxiom> getRenamedAxioms() {
+        return renamedAxioms;
+    }
+
+    /**
+     * @return true if the two versions have the same axioms
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && annotationChanges.isEmpty()
+            && renamedAxioms.isEmpty();
+    }
+
+    /**
+     * @param ontology ontology to change, usually the older version
+     * @return changes that remove the removed axioms and add the added axioms
+     */
+    public List<OWLOntologyChange> getAxiomChanges(OWLOntology ontology) {
+        List<OWLOntologyChange> changes = new ArrayList<>(removed.size() + added.size());
+        removed.forEach(ax -> changes.add(new RemoveAxiom(ontology, ax)));
+        added.forEach(ax -> changes.add(new AddAxiom(ontology, ax)));
+        return changes;
+    }
+
+    /**
+     * @param ontology ontology to change, usually the older version
+     * @return changes that replace the axioms whose annotations changed
+     */
+    public List<OWLOntologyChange> getAnnotationChanges(OWLOntology ontology) {
+        return replacements(ontology, annotationChanges);
+    }
+
+    /**
+     * @param ontology ontology to change, usually the older version
+     * @return changes that replace the axioms affected by entity renames
+     */
+    public List<OWLOntologyChange> getRenameChanges(OWLOntology ontology) {
+        return replacements(ontology, renamedAxioms);
+    }
+
+    /**
+     * @param ontology ontology to change, usually the older version
+     * @return all changes; applied to the older version, they produce the axioms of the newer one
+     */
+    public List<OWLOntologyChange> getChanges(OWLOntology ontology) {
+        List<OWLOntologyChange> changes = getAxiomChanges(ontology);
+        changes.addAll(getAnnotationChanges(ontology));
+        changes.addAll(getRenameChanges(ontology));
+        return changes;
+    }
+
+    private static List<OWLOntologyChange> replacements(OWLOntology ontology,
+        Map<OWLAxiom, OWLAxiom> map) {
+        List<OWLOntologyChange> changes = new ArrayList<>(map.size() * 2);
+        map.forEach((from, to) -> {
+            changes.add(new RemoveAxiom(ontology, from));
+            changes.add(new AddAxiom(ontology, to));
+        });
+        return changes;
+    }
+
+    @Override
+    public String toString() {
+        return "OWLOntologyDiff(added: " + added.size() + " removed: " + removed.size()
+            + " annotation changes: " + annotationChanges.size() + " renamed entities: "
+            + renamedEntities.size() + " renamed axioms: " + renamedAxioms.size() + ')';
+    }
+}
@@ -0,0 +1,278 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Computes the differences between the axioms of two versions of an ontology. Axioms are
+ * partitioned by the hash code of their annotation free version, so that an axiom and its
+ * reannotated version fall in the same partition, and partitions are handled by a pool of workers.
+ * The axioms of the older version are indexed; the axioms of the newer version are read in batches
+ * and matched against the index, so that only the newer axioms missing from the older version are
+ * kept. Entity renames are then detected among the entities that appear only in one version: an
+ * old entity is renamed to the new entity of the same type that makes most of its removed axioms
+ * equal to added axioms.
+ * <p>
+ * The axiom sources are consumed one at a time, and each stream is closed once drained; a source
+ * that loads an ontology can remove it from its manager in {@link Stream#onClose(Runnable)}, so
+ * that only one ontology is loaded at any time, next to the index of the older axioms. Ontology
+ * annotations and imports are not compared.
+ *
+ * @since 5.1.17
+ */
+public class OWLOntologyDiffer {
+
+    private static final IRI PLACEHOLDER = IRI.create("urn:owlapi:diff#", "placeholder");
+    /**
+     * number of axioms read before the workers add them to their partitions
+     */
+    private static final int BATCH_SIZE = 10000;
+    private final OWLOntologyManager manager;
+    private final int workers;
+    private final int partitions;
+
+    /**
+     * @param manager manager used to create renamed axioms
+     * @param workers number of workers comparing partitions
+     */
+    public OWLOntologyDiffer(OWLOntologyManager manager, int workers) {
+        this.manager = checkNotNull(manager, "manager cannot be null");
+        this.workers = Math.max(1, workers);
+        partitions = this.workers * WorkerPool.TASKS_PER_WORKER;
+    }
+
+    /**
+     * @param older older version
+     * @param newer newer version
+     * @return differences between the axioms of the two ontologies
+     */
+    public OWLOntologyDiff diff(OWLOntology older, OWLOntology newer) {
+        return diff(older::axioms, newer::axioms);
+    }
+
+    /**
+     * @param older supplier of the axioms of the older version; called before {@code newer}
+     * @param newer supplier of the axioms of the newer version
+     * @return differences between the two axiom sources
+     */
+    public OWLOntologyDiff diff(Supplier<Stream<OWLAxiom>> older,
+        Supplier<Stream<OWLAxiom>> newer) {
+        List<Partition> parts = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            parts.add(new Partition());
+        }
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            stream(older, parts, pool, Partition::acceptOlder);
+            stream(newer, parts, pool, Partition::acceptNewer);
+            List<Runnable> tasks = new ArrayList<>(partitions);
+            parts.forEach(part -> tasks.add(part::finish));
+            pool.runAll(tasks);
+        }
+        Set<OWLAxiom> added = new LinkedHashSet<>();
+        Set<OWLAxiom> removed = new LinkedHashSet<>();
+        Map<OWLAxiom, OWLAxiom> annotationChanges = new LinkedHashMap<>();
+        Set<OWLEntity> oldSignature = new HashSet<>();
+        Set<OWLEntity> newSignature = new HashSet<>();
+        for (Partition p : parts) {
+            added.addAll(p.added);
+            removed.addAll(p.removed);
+            annotationChanges.putAll(p.annotationChanges);
+            oldSignature.addAll(p.oldSignature);
+            newSignature.addAll(p.newSignature);
+        }
+        Map<OWLEntity, OWLEntity> renamedEntities =
+            findRenames(added, removed, oldSignature, newSignature);
+        Map<OWLAxiom, OWLAxiom> renamedAxioms = new LinkedHashMap<>();
+        if (!renamedEntities.isEmpty()) {
+            Map<OWLEntity, IRI> iris = new HashMap<>();
+            renamedEntities.forEach((from, to) -> iris.put(from, to.getIRI()));
+            OWLObjectDuplicator duplicator = duplicator(iris);
+            for (OWLAxiom ax : removed) {
+                OWLAxiom renamed = duplicator.duplicateObject(ax);
+                if (added.contains(renamed)) {
+                    renamedAxioms.put(ax, renamed);
+                }
+            }
+            removed.removeAll(renamedAxioms.keySet());
+            added.removeAll(renamedAxioms.values());
+        }
+        return new OWLOntologyDiff(added, removed, annotationChanges, renamedEntities,
+            renamedAxioms);
+    }
+
+    /**
+     * Reads the axioms of a source in batches; the axioms of each batch are passed to their
+     * partitions by the workers, one task for each partition, before the next batch is read.
+     */
+    private void stream(Supplier<Stream<OWLAxiom>> source, List<Partition> parts,
+        WorkerPool pool, BiConsumer<Partition, List<OWLAxiom>> action) {
+        List<List<OWLAxiom>> batch = newBatch();
+        int size = 0;
+        try (Stream<OWLAxiom> axioms = source.get()) {
+            Iterator<OWLAxiom> it = axioms.iterator();
+            while (it.hasNext()) {
+                OWLAxiom ax = it.next();
+                batch.get(Math.floorMod(key(ax).hashCode(), partitions)).add(ax);
+                if (++size == BATCH_SIZE) {
+                    process(batch, parts, pool, action);
+                    batch = newBatch();
+                    size = 0;
+                }
+            }
+        }
+        process(batch, parts, pool, action);
+    }
+
+    private List<List<OWLAxiom>> newBatch() {
+        List<List<OWLAxiom>> batch = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            batch.add(new ArrayList<>());
+        }
+        return batch;
+    }
+
+    private static void process(List<List<OWLAxiom>> batch, List<Partition> parts,
+        WorkerPool pool, BiConsumer<Partition, List<OWLAxiom>> action) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Partition part = parts.get(i);
+            List<OWLAxiom> axioms = batch.get(i);
+            if (!axioms.isEmpty()) {
+                tasks.add(() -> action.accept(part, axioms));
+            }
+        }
+        pool.runAll(tasks);
+    }
+
+    private static OWLAxiom key(OWLAxiom ax) {
+        return ax.isAnnotated() ? ax.getAxiomWithoutAnnotations() : ax;
+    }
+
+    private OWLObjectDuplicator duplicator(Map<OWLEntity, IRI> iris) {
+        return new OWLObjectDuplicator(iris, manager);
+    }
+
+    private OWLAxiom placeholder(OWLAxiom ax, OWLEntity e) {
+        return duplicator(Collections.singletonMap(e, PLACEHOLDER)).duplicateObject(ax);
+    }
+
+    private Map<OWLEntity, OWLEntity> findRenames(Set<OWLAxiom> added, Set<OWLAxiom> removed,
+        Set<OWLEntity> oldSignature, Set<OWLEntity> newSignature) {
+        Map<OWLEntity, OWLEntity> renames = new LinkedHashMap<>();
+        Set<OWLEntity> newOnly = new HashSet<>();
+        added.forEach(ax -> ax.signature().filter(e -> !oldSignature.contains(e))
+            .forEach(newOnly::add));
+        if (newOnly.isEmpty()) {
+            return renames;
+        }
+        // added axioms with a new entity replaced by a placeholder, to the entities replaced
+        Map<OWLAxiom, Set<OWLEntity>> index = new HashMap<>();
+        for (OWLAxiom ax : added) {
+            ax.signature().filter(newOnly::contains).forEach(e -> index
+                .computeIfAbsent(placeholder(ax, e), k -> new HashSet<>()).add(e));
+        }
+        Map<OWLEntity, Map<OWLEntity, Integer>> votes = new LinkedHashMap<>();
+        for (OWLAxiom ax : removed) {
+            ax.signature().filter(e -> !newSignature.contains(e)).forEach(e -> {
+                Set<OWLEntity> candidates = index.get(placeholder(ax, e));
+                if (candidates != null) {
+                    Map<OWLEntity, Integer> v = votes.computeIfAbsent(e, k -> new HashMap<>());
+                    candidates.stream().filter(c -> c.getEntityType() == e.getEntityType())
+                        .forEach(c -> v.merge(c, Integer.valueOf(1), Integer::sum));
+                }
+            });
+        }
+        Set<OWLEntity> assigned = new HashSet<>();
+        votes.forEach((e, v) -> v.entrySet().stream().filter(c -> !assigned.contains(c.getKey()))
+            .max((a, b) -> Integer.compare(a.getValue().intValue(), b.getValue().intValue()))
+            .ifPresent(c -> {
+                renames.put(e, c.getKey());
+                assigned.add(c.getKey());
+            }));
+        return renames;
+    }
+
+    private static class Partition {
+
+        /**
+         * axioms of the older version, to whether they are also in the newer version
+         */
+        final Map<OWLAxiom, Boolean> older = new LinkedHashMap<>();
+        /**
+         * axioms of the newer version that are not in the older version
+         */
+        final Set<OWLAxiom> newer = new LinkedHashSet<>();
+        final List<OWLAxiom> added = new ArrayList<>();
+        final List<OWLAxiom> removed = new ArrayList<>();
+        final Map<OWLAxiom, OWLAxiom> annotationChanges = new LinkedHashMap<>();
+        final Set<OWLEntity> oldSignature = new HashSet<>();
+        final Set<OWLEntity> newSignature = new HashSet<>();
+
+        void acceptOlder(List<OWLAxiom> axioms) {
+            axioms.forEach(ax -> older.put(ax, Boolean.FALSE));
+        }
+
+        void acceptNewer(List<OWLAxiom> axioms) {
+            for (OWLAxiom ax : axioms) {
+                ax.signature().forEach(newSignature::add);
+                if (older.replace(ax, Boolean.TRUE) == null) {
+                    newer.add(ax);
+                }
+            }
+        }
+
+        void finish() {
+            Map<OWLAxiom, Deque<OWLAxiom>> removedByKey = new LinkedHashMap<>();
+            older.forEach((ax, matched) -> {
+                ax.signature().forEach(oldSignature::add);
+                if (!matched.booleanValue()) {
+                    removedByKey.computeIfAbsent(key(ax), k -> new ArrayDeque<>()).add(ax);
+                }
+            });
+            for (OWLAxiom ax : newer) {
+                Deque<OWLAxiom> sameKey = removedByKey.get(key(ax));
+                if (sameKey != null && !sameKey.isEmpty()) {
+                    annotationChanges.put(sameKey.poll(), ax);
+                } else {
+                    added.add(ax);
+                }
+            }
+            removedByKey.values().forEach(removed::addAll);
+            older.clear();
+            newer.clear();
+        }
+    }
+}
@@ -14,6 +14,14 @@ package org.semanticweb.owlapi.util;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -24,6 +32,7 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLOntologySetProvider;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 
 /**
  * A very very simple merger, which just creates an ontology which contains the union of axioms from
@@ -75,12 +84,7 @@ public class OWLOntologyMerger implements OWLAxiomFilter {
      */
     public OWLOntology createMergedOntology(OWLOntologyManager ontologyManager,
         @Nullable IRI ontologyIRI) throws OWLOntologyCreationException {
-        OWLOntology ontology;
-        if (ontologyIRI != null) {
-            ontology = ontologyManager.createOntology(ontologyIRI);
-        } else {
-            ontology = ontologyManager.createOntology();
-        }
+        OWLOntology ontology = createOntology(ontologyManager, ontologyIRI);
         setProvider.ontologies()
             // avoid including the merge ontology in the list of ontologies to merge, if the
             // ontology manager is the same as the set provider
@@ -91,6 +95,70 @@ public class OWLOntologyMerger implements OWLAxiomFilter {
         return ontology;
     }
 
+    /**
+     * Merges the source ontologies with a pool of workers. Each worker collects the axioms of one
+     * source ontology at a time into a concurrent set, which removes the axioms shared by several
+     * sources; the set is then added to the new ontology in one bulk operation. The axiom filter
+     * must be thread safe; the monitor is only called from the calling thread, as each source is
+     * collected. If the monitor is cancelled, the new ontology is removed from the manager and an
+     * exception is thrown.
+     *
+     * @param ontologyManager the manager containing the ontologies
+     * @param ontologyIRI the new ontology IRI
+     * @param workers number of threads collecting axioms
+     * @param monitor progress monitor; progress is the number of source ontologies collected
+     * @return the new ontology
+     * @throws OWLOntologyCreationException if any creation exception arises
+     * @since 5.1.17
+     */
+    public OWLOntology createMergedOntology(OWLOntologyManager ontologyManager,
+        @Nullable IRI ontologyIRI, int workers, ProgressMonitor monitor)
+        throws OWLOntologyCreationException {
+        checkNotNull(monitor, "monitor cannot be null");
+        OWLOntology ontology = createOntology(ontologyManager, ontologyIRI);
+        // avoid including the merge ontology in the list of ontologies to merge
+        List<OWLOntology> sources =
+            setProvider.ontologies().filter(o -> o != ontology).collect(Collectors.toList());
+        monitor.setStarted();
+        monitor.setSize(sources.size());
+        Set<OWLAxiom> axioms = ConcurrentHashMap.newKeySet();
+        AtomicBoolean cancelled = new AtomicBoolean(monitor.isCancelled());
+        List<Callable<OWLOntology>> tasks = new ArrayList<>(sources.size());
+        for (OWLOntology o : sources) {
+            tasks.add(() -> {
+                if (!cancelled.get()) {
+                    getAxioms(o).filter(axiomFilter::passes).forEach(axioms::add);
+                }
+                return o;
+            });
+        }
+        AtomicLong progress = new AtomicLong();
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            pool.invokeAll(tasks, o -> {
+                monitor.setProgress(progress.incrementAndGet());
+                cancelled.set(monitor.isCancelled());
+            });
+        } catch (RuntimeException e) {
+            ontologyManager.removeOntology(ontology);
+            throw e;
+        }
+        if (monitor.isCancelled()) {
+            ontologyManager.removeOntology(ontology);
+            throw new OWLRuntimeException("Ontology merge cancelled");
+        }
+        ontology.add(axioms);
+        monitor.setFinished();
+        return ontology;
+    }
+
+    private static OWLOntology createOntology(OWLOntologyManager ontologyManager,
+        @Nullable IRI ontologyIRI) throws OWLOntologyCreationException {
+        if (ontologyIRI != null) {
+            return ontologyManager.createOntology(ontologyIRI);
+        }
+        return ontologyManager.createOntology();
+    }
+
     private Stream<? extends OWLAxiom> getAxioms(OWLOntology ont) {
         if (mergeOnlyLogicalAxioms) {
             return ont.logicalAxioms();
@@ -0,0 +1,315 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
+
+/**
+ * A character trie over short forms, supporting prefix, substring and edit distance lookups. Each
+ * node keeps its children in two parallel sorted arrays rather than a map, so that large
+ * vocabularies stay compact and results come out in lexicographic order.
+ *
+ * @since 5.1.17
+ */
+class ShortFormTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Match> WORST_FIRST =
+        Comparator.comparingInt((Match m) -> m.distance).thenComparing(m -> m.shortForm).reversed();
+    private final boolean ignoreCase;
+    private Node root = new Node();
+
+    /**
+     * @param ignoreCase true if lookups should ignore case
+     */
+    ShortFormTrie(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    private String key(String s) {
+        return ignoreCase ? s.toLowerCase(Locale.ROOT) : s;
+    }
+
+    synchronized void clear() {
+        root = new Node();
+    }
+
+    synchronized void add(String shortForm) {
+        String key = key(shortForm);
+        Node n = root;
+        for (int i = 0; i < key.length(); i++) {
+            n = n.childOrCreate(key.charAt(i));
+        }
+        if (n.shortForms == null) {
+            n.shortForms = new TreeSet<>();
+        }
+        n.shortForms.add(shortForm);
+    }
+
+    synchronized void remove(String shortForm) {
+        String key = key(shortForm);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = path[i].child(key.charAt(i));
+            if (child == null) {
+                return;
+            }
+            path[i + 1] = child;
+        }
+        Set<String> set = path[key.length()].shortForms;
+        if (set == null || !set.remove(shortForm)) {
+            return;
+        }
+        if (set.isEmpty()) {
+            path[key.length()].shortForms = null;
+        }
+        // prune the nodes left without short forms or children
+        for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+    }
+
+    /**
+     * @param prefix prefix to search
+     * @param limit maximum number of results
+     * @return short forms starting with the prefix, in lexicographic order of their keys
+     */
+    synchronized List<String> withPrefix(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        String key = key(prefix);
+        Node n = root;
+        for (int i = 0; n != null && i < key.length(); i++) {
+            n = n.child(key.charAt(i));
+        }
+        if (n != null) {
+            collect(n, result, limit);
+        }
+        return result;
+    }
+
+    /**
+     * @param substring substring to search
+     * @param limit maximum number of results
+     * @return short forms containing the substring, in lexicographic order of their keys
+     */
+    synchronized List<String> containing(String substring, int limit) {
+        List<String> result = new ArrayList<>();
+        String key = key(substring);
+        if (key.isEmpty()) {
+            collect(root, result, limit);
+        } else {
+            containing(root, 0, key, failureFunction(key), result, limit);
+        }
+        return result;
+    }
+
+    /**
+     * @param query string to match
+     * @param maxDistance maximum edit distance
+     * @param limit maximum number of results
+     * @return the short forms closest to the query, by edit distance and then lexicographically
+     */
+    synchronized List<String> withinDistance(String query, int maxDistance, int limit) {
+        PriorityQueue<Match> best = new PriorityQueue<>(WORST_FIRST);
+        if (limit <= 0 || maxDistance < 0) {
+            return new ArrayList<>();
+        }
+        String key = key(query);
+        int[] row = new int[key.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+        withinDistance(root, key, row, maxDistance, limit, best);
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(WORST_FIRST.reversed());
+        List<String> result = new ArrayList<>(matches.size());
+        matches.forEach(m -> result.add(m.shortForm));
+        return result;
+    }
+
+    private static void collect(Node n, List<String> result, int limit) {
+        if (result.size() >= limit) {
+            return;
+        }
+        if (n.shortForms != null) {
+            for (String s : n.shortForms) {
+                if (result.size() >= limit) {
+                    return;
+                }
+                result.add(s);
+            }
+        }
+        for (Node child : n.children) {
+            collect(child, result, limit);
+        }
+    }
+
+    /**
+     * Walks the trie with a Knuth-Morris-Pratt automaton for the pattern, so that the shared
+     * prefixes of the short forms are matched only once.
+     */
+    private static void containing(Node n, int state, String pattern, int[] failure,
+        List<String> result, int limit) {
+        for (int i = 0; i < n.keys.length && result.size() < limit; i++) {
+            char c = n.keys[i];
+            int next = state;
+            while (next > 0 && pattern.charAt(next) != c) {
+                next = failure[next - 1];
+            }
+            if (pattern.charAt(next) == c) {
+                next++;
+            }
+            if (next == pattern.length()) {
+                // every short form below this node contains the pattern
+                collect(n.children[i], result, limit);
+            } else {
+                containing(n.children[i], next, pattern, failure, result, limit);
+            }
+        }
+    }
+
+    private static int[] failureFunction(String pattern) {
+        int[] failure = new int[pattern.length()];
+        int k = 0;
+        for (int i = 1; i < pattern.length(); i++) {
+            while (k > 0 && pattern.charAt(k) != pattern.charAt(i)) {
+                k = failure[k - 1];
+            }
+            if (pattern.charAt(k) == pattern.charAt(i)) {
+                k++;
+            }
+            failure[i] = k;
+        }
+        return failure;
+    }
+
+    /**
+     * Computes one row of the Levenshtein matrix per trie node; a branch is abandoned when no cell
+     * in its row is within the current bound. Once enough matches have been found, the bound
+     * shrinks to the distance of the worst match kept.
+     */
+    private static void withinDistance(Node n, String query, int[] row, int maxDistance,
+        int limit, PriorityQueue<Match> best) {
+        int last = row[row.length - 1];
+        if (n.shortForms != null && last <= bound(maxDistance, limit, best)) {
+            for (String s : n.shortForms) {
+                best.add(new Match(s, last));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        for (int i = 0; i < n.keys.length; i++) {
+            char c = n.keys[i];
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int min = next[0];
+            for (int j = 1; j < row.length; j++) {
+                int cost = query.charAt(j - 1) == c ? 0 : 1;
+                next[j] = Math.min(Math.min(next[j - 1] + 1, row[j] + 1), row[j - 1] + cost);
+                min = Math.min(min, next[j]);
+            }
+            if (min <= bound(maxDistance, limit, best)) {
+                withinDistance(n.children[i], query, next, maxDistance, limit, best);
+            }
+        }
+    }
+
+    private static int bound(int maxDistance, int limit, PriorityQueue<Match> best) {
+        Match worst = best.peek();
+        if (best.size() < limit || worst == null) {
+            return maxDistance;
+        }
+        return Math.min(maxDistance, worst.distance);
+    }
+
+    private static class Match {
+
+        final String shortForm;
+        final int distance;
+
+        Match(String shortForm, int distance) {
+            this.shortForm = shortForm;
+            this.distance = distance;
+        }
+    }
+
+    private static class Node {
+
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        @Nullable
+        Set<String> shortForms;
+
+        @Nullable
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insert = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, keys.length - insert);
+            Node child = new Node();
+            newKeys[insert] = c;
+            newChildren[insert] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return;
+            }
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, keys.length - i - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return shortForms == null && keys.length == 0;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * A bidirectional short form provider that, besides exact lookups, indexes its short forms in a
+ * trie to answer prefix, substring and edit distance queries without scanning every short form.
+ * The index is kept up to date with the same change listener used by
+ * {@link BidirectionalShortFormProviderAdapter}.
+ *
+ * @since 5.1.17
+ */
+public class TrieBidirectionalShortFormProvider extends BidirectionalShortFormProviderAdapter {
+
+    // null only while the superclass constructor populates the cache
+    @Nullable
+    private ShortFormTrie trie;
+
+    /**
+     * @param ontologies The ontologies that contain references to the entities to be mapped.
+     * @param shortFormProvider The short form provider that should be used to generate the short
+     *        forms of the referenced entities.
+     * @param ignoreCase true if prefix, substring and edit distance lookups should ignore case
+     */
+    public TrieBidirectionalShortFormProvider(Collection<OWLOntology> ontologies,
+        ShortFormProvider shortFormProvider, boolean ignoreCase) {
+        super(ontologies, shortFormProvider);
+        index(ignoreCase);
+    }
+
+    /**
+     * Note that the {@code dispose} method must be called when the provider has been finished with
+     * so that the provider may remove itself as a listener from the manager.
+     *
+     * @param man manager whose changes will be tracked
+     * @param ontologies The ontologies that contain references to the entities to be mapped.
+     * @param shortFormProvider The short form provider that should be used to generate the short
+     *        forms of the referenced entities.
+     * @param ignoreCase true if prefix, substring and edit distance lookups should ignore case
+     */
+    public TrieBidirectionalShortFormProvider(OWLOntologyManager man,
+        Collection<OWLOntology> ontologies, ShortFormProvider shortFormProvider,
+        boolean ignoreCase) {
+        super(man, ontologies, shortFormProvider);
+        index(ignoreCase);
+    }
+
+    private void index(boolean ignoreCase) {
+        ShortFormTrie t = new ShortFormTrie(ignoreCase);
+        shortForms().forEach(t::add);
+        trie = t;
+    }
+
+    @Override
+    protected void rebuild(Stream<OWLEntity> entities) {
+        if (trie != null) {
+            trie.clear();
+        }
+        super.rebuild(entities);
+    }
+
+    @Override
+    public void add(OWLEntity entity) {
+        super.add(entity);
+        if (trie != null) {
+            trie.add(getShortForm(entity));
+        }
+    }
+
+    @Override
+    protected void remove(OWLEntity entity) {
+        String shortForm = getShortForm(entity);
+        super.remove(entity);
+        if (trie != null && getEntity(shortForm) == null) {
+            trie.remove(shortForm);
+        }
+    }
+
+    /**
+     * @param prefix prefix to search for
+     * @param limit maximum number of short forms to return
+     * @return short forms starting with the prefix, in lexicographic order
+     */
+    public Stream<String> shortFormsWithPrefix(String prefix, int limit) {
+        return verifyTrie().withPrefix(prefix, limit).stream();
+    }
+
+    /**
+     * @param substring substring to search for
+     * @param limit maximum number of short forms to return
+     * @return short forms containing the substring, in lexicographic order
+     */
+    public Stream<String> shortFormsContaining(String substring, int limit) {
+        return verifyTrie().containing(substring, limit).stream();
+    }
+
+    /**
+     * @param query string to match
+     * @param maxDistance maximum Levenshtein distance between the query and a short form
+     * @param limit maximum number of short forms to return
+     * @return the short forms closest to the query, nearest first; ties are in lexicographic order
+     */
+    public Stream<String> shortFormsWithinDistance(String query, int maxDistance, int limit) {
+        return verifyTrie().withinDistance(query, maxDistance, limit).stream();
+    }
+
+    private ShortFormTrie verifyTrie() {
+        return verifyNotNull(trie);
+    }
+}
@@ -0,0 +1,309 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/**
+ * Runs tasks on a pool of worker threads and hands their results back in submission order. A pool
+ * with a single worker runs the tasks on the calling thread. A pool either owns its threads, which
+ * are stopped by {@link #close()}, or uses an executor supplied by the caller, which is left
+ * running.
+ * <p>
+ * Runtime exceptions thrown by a task are rethrown as they are; checked exceptions and
+ * interruptions are wrapped in an {@link OWLRuntimeException}. Once a task has failed, the tasks
+ * not yet started are skipped and the running ones are interrupted; the exception is rethrown
+ * only after all of them have stopped, so that no task outlives the call that submitted it.
+ *
+ * @since 5.1.17
+ */
+public class WorkerPool implements AutoCloseable {
+
+    /**
+     * Number of tasks for each worker when a list is split; more tasks balance the load better.
+     */
+    public static final int TASKS_PER_WORKER = 8;
+    @Nullable
+    private final ExecutorService executor;
+    private final boolean owned;
+    private final int workers;
+
+    /**
+     * @param workers number of threads; 1 or less runs all tasks on the calling thread
+     */
+    public WorkerPool(int workers) {
+        this.workers = Math.max(1, workers);
+        executor = this.workers > 1 ? Executors.newFixedThreadPool(this.workers) : null;
+        owned = true;
+    }
+
+    /**
+     * @param executor executor for the tasks; it is not shut down by {@link #close()}
+     * @param workers number of threads of the executor, used to split work
+     */
+    public WorkerPool(ExecutorService executor, int workers) {
+        this.executor = checkNotNull(executor, "executor cannot be null");
+        this.workers = Math.max(1, workers);
+        owned = false;
+    }
+
+    /**
+     * @return number of workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @return true if tasks run on other threads than the calling one
+     */
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    /**
+     * Splits a list in {@link #TASKS_PER_WORKER} contiguous slices for each worker, or in single
+     * elements if the list is shorter.
+     *
+     * @param list list to split
+     * @param <T> element type
+     * @return views of consecutive slices of the list, in order
+     */
+    public <T> List<List<T>> split(List<T> list) {
+        return split(list, workers * TASKS_PER_WORKER);
+    }
+
+    /**
+     * @param list list to split
+     * @param parts maximum number of slices
+     * @param <T> element type
+     * @return views of at most {@code parts} consecutive slices of the list, in order, whose
+     *         sizes differ by one at most; empty for an empty list
+     */
+    public static <T> List<List<T>> split(List<T> list, int parts) {
+        int n = Math.min(list.size(), Math.max(1, parts));
+        List<List<T>> slices = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            slices.add(list.subList(i * list.size() / n, (i + 1) * list.size() / n));
+        }
+        return slices;
+    }
+
+    /**
+     * Runs tasks and passes their results to a consumer on the calling thread, in task order; each
+     * result is passed as soon as it and all the results before it are available.
+     *
+     * @param tasks tasks to run
+     * @param results consumer for the results
+     * @param <R> result type
+     */
+    public <R> void invokeAll(List<? extends Callable<? extends R>> tasks,
+        Consumer<? super R> results) {
+        if (executor == null) {
+            for (Callable<? extends R> task : tasks) {
+                results.accept(call(task));
+            }
+            return;
+        }
+        Batch batch = new Batch();
+        List<Future<? extends R>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<? extends R> task : tasks) {
+                futures.add(batch.submit(executor, task));
+            }
+            for (Future<? extends R> f : futures) {
+                results.accept(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            batch.stop();
+            batch.await();
+        }
+    }
+
+    /**
+     * @param tasks tasks to run
+     * @param <R> result type
+     * @return the results, in task order
+     */
+    public <R> List<R> invokeAll(List<? extends Callable<? extends R>> tasks) {
+        List<R> results = new ArrayList<>(tasks.size());
+        invokeAll(tasks, results::add);
+        return results;
+    }
+
+    /**
+     * @param tasks tasks to run; returns when all have completed
+     */
+    public void runAll(List<? extends Runnable> tasks) {
+        List<Callable<Object>> callables = new ArrayList<>(tasks.size());
+        tasks.forEach(t -> callables.add(Executors.callable(t)));
+        invokeAll(callables, r -> {
+            // no results
+        });
+    }
+
+    /**
+     * Runs the same task once for each worker, e.g., a loop pulling work from a shared queue.
+     *
+     * @param task task to run
+     */
+    public void runOnEachWorker(Runnable task) {
+        runAll(Collections.nCopies(workers, task));
+    }
+
+    /**
+     * @param inputs inputs, each mapped by its own task
+     * @param function function to apply; called concurrently
+     * @param <T> input type
+     * @param <R> result type
+     * @return the results, in input order
+     */
+    public <T, R> List<R> map(List<T> inputs, Function<? super T, ? extends R> function) {
+        List<Callable<R>> tasks = new ArrayList<>(inputs.size());
+        inputs.forEach(i -> tasks.add(() -> function.apply(i)));
+        return invokeAll(tasks);
+    }
+
+    /**
+     * Stops the threads of the pool, unless the executor was supplied by the caller.
+     */
+    @Override
+    public void close() {
+        if (owned && executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <R> R call(Callable<R> task) {
+        try {
+            return task.call();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new OWLRuntimeException(t);
+    }
+
+    /**
+     * Tracks the tasks of one {@link #invokeAll(List, Consumer)} call, so that the call can stop
+     * them and wait for them to return; cancelling their futures would not wait for the running
+     * ones.
+     */
+    private static final class Batch {
+
+        private final Set<Thread> running = new HashSet<>();
+        private int pending;
+        private boolean stopped;
+
+        <R> Future<R> submit(ExecutorService executor, Callable<R> task) {
+            synchronized (this) {
+                pending++;
+            }
+            try {
+                return executor.submit(() -> run(task));
+            } catch (RuntimeException e) {
+                finished();
+                throw e;
+            }
+        }
+
+        @Nullable
+        private <R> R run(Callable<R> task) throws Exception {
+            Thread current = Thread.currentThread();
+            synchronized (this) {
+                if (stopped) {
+                    finished();
+                    return null;
+                }
+                running.add(current);
+            }
+            try {
+                return task.call();
+            } finally {
+                synchronized (this) {
+                    running.remove(current);
+                    if (stopped) {
+                        // clear the interrupt sent by stop(), the thread belongs to the executor
+                        Thread.interrupted();
+                    }
+                    finished();
+                }
+            }
+        }
+
+        private synchronized void finished() {
+            pending--;
+            notifyAll();
+        }
+
+        /**
+         * Skips the tasks not yet started and interrupts the running ones; a no-op once all tasks
+         * have completed.
+         */
+        synchronized void stop() {
+            stopped = true;
+            running.forEach(Thread::interrupt);
+        }
+
+        /**
+         * Waits for all submitted tasks to return or be skipped; an interruption of the waiting
+         * thread is kept for the caller.
+         */
+        synchronized void await() {
+            boolean interrupted = false;
+            while (pending > 0) {
+                try {
+                    wait();
+                } catch (@SuppressWarnings("unused") InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.apibinding;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.OWLOntologyDiff;
+import org.semanticweb.owlapi.util.OWLOntologyDiffer;
+
+/**
+ * Command line tool printing the differences between two versions of an ontology:<br>
+ * {@code OWLOntologyDiffTool [--workers N] older newer}<br>
+ * The two files are loaded one after the other; the older ontology is removed from the manager,
+ * keeping only an index of its axioms, before the newer one is loaded. The exit code is 0 if the
+ * ontologies have the same axioms, 1 if they differ and 2 on errors.
+ *
+ * @since 5.1.17
+ */
+public final class OWLOntologyDiffTool {
+
+    private static final String USAGE =
+        "Usage: OWLOntologyDiffTool [--workers N] <older ontology> <newer ontology>";
+
+    private OWLOntologyDiffTool() {}
+
+    /**
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * @param args command line arguments
+     * @param out stream for the differences
+     * @param err stream for errors
+     * @return exit code: 0 for no differences, 1 for differences, 2 for errors
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        int workers = Runtime.getRuntime().availableProcessors();
+        int i = 0;
+        try {
+            if (args.length > 1 && "--workers".equals(args[0])) {
+                workers = Integer.parseInt(args[1]);
+                i = 2;
+            }
+        } catch (NumberFormatException e) {
+            err.println(USAGE);
+            return 2;
+        }
+        if (args.length - i != 2) {
+            err.println(USAGE);
+            return 2;
+        }
+        OWLOntologyManager m = OWLManager.createOWLOntologyManager();
+        try {
+            OWLOntologyDiff diff = new OWLOntologyDiffer(m, workers)
+                .diff(axioms(m, new File(args[i])), axioms(m, new File(args[i + 1])));
+            print(diff, out);
+            return diff.isEmpty() ? 0 : 1;
+        } catch (OWLRuntimeException e) {
+            err.println("Cannot compare " + args[i] + " and " + args[i + 1] + ": "
+                + (e.getCause() == null ? e.getMessage() : e.getCause().getMessage()));
+            return 2;
+        }
+    }
+
+    private static Supplier<Stream<OWLAxiom>> axioms(OWLOntologyManager m, File file) {
+        return () -> {
+            try {
+                OWLOntology o = m.loadOntologyFromOntologyDocument(file);
+                return o.axioms().onClose(() -> m.removeOntology(o));
+            } catch (OWLOntologyCreationException e) {
+                throw new OWLRuntimeException(e);
+            }
+        };
+    }
+
+    private static void print(OWLOntologyDiff diff, PrintStream out) {
+        out.println("Added: " + diff.getAddedAxioms().size() + ", removed: "
+            + diff.getRemovedAxioms().size() + ", annotations changed: "
+            + diff.getAnnotationChanges().size() + ", entities renamed: "
+            + diff.getRenamedEntities().size());
+        diff.getRenamedEntities().forEach((from, to) -> out.println("= " + from + " -> " + to));
+        diff.getRemovedAxioms().forEach(ax -> out.println("- " + ax));
+        diff.getAddedAxioms().forEach(ax -> out.println("+ " + ax));
+        diff.getAnnotationChanges().forEach((from, to) -> out.println("~ " + to));
+    }
+}
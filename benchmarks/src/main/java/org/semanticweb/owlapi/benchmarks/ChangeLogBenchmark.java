@@ -0,0 +1,123 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.change.AddAxiomData;
+import org.semanticweb.owlapi.change.BinaryChangeLogReader;
+import org.semanticweb.owlapi.change.BinaryChangeLogWriter;
+import org.semanticweb.owlapi.change.OWLOntologyChangeRecord;
+import org.semanticweb.owlapi.change.RemoveAxiomData;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+/**
+ * Throughput of the binary change log against Java serialization of the same change records. The
+ * records are a mix of declarations, existential restrictions and labelled classes, added and
+ * removed, over a few namespaces.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChangeLogBenchmark {
+
+    @Param({"1000", "100000"})
+    public int records;
+    private final OWLDataFactory df = OWLManager.getOWLDataFactory();
+    private List<OWLOntologyChangeRecord> changes;
+    private byte[] binary;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        changes = new ArrayList<>(records);
+        OWLOntologyID id = new OWLOntologyID(IRI.create("urn:benchmark:log"));
+        OWLObjectProperty p = df.getOWLObjectProperty("urn:benchmark:props#", "partOf");
+        for (int i = 0; i < records; i++) {
+            OWLClass c = df.getOWLClass("urn:benchmark:ns" + i % 7 + "#", "C" + i);
+            OWLClass d = df.getOWLClass("urn:benchmark:ns" + i % 5 + "#", "C" + i / 3);
+            switch (i % 4) {
+                case 0:
+                    changes.add(new OWLOntologyChangeRecord(id,
+                        new AddAxiomData(df.getOWLDeclarationAxiom(c))));
+                    break;
+                case 1:
+                    changes.add(new OWLOntologyChangeRecord(id, new AddAxiomData(
+                        df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(p, d)))));
+                    break;
+                case 2:
+                    changes.add(new OWLOntologyChangeRecord(id, new AddAxiomData(
+                        df.getOWLAnnotationAssertionAxiom(c.getIRI(), df.getRDFSLabel("C" + i)))));
+                    break;
+                default:
+                    changes.add(new OWLOntologyChangeRecord(id,
+                        new RemoveAxiomData(df.getOWLSubClassOfAxiom(c, d))));
+            }
+        }
+        binary = writeBinary();
+        serialized = writeSerialized();
+    }
+
+    @Benchmark
+    public byte[] writeBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryChangeLogWriter writer = new BinaryChangeLogWriter(out, 10000)) {
+            for (OWLOntologyChangeRecord r : changes) {
+                writer.write(r);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<OWLOntologyChangeRecord> readBinary() throws IOException {
+        try (BinaryChangeLogReader reader =
+            new BinaryChangeLogReader(new ByteArrayInputStream(binary), df)) {
+            return reader.readAll();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeSerialized() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            for (OWLOntologyChangeRecord r : changes) {
+                stream.writeObject(r);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<OWLOntologyChangeRecord> readSerialized()
+        throws IOException, ClassNotFoundException {
+        List<OWLOntologyChangeRecord> list = new ArrayList<>(records);
+        try (ObjectInputStream stream =
+            new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            for (int i = 0; i < records; i++) {
+                list.add((OWLOntologyChangeRecord) stream.readObject());
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,78 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parse time of an OBO document. The document is read from the file in the {@code file} parameter
+ * (for example go.obo or chebi.obo, passed with {@code -p file=...}); if the parameter is empty, a
+ * synthetic document with {@code terms} term frames is used. Run with {@code -prof gc} to see the
+ * allocation rate of the tokenizer; {@code workers} above 1 parses frames in parallel, and
+ * {@code compact} measures the cost of compacting the parsed document.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OBOParseBenchmark {
+
+    @Param({""})
+    public String file;
+    @Param({"50000"})
+    public int terms;
+    @Param({"1", "4"})
+    public int workers;
+    @Param({"false", "true"})
+    public boolean compact;
+    private String document;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (!file.isEmpty()) {
+            document = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+            return;
+        }
+        StringBuilder b = new StringBuilder(terms * 300);
+        b.append("format-version: 1.2\nontology: bench\n\n");
+        for (int i = 0; i < terms; i++) {
+            b.append("[Term]\nid: BENCH:").append(i).append("\nname: term ").append(i)
+                .append("\ndef: \"Definition of term ").append(i)
+                .append(", with a \\\"quoted\\\" word.\" [PMID:").append(i).append(", ISBN:")
+                .append(i % 97).append("]\nsynonym: \"synonym ").append(i)
+                .append("\" EXACT []\nxref: EXT:").append(i).append(" {source=\"BENCH:")
+                .append(i / 2).append("\"}\n");
+            if (i > 0) {
+                b.append("is_a: BENCH:").append(i / 2).append(" ! term ").append(i / 2)
+                    .append('\n');
+                b.append("relationship: part_of BENCH:").append(i - 1).append('\n');
+            }
+            b.append('\n');
+        }
+        b.append("[Typedef]\nid: part_of\nname: part of\nis_transitive: true\n");
+        document = b.toString();
+    }
+
+    @Benchmark
+    public OBODoc parse() throws IOException {
+        OBOFormatParser parser = new OBOFormatParser();
+        parser.setWorkers(workers);
+        parser.setCompact(compact);
+        return parser.parse(new StringReader(document));
+    }
+}
@@ -0,0 +1,85 @@
+package org.obolibrary.obo2owl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.obolibrary.obo2owl.Obo2OWLConstants.Obo2OWLVocabulary;
+import org.obolibrary.oboformat.OboFormatTestBasics;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+@SuppressWarnings("javadoc")
+public class IncrementalOwl2OboTestCase extends OboFormatTestBasics {
+
+    private static final String OBO = "http://purl.obolibrary.org/obo/";
+
+    private String translate(OWLOntology o) throws IOException {
+        return writeOBO(new OWLAPIOwl2Obo(setupManager()).convert(o));
+    }
+
+    private void check(OWLOntology o, int workers) throws IOException {
+        OWLAPIOwl2Obo bridge = new OWLAPIOwl2Obo(setupManager());
+        bridge.setWorkers(workers);
+        IncrementalOwl2Obo incremental = new IncrementalOwl2Obo(bridge, o);
+        OBODoc doc = incremental.getObodoc();
+        assertEquals(translate(o), writeOBO(doc));
+        Frame untouched = doc.getTermFrame("CARO:0000000");
+        Frame changed = doc.getTermFrame("CARO:0000003");
+        OWLClass c3 = df.getOWLClass(OBO, "CARO_0000003");
+        OWLClass c6 = df.getOWLClass(OBO, "CARO_0000006");
+        OWLClass added = df.getOWLClass(OBO, "CARO_9000000");
+        // labels
+        o.remove(asList(o.annotationAssertionAxioms(c3.getIRI())
+            .filter(ax -> ax.getProperty().isLabel())));
+        o.add(df.getOWLAnnotationAssertionAxiom(c3.getIRI(),
+            df.getRDFSLabel(df.getOWLLiteral("renamed"))));
+        assertEquals(translate(o), writeOBO(doc));
+        assertSame(untouched, doc.getTermFrame("CARO:0000000"));
+        assertNotSame(changed, doc.getTermFrame("CARO:0000003"));
+        assertTrue(writeOBO(doc).contains("name: renamed"));
+        // new class, subclass axioms and an untranslatable axiom
+        o.add(df.getOWLDeclarationAxiom(added),
+            df.getOWLAnnotationAssertionAxiom(added.getIRI(),
+                df.getRDFSLabel(df.getOWLLiteral("added"))),
+            df.getOWLSubClassOfAxiom(added, c3));
+        o.remove(asList(o.subClassAxiomsForSubClass(c3)));
+        o.add(df.getOWLSubClassOfAxiom(c3, df.getOWLObjectUnionOf(c6, added)));
+        assertEquals(translate(o), writeOBO(doc));
+        assertTrue(writeOBO(doc).contains("owl-axioms"));
+        assertSame(untouched, doc.getTermFrame("CARO:0000000"));
+        // alt_id
+        o.add(df.getDeprecatedOWLAnnotationAssertionAxiom(added.getIRI()),
+            df.getOWLAnnotationAssertionAxiom(df.getOWLAnnotationProperty(
+                Obo2OWLConstants.IRI_IAO_0000231), added.getIRI(),
+                Obo2OWLConstants.IRI_IAO_0000227),
+            df.getOWLAnnotationAssertionAxiom(
+                df.getOWLAnnotationProperty(Obo2OWLVocabulary.IRI_IAO_0100001.getIRI()),
+                added.getIRI(), df.getOWLLiteral("CARO:0000006")));
+        assertEquals(translate(o), writeOBO(doc));
+        assertTrue(writeOBO(doc).contains("alt_id: CARO:9000000"));
+        // property axioms translate the whole ontology
+        OWLObjectProperty p = df.getOWLObjectProperty(OBO, "RO_9000000");
+        o.add(df.getOWLDeclarationAxiom(p), df.getOWLTransitiveObjectPropertyAxiom(p));
+        assertEquals(translate(o), writeOBO(incremental.getObodoc()));
+        incremental.dispose();
+    }
+
+    @Test
+    public void shouldMatchCompleteTranslationAfterChanges() throws IOException {
+        check(convertOBOFile("caro.obo"), 1);
+    }
+
+    @Test
+    public void shouldMatchCompleteTranslationAfterChangesInParallel() throws IOException {
+        check(convertOBOFile("caro.obo"), 4);
+    }
+}
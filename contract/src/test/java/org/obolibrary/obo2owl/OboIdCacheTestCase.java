@@ -0,0 +1,96 @@
+package org.obolibrary.obo2owl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.OboFormatTestBasics;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+@SuppressWarnings("javadoc")
+public class OboIdCacheTestCase extends OboFormatTestBasics {
+
+    private static final List<String> IDS = Arrays.asList("GO:0000001", "GO:0000001",
+        "CARO:0000003", "X:foo_bar", "X:a/b", "X:", "owl:Thing", "xsd:string", "rdfs:label",
+        "owl:unknown", "http://example.org/x#y", "https://example.org/x", "urn:x:y");
+    private static final List<String> IRIS = Arrays.asList(
+        "http://purl.obolibrary.org/obo/GO_0000001", "http://purl.obolibrary.org/obo/X#_foo_bar",
+        "http://purl.obolibrary.org/obo/test#part_of", "http://www.w3.org/2002/07/owl#Thing",
+        "http://purl.obolibrary.org/obo/A_B_0001", "http://purl.obolibrary.org/obo/X_a%2Fb",
+        "http://example.org/x");
+
+    @Test
+    public void shouldMatchUncachedTranslation() {
+        OboIdCache cache = new OboIdCache(4);
+        OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(setupManager());
+        for (String id : IDS) {
+            assertEquals(id, bridge.loadOboToIRI(id), cache.getIRI(id));
+            assertEquals(id, bridge.loadOboToIRI(id), bridge.oboIdToIRI(id));
+        }
+        for (String iri : IRIS) {
+            IRI i = IRI.create(iri);
+            assertEquals(iri, OWLAPIOwl2Obo.loadIdentifier(i), cache.getIdentifier(i));
+            assertEquals(iri, OWLAPIOwl2Obo.loadIdentifier(i), OWLAPIOwl2Obo.getIdentifier(i));
+        }
+        assertSame(cache.getPrefix("GO_"), cache.getPrefix("GO_"));
+    }
+
+    @Test
+    public void shouldRecordHitsAcrossTranslators() {
+        OboIdCache cache = OboIdCache.getSharedCache();
+        IRI iri = new OWLAPIObo2Owl(setupManager()).oboIdToIRI("CACHE:0000001");
+        CacheStats iris = cache.getIRIStats();
+        assertEquals(iri, new OWLAPIObo2Owl(setupManager()).oboIdToIRI("CACHE:0000001"));
+        assertEquals(1, cache.getIRIStats().minus(iris).hitCount());
+        CacheStats ids = cache.getIdentifierStats();
+        assertEquals("CACHE:0000001", OWLAPIOwl2Obo.getIdentifier(iri));
+        assertEquals("CACHE:0000001", OWLAPIOwl2Obo.getIdentifier(iri));
+        CacheStats delta = cache.getIdentifierStats().minus(ids);
+        assertTrue(delta.hitCount() >= 1);
+        assertEquals(2, delta.requestCount());
+    }
+
+    @Test
+    public void shouldRejectSpaces() {
+        try {
+            new OboIdCache(4).getIRI("GO:000 0001");
+            fail();
+        } catch (UncheckedExecutionException e) {
+            assertTrue(e.getCause() instanceof OWLParserException);
+        }
+    }
+
+    @Test
+    public void shouldUseOverriddenTranslation() {
+        IRI fixed = IRI.create("urn:test:", "overridden");
+        OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(setupManager()) {
+
+            @Override
+            public IRI loadOboToIRI(String id) {
+                return fixed;
+            }
+        };
+        assertEquals(fixed, bridge.oboIdToIRI("GO:0000001"));
+        assertEquals(IRI.create("http://purl.obolibrary.org/obo/GO_0000001"),
+            new OWLAPIObo2Owl(setupManager()).oboIdToIRI("GO:0000001"));
+    }
+
+    @Test
+    public void shouldRejectSpacesInTranslator() {
+        try {
+            new OWLAPIObo2Owl(setupManager()).oboIdToIRI("GO:000 0001");
+            fail();
+        } catch (UncheckedExecutionException e) {
+            assertTrue(e.getCause() instanceof OWLParserException);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.obolibrary.obo2owl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.OboFormatTestBasics;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+@SuppressWarnings("javadoc")
+public class ParallelObo2OwlTestCase extends OboFormatTestBasics {
+
+    private static final List<String> FILES = Arrays.asList("caro.obo", "simplego.obo",
+        "alt_id_test.obo", "relationship_vs_property.obo", "treat_xrefs_test.obo",
+        "logical-definition-view-relation-test.obo", "testqvs.obo", "union_of_test.obo");
+
+    private static File file(String name) throws URISyntaxException {
+        return new File(ParallelObo2OwlTestCase.class.getResource("/obo/" + name).toURI());
+    }
+
+    private static Set<OWLAxiom> convert(File f, int workers) throws IOException, OWLException {
+        OWLOntologyManager manager = setupManager();
+        OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(manager);
+        bridge.setWorkers(workers);
+        OWLOntology o = bridge.convert(f.getAbsolutePath());
+        return asUnorderedSet(o.axioms());
+    }
+
+    private static Set<OWLAxiom> stream(File f, int workers) throws IOException, OWLException {
+        OWLOntologyManager manager = setupManager();
+        OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(manager);
+        bridge.setWorkers(workers);
+        return asUnorderedSet(bridge.convert(f, manager.createOntology()).axioms());
+    }
+
+    @Test
+    public void shouldMatchSequentialTranslation() throws Exception {
+        for (String name : FILES) {
+            Set<OWLAxiom> expected = convert(file(name), 1);
+            assertTrue(name, expected.size() > 1);
+            assertEquals(name, expected, convert(file(name), 4));
+        }
+    }
+
+    @Test
+    public void shouldMatchTranslationWhenStreaming() throws Exception {
+        for (String name : FILES) {
+            Set<OWLAxiom> expected = convert(file(name), 1);
+            assertEquals(name, expected, stream(file(name), 1));
+            assertEquals(name, expected, stream(file(name), 4));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.obolibrary.obo2owl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.OboFormatTestBasics;
+import org.obolibrary.oboformat.writer.OBOFormatWriter;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+@SuppressWarnings("javadoc")
+public class ParallelOwl2OboTestCase extends OboFormatTestBasics {
+
+    private static final List<String> OBO_FILES = Arrays.asList("caro.obo", "simplego.obo",
+        "alt_id_test.obo", "relationship_vs_property.obo", "gci_qualifier_test.obo",
+        "logical-definition-view-relation-test.obo", "testqvs.obo", "union_of_test.obo",
+        "equivtest.obo", "obsolete_term_test.obo");
+    private static final List<String> OWL_FILES =
+        Arrays.asList("untranslatable_axioms.owl", "untranslatable_axioms2.owl", "simple.owl");
+
+    private OWLOntology load(String name) throws OWLException {
+        return name.endsWith(".obo") ? convertOBOFile(name) : parseOWLFile(name);
+    }
+
+    private String write(String name, int workers) throws OWLException, IOException {
+        OWLAPIOwl2Obo bridge = new OWLAPIOwl2Obo(setupManager());
+        bridge.setWorkers(workers);
+        return writeOBO(bridge.convert(load(name)));
+    }
+
+    private String stream(String name, int workers) throws OWLException, IOException {
+        OWLAPIOwl2Obo bridge = new OWLAPIOwl2Obo(setupManager());
+        bridge.setWorkers(workers);
+        StringWriter writer = new StringWriter();
+        bridge.convert(load(name), new OBOFormatWriter(), writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void shouldMatchSequentialTranslation() throws Exception {
+        for (String name : OBO_FILES) {
+            String expected = write(name, 1);
+            assertTrue(name, expected.contains("[Term]"));
+            assertEquals(name, expected, write(name, 4));
+        }
+        for (String name : OWL_FILES) {
+            assertEquals(name, write(name, 1), write(name, 4));
+        }
+    }
+
+    @Test
+    public void shouldMatchTranslationWhenStreaming() throws Exception {
+        for (String name : OBO_FILES) {
+            String expected = write(name, 1);
+            assertEquals(name, expected, stream(name, 1));
+            assertEquals(name, expected, stream(name, 4));
+        }
+        String expected = write("untranslatable_axioms.owl", 1);
+        assertTrue(expected.contains("owl-axioms"));
+        assertEquals(expected, stream("untranslatable_axioms.owl", 4));
+    }
+}
@@ -0,0 +1,113 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.model.Clause;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.model.Xref;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.obolibrary.oboformat.parser.OBOFormatParserException;
+import org.obolibrary.oboformat.writer.OBOFormatWriter;
+
+@SuppressWarnings("javadoc")
+public class CompactOBODocTestCase extends OboFormatTestBasics {
+
+    private static final String DOCUMENT = "format-version: 1.2\nontology: test\n\n"
+        + "[Term]\nid: TEST:1\nname: one\nnamespace: test\n"
+        + "def: \"First.\" [GOC:a \"curator a\", PMID:1]\n"
+        + "xref: EXT:1 {source=\"GOC:a\"}\n\n"
+        + "[Term]\nid: TEST:2\nname: two\nnamespace: test\n"
+        + "def: \"Second.\" [GOC:a \"another curator\", PMID:1]\n"
+        + "xref: EXT:1 {source=\"GOC:a\"}\nis_a: TEST:1\n\n";
+
+    private static OBODoc parse(String document, boolean compact) throws IOException {
+        OBOFormatParser parser = new OBOFormatParser();
+        parser.setCompact(compact);
+        return parser.parse(new StringReader(document));
+    }
+
+    private static String write(String document, boolean compact) throws IOException {
+        try {
+            OBODoc doc = parse(document, compact);
+            OBOFormatWriter writer = new OBOFormatWriter();
+            writer.setCheckStructure(false);
+            StringWriter out = new StringWriter();
+            writer.write(doc, new PrintWriter(out));
+            return out.toString();
+        } catch (OBOFormatParserException e) {
+            return e.getLineNo() + " " + e.getMessage();
+        }
+    }
+
+    private static List<Clause> clauses(OBODoc doc) {
+        List<Clause> list = new ArrayList<>(doc.getHeaderFrame().getClauses());
+        doc.getTermFrames().forEach(f -> list.addAll(f.getClauses()));
+        doc.getTypedefFrames().forEach(f -> list.addAll(f.getClauses()));
+        return list;
+    }
+
+    @Test
+    public void shouldMatchParseOfTestFiles() throws IOException, URISyntaxException {
+        File[] files = new File(getClass().getResource("/obo/").toURI())
+            .listFiles((dir, name) -> name.endsWith(".obo"));
+        assertTrue(files.length > 10);
+        for (File f : files) {
+            String document = new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+            assertEquals(f.getName(), write(document, false), write(document, true));
+            try {
+                List<Clause> expected = clauses(parse(document, false));
+                assertEquals(f.getName(), expected, clauses(parse(document, true)));
+            } catch (OBOFormatParserException e) {
+                // invalid test documents are compared by their error messages above
+            }
+        }
+    }
+
+    @Test
+    public void shouldShareValuesAndKeepXrefAnnotations() throws IOException {
+        OBODoc doc = parse(DOCUMENT, true);
+        Frame one = doc.getTermFrame("TEST:1");
+        Frame two = doc.getTermFrame("TEST:2");
+        Clause ns1 = one.getClause(OboFormatTag.TAG_NAMESPACE);
+        Clause ns2 = two.getClause(OboFormatTag.TAG_NAMESPACE);
+        assertSame(ns1.getValues(), ns2.getValues());
+        assertSame(one.getClause(OboFormatTag.TAG_XREF).getQualifierValues(),
+            two.getClause(OboFormatTag.TAG_XREF).getQualifierValues());
+        Xref x1 = one.getClause(OboFormatTag.TAG_DEF).getXrefs().iterator().next();
+        Xref x2 = two.getClause(OboFormatTag.TAG_DEF).getXrefs().iterator().next();
+        assertEquals("curator a", x1.getAnnotation());
+        assertEquals("another curator", x2.getAnnotation());
+    }
+
+    @Test
+    public void shouldCopySharedValuesOnModification() throws IOException {
+        OBODoc doc = parse(DOCUMENT, true);
+        Frame one = doc.getTermFrame("TEST:1");
+        Frame two = doc.getTermFrame("TEST:2");
+        one.getClause(OboFormatTag.TAG_NAMESPACE).addValue("extra");
+        one.addClause(new Clause(OboFormatTag.TAG_COMMENT, "comment"));
+        assertEquals(1, two.getClause(OboFormatTag.TAG_NAMESPACE).getValues().size());
+        assertEquals(2, one.getClause(OboFormatTag.TAG_NAMESPACE).getValues().size());
+        assertEquals("comment", one.getTagValue(OboFormatTag.TAG_COMMENT));
+        two.getClause(OboFormatTag.TAG_NAMESPACE).setValue("other");
+        assertEquals("test", one.getClause(OboFormatTag.TAG_NAMESPACE).getValue());
+        doc.freezeFrames();
+        assertEquals("other", two.getTagValue(OboFormatTag.TAG_NAMESPACE));
+    }
+}
@@ -0,0 +1,63 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.diff.Diff;
+import org.obolibrary.oboformat.diff.OBODocDiffer;
+import org.obolibrary.oboformat.model.Clause;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.Frame.FrameType;
+import org.obolibrary.oboformat.model.FrameMergeException;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+
+@SuppressWarnings("javadoc")
+public class IndexedOBODocDifferTestCase extends OboFormatTestBasics {
+
+    private static List<String> strings(List<Diff> diffs) {
+        List<String> list = new ArrayList<>();
+        diffs.forEach(d -> list.add(d.toString()));
+        return list;
+    }
+
+    @Test
+    public void shouldMatchPairwiseDiff() {
+        OBODoc doc1 = parseOBOFile("caro.obo");
+        OBODoc doc2 = parseOBOFile("caro_modified.obo");
+        List<String> expected = strings(OBODocDiffer.getDiffs(doc1, doc2));
+        assertEquals(19, expected.size());
+        // the pairwise diff repeats the missing term frame; it is a typedef in caro_modified
+        expected.set(18, "cannot find frame Typedef Frame1=CARO:0001001 Frame2=- Clause1=- "
+            + "Clause2=- In=Frame2");
+        assertEquals(expected, strings(OBODocDiffer.getDiffs(doc1, doc2, 1)));
+        assertEquals(expected, strings(OBODocDiffer.getDiffs(doc1, doc2, 4)));
+        assertEquals(Collections.emptyList(),
+            OBODocDiffer.getDiffs(doc1, parseOBOFile("caro.obo"), 4));
+    }
+
+    @Test
+    public void shouldStreamDiffsInDocumentOrder() throws FrameMergeException {
+        OBODoc doc1 = parseOBOFile("caro.obo");
+        OBODoc doc2 = parseOBOFile("caro.obo");
+        Frame added = new Frame(FrameType.TERM);
+        added.setId("CARO:9999999");
+        added.addClause(new Clause(OboFormatTag.TAG_ID, "CARO:9999999"));
+        doc2.addFrame(added);
+        Frame changed = doc2.getTermFrame("CARO:0000003");
+        changed.addClause(new Clause(OboFormatTag.TAG_COMMENT, "changed"));
+        changed.getClause(OboFormatTag.TAG_NAME).setValue("renamed");
+        List<String> diffs = new ArrayList<>();
+        OBODocDiffer.diff(doc1, doc2, 4, d -> diffs.add(d.toString()));
+        assertEquals(4, diffs.size());
+        assertEquals(diffs.toString(), 3,
+            diffs.stream().filter(d -> d.contains("Frame1=CARO:0000003")).count());
+        assertEquals(
+            "cannot find frame Term Frame1=CARO:9999999 Frame2=- Clause1=- Clause2=- In=Frame2",
+            diffs.get(3));
+    }
+}
@@ -0,0 +1,123 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.model.Clause;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBODocScanner;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.obolibrary.oboformat.parser.XrefExpander;
+import org.obolibrary.oboformat.writer.OBOFormatWriter;
+
+@SuppressWarnings("javadoc")
+public class OBODocScannerTestCase extends OboFormatTestBasics {
+
+    private static final String IMPORTED = "format-version: 1.2\nontology: imported\n\n"
+        + "[Term]\nid: TEST:0\n\n[Typedef]\nid: part_of\n";
+    private static final String DOCUMENT = "format-version: 1.2\nontology: test\n\n"
+        + "[Term]\nid: TEST:1\nis_a: TEST:0\nis_a: TEST:2\nrelationship: part_of TEST:3\n"
+        + "relationship: has_part TEST:0\n\n"
+        + "[Typedef]\nid: has_part\nrange: TEST:4\ninverse_of: part_of\n";
+
+    private static OBODoc parse(String document) throws IOException {
+        OBODoc doc = new OBOFormatParser().parse(new StringReader(document));
+        doc.addImportedOBODoc(new OBOFormatParser().parse(new StringReader(IMPORTED)));
+        return doc;
+    }
+
+    private static List<String> scan(OBODoc doc, boolean followImport, int workers) {
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        OBODocScanner scanner = new OBODocScanner(doc, followImport);
+        scanner.setWorkers(workers);
+        scanner.scan(errors::add);
+        return errors;
+    }
+
+    private static String write(OBODoc doc) throws IOException {
+        // frames created by xref expansion have no id clause
+        OBOFormatWriter writer = new OBOFormatWriter();
+        writer.setCheckStructure(false);
+        StringWriter out = new StringWriter();
+        writer.write(doc, new PrintWriter(out));
+        return out.toString();
+    }
+
+    private static String error(String id, String tag, String frame) {
+        return "The class '" + id + "' reference in the tag '" + tag + " ' in the frame of id '"
+            + frame + "'is not declared";
+    }
+
+    @Test
+    public void shouldReportEveryDanglingReference() throws IOException {
+        OBODoc doc = parse(DOCUMENT);
+        List<String> errors = scan(doc, true, 1);
+        assertEquals(Arrays.asList(error("TEST:2", "is_a", "TEST:1"),
+            error("TEST:3", "relationship", "TEST:1"), error("TEST:4", "range", "has_part")),
+            errors);
+        OBOFormatParser parser = new OBOFormatParser();
+        parser.setFollowImports(true);
+        assertEquals(errors, parser.checkAllDanglingReferences(doc));
+        assertEquals(new HashSet<>(errors), new HashSet<>(scan(doc, true, 4)));
+        List<String> local = scan(doc, false, 1);
+        assertEquals(7, local.size());
+        assertEquals(new HashSet<>(local), new HashSet<>(scan(doc, false, 4)));
+    }
+
+    @Test
+    public void shouldCheckFirstClauseOfEachTagThroughHooks() throws IOException {
+        OBODoc doc = parse(DOCUMENT);
+        OBOFormatParser parser = new OBOFormatParser();
+        parser.setFollowImports(true);
+        assertEquals(Arrays.asList(error("TEST:3", "relationship", "TEST:1"),
+            error("TEST:4", "range", "has_part")), parser.checkDanglingReferences(doc));
+        List<String> tags = new ArrayList<>();
+        OBOFormatParser subclass = new OBOFormatParser() {
+
+            @Override
+            protected void validate(OBODoc d, List<String> danglingReferences, Frame f,
+                String tag, @Nullable OboFormatTag tagconstant, @Nullable Clause c) {
+                tags.add(tag);
+            }
+        };
+        subclass.setFollowImports(true);
+        assertEquals(Arrays.asList(error("TEST:4", "range", "has_part")),
+            subclass.checkDanglingReferences(doc));
+        assertTrue(tags.toString(), tags.containsAll(Arrays.asList("is_a", "relationship")));
+    }
+
+    @Test
+    public void shouldExpandXrefsInTheSamePass() throws IOException {
+        OBODoc expected = parseOBOFile("treat_xrefs_test.obo");
+        new XrefExpander(expected).expandXrefs();
+        for (int workers : new int[] {1, 4}) {
+            OBODoc doc = parseOBOFile("treat_xrefs_test.obo");
+            OBODocScanner scanner = new OBODocScanner(doc, true);
+            scanner.setXrefExpander(new XrefExpander(doc));
+            scanner.setWorkers(workers);
+            scanner.scan(s -> {
+                // only the expansion is compared
+            });
+            OBODoc target = doc.getImportedOBODocs().iterator().next();
+            assertTrue(!target.getTermFrames().isEmpty());
+            assertEquals(write(expected.getImportedOBODocs().iterator().next()),
+                write(target));
+            assertEquals(write(expected), write(doc));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.obolibrary.macro.MacroExpansionVisitor;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+@SuppressWarnings("javadoc")
+public class ParallelMacroExpansionTestCase extends OboFormatTestBasics {
+
+    private Set<OWLAxiom> expand(String file, int workers) {
+        OWLOntology ontology = convert(parseOBOFile(file));
+        return asUnorderedSet(
+            new MacroExpansionVisitor(ontology, true, true).expandAll(workers).axioms());
+    }
+
+    @Test
+    public void shouldMatchSequentialExpansion() {
+        for (String file : new String[] {"no_overlap.obo", "annotated_no_overlap.obo"}) {
+            Set<OWLAxiom> expected = expand(file, 1);
+            assertEquals(file, expected, expand(file, 4));
+            assertFalse(file, expected.equals(
+                asUnorderedSet(convert(parseOBOFile(file)).axioms())));
+        }
+    }
+
+    @Test
+    public void shouldExpandIntoAnotherOntology() {
+        OWLOntology ontology = convert(parseOBOFile("no_overlap.obo"));
+        Set<OWLAxiom> before = asUnorderedSet(ontology.axioms());
+        OWLOntology target = getOWLOntology();
+        new MacroExpansionVisitor(ontology, true, true).expandInto(target, 4);
+        assertEquals(before, asUnorderedSet(ontology.axioms()));
+        Set<OWLAxiom> added = new HashSet<>(expand("no_overlap.obo", 1));
+        added.removeAll(before);
+        assertTrue(target.getAxiomCount() > 0);
+        assertTrue(asUnorderedSet(target.axioms()).containsAll(added));
+        assertFalse(asUnorderedSet(target.axioms()).containsAll(before));
+    }
+}
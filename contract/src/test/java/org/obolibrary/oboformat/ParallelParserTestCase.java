@@ -0,0 +1,83 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.obolibrary.oboformat.parser.OBOFormatParserException;
+import org.obolibrary.oboformat.writer.OBOFormatWriter;
+
+@SuppressWarnings("javadoc")
+public class ParallelParserTestCase extends OboFormatTestBasics {
+
+    private static String parse(String document, int workers) throws IOException {
+        OBOFormatParser parser = new OBOFormatParser();
+        parser.setWorkers(workers);
+        try {
+            OBODoc doc = parser.parse(new StringReader(document));
+            OBOFormatWriter writer = new OBOFormatWriter();
+            writer.setCheckStructure(false);
+            StringWriter out = new StringWriter();
+            writer.write(doc, new PrintWriter(out));
+            return out.toString();
+        } catch (OBOFormatParserException e) {
+            return e.getLineNo() + " " + e.getMessage();
+        }
+    }
+
+    @Test
+    public void shouldMatchSequentialParseOfTestFiles() throws IOException, URISyntaxException {
+        File[] files = new File(getClass().getResource("/obo/").toURI())
+            .listFiles((dir, name) -> name.endsWith(".obo"));
+        assertTrue(files.length > 10);
+        for (File f : files) {
+            String document = new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+            assertEquals(f.getName(), parse(document, 1), parse(document, 4));
+        }
+    }
+
+    private static String terms(int count) {
+        StringBuilder b = new StringBuilder("format-version: 1.2\nontology: test\n\n");
+        for (int i = 0; i < count; i++) {
+            b.append("[Term]\nid: TEST:").append(i).append("\nname: term ").append(i)
+                .append("\nis_a: TEST:").append(i / 2).append("\n\n");
+        }
+        return b.toString();
+    }
+
+    @Test
+    public void shouldMergeDuplicateFramesAcrossBatches() throws IOException {
+        String document = terms(100) + "[Term]\nid: TEST:1\nsynonym: \"one\" EXACT []\n";
+        OBOFormatParser parser = new OBOFormatParser();
+        parser.setWorkers(4);
+        Frame f = parser.parse(new StringReader(document)).getTermFrame("TEST:1");
+        assertEquals(5, f.getClauses().size());
+        assertEquals(parse(document, 1), parse(document, 4));
+    }
+
+    @Test
+    public void shouldReportErrorLine() throws IOException {
+        String document = terms(100).replace("name: term 50\n", "name: term 50\nno separator\n");
+        String error = parse(document, 4);
+        assertEquals(parse(document, 1), error);
+        assertTrue(error, error.startsWith("257 "));
+    }
+
+    @Test
+    public void shouldSplitTabIndentedStanzasLikeSequentialParse() throws IOException {
+        String document = terms(100).replace("[Term]\nid: TEST:50\n", "\t [Term]\nid: TEST:50\n");
+        assertEquals(parse(document, 1), parse(document, 4));
+    }
+}
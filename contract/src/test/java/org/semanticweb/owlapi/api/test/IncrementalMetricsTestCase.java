@@ -0,0 +1,127 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.metrics.AxiomCount;
+import org.semanticweb.owlapi.metrics.AxiomTypeMetric;
+import org.semanticweb.owlapi.metrics.DLExpressivity;
+import org.semanticweb.owlapi.metrics.GCICount;
+import org.semanticweb.owlapi.metrics.LogicalAxiomCount;
+import org.semanticweb.owlapi.metrics.OWLMetric;
+import org.semanticweb.owlapi.metrics.ReferencedClassCount;
+import org.semanticweb.owlapi.metrics.ReferencedDataPropertyCount;
+import org.semanticweb.owlapi.metrics.ReferencedIndividualCount;
+import org.semanticweb.owlapi.metrics.ReferencedObjectPropertyCount;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapitools.decomposition.test.OldModularisationEquivalenceTestCase;
+
+@SuppressWarnings("javadoc")
+public class IncrementalMetricsTestCase extends TestBase {
+
+    private static final String NS =
+        "http://protege.stanford.edu/plugins/owl/owl-library/koala.owl#";
+    private static final List<Function<OWLOntology, OWLMetric<?>>> METRICS =
+        Arrays.asList(AxiomCount::new, LogicalAxiomCount::new, GCICount::new,
+            o -> new AxiomTypeMetric(o, AxiomType.SUBCLASS_OF), ReferencedClassCount::new,
+            ReferencedObjectPropertyCount::new, ReferencedDataPropertyCount::new,
+            ReferencedIndividualCount::new, DLExpressivity::new);
+
+    private OWLOntology koala() throws OWLException {
+        return m.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(OldModularisationEquivalenceTestCase.KOALA));
+    }
+
+    private static OWLClass c(String name) {
+        return df.getOWLClass(NS, name);
+    }
+
+    private static List<OWLOntologyChange> edits(OWLOntology o) {
+        OWLObjectProperty p = df.getOWLObjectProperty(NS, "hasParent");
+        OWLObjectProperty q = df.getOWLObjectProperty(NS, "hasChild");
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        // remove every axiom mentioning Quokka, so the class leaves the signature
+        o.referencingAxioms(c("Quokka")).forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        changes.add(new AddAxiom(o,
+            df.getOWLSubClassOfAxiom(df.getOWLObjectSomeValuesFrom(p, c("Koala")), c("Animal"))));
+        changes.add(new AddAxiom(o, df.getOWLInverseObjectPropertiesAxiom(p, q)));
+        changes.add(new AddAxiom(o,
+            df.getOWLSubPropertyChainOfAxiom(Arrays.asList(p, p), df.getOWLObjectProperty(NS,
+                "hasAncestor"))));
+        changes.add(new AddAxiom(o, df.getOWLClassAssertionAxiom(c("Koala"),
+            df.getOWLNamedIndividual(NS, "Bluey"))));
+        return changes;
+    }
+
+    private static void assertSameValues(List<OWLMetric<?>> metrics, OWLOntology o,
+        boolean importsClosure) {
+        for (int i = 0; i < metrics.size(); i++) {
+            OWLMetric<?> fresh = METRICS.get(i).apply(o);
+            fresh.setImportsClosureUsed(importsClosure);
+            assertEquals(fresh.getName(), fresh.getValue(), metrics.get(i).getValue());
+            fresh.dispose();
+        }
+    }
+
+    private static List<OWLMetric<?>> metrics(OWLOntology o, boolean importsClosure) {
+        List<OWLMetric<?>> metrics = new ArrayList<>();
+        for (Function<OWLOntology, OWLMetric<?>> f : METRICS) {
+            OWLMetric<?> metric = f.apply(o);
+            metric.setImportsClosureUsed(importsClosure);
+            metric.getValue();
+            metrics.add(metric);
+        }
+        return metrics;
+    }
+
+    @Test
+    public void shouldUpdateMetricsFromChanges() throws OWLException {
+        OWLOntology o = koala();
+        List<OWLMetric<?>> metrics = metrics(o, false);
+        String expressivity = metrics.get(metrics.size() - 1).getValue().toString();
+        List<OWLOntologyChange> changes = edits(o);
+        m.applyChanges(changes);
+        assertSameValues(metrics, o, false);
+        assertEquals(Integer.valueOf((int) o.classesInSignature().count()),
+            metrics.get(4).getValue());
+        // undo the changes, in reverse order
+        List<OWLOntologyChange> reverse = new ArrayList<>();
+        changes.forEach(change -> reverse.add(0, change.reverseChange()));
+        m.applyChanges(reverse);
+        assertSameValues(metrics, o, false);
+        assertEquals(expressivity, metrics.get(metrics.size() - 1).getValue());
+    }
+
+    @Test
+    public void shouldUpdateMetricsOverImportsClosure() throws OWLException {
+        OWLOntology imported = koala();
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddImport(o, df.getOWLImportsDeclaration(
+            imported.getOntologyID().getOntologyIRI().get())));
+        // an axiom in both ontologies is counted once by the object counts
+        OWLAxiom shared = imported.subClassAxiomsForSubClass(c("Koala")).findFirst().get();
+        m.addAxiom(o, shared);
+        List<OWLMetric<?>> metrics = metrics(o, true);
+        m.applyChanges(edits(imported));
+        m.removeAxiom(imported, shared);
+        assertSameValues(metrics, o, true);
+        m.removeAxiom(o, shared);
+        assertSameValues(metrics, o, true);
+    }
+}
@@ -0,0 +1,124 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.metrics.AxiomCount;
+import org.semanticweb.owlapi.metrics.AxiomTypeMetric;
+import org.semanticweb.owlapi.metrics.DLExpressivity;
+import org.semanticweb.owlapi.metrics.GCICount;
+import org.semanticweb.owlapi.metrics.HiddenGCICount;
+import org.semanticweb.owlapi.metrics.LogicalAxiomCount;
+import org.semanticweb.owlapi.metrics.OWLMetric;
+import org.semanticweb.owlapi.metrics.OntologyAnalyser;
+import org.semanticweb.owlapi.metrics.OntologyReport;
+import org.semanticweb.owlapi.metrics.ReferencedClassCount;
+import org.semanticweb.owlapi.metrics.ReferencedIndividualCount;
+import org.semanticweb.owlapi.metrics.ReferencedObjectPropertyCount;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.profiles.OWLProfile;
+import org.semanticweb.owlapi.profiles.OWLProfileReport;
+import org.semanticweb.owlapi.profiles.Profiles;
+import org.semanticweb.owlapi.profiles.violations.UseOfNonSimplePropertyInCardinalityRestriction;
+import org.semanticweb.owlapitools.decomposition.test.OldModularisationEquivalenceTestCase;
+
+@SuppressWarnings("javadoc")
+public class OntologyAnalyserTestCase extends TestBase {
+
+    private static final String NS =
+        "http://protege.stanford.edu/plugins/owl/owl-library/koala.owl#";
+
+    private OWLOntology ontology() throws OWLException {
+        OWLOntology koala = m.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(OldModularisationEquivalenceTestCase.KOALA));
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddImport(o,
+            df.getOWLImportsDeclaration(koala.getOntologyID().getOntologyIRI().get())));
+        // some violations in the importing ontology: undeclared and non simple properties
+        OWLObjectProperty p = df.getOWLObjectProperty(NS, "hasAncestor");
+        o.add(df.getOWLTransitiveObjectPropertyAxiom(p),
+            df.getOWLSubClassOfAxiom(df.getOWLClass(NS, "Koala"),
+                df.getOWLObjectMaxCardinality(1, p)),
+            df.getOWLSubClassOfAxiom(df.getOWLObjectUnionOf(df.getOWLClass(NS, "Koala"),
+                df.getOWLClass(IRI.create("urn:test:Wombat"))), df.getOWLClass(NS, "Animal")));
+        return o;
+    }
+
+    private static List<OWLMetric<?>> metrics(OWLOntology o, boolean importsClosure) {
+        List<OWLMetric<?>> metrics = Arrays.asList(new AxiomCount(o), new LogicalAxiomCount(o),
+            new GCICount(o), new AxiomTypeMetric(o, AxiomType.SUBCLASS_OF),
+            new ReferencedClassCount(o), new ReferencedObjectPropertyCount(o),
+            new ReferencedIndividualCount(o), new DLExpressivity(o), new HiddenGCICount(o));
+        metrics.forEach(metric -> metric.setImportsClosureUsed(importsClosure));
+        return metrics;
+    }
+
+    private static Set<String> violations(OWLProfileReport report) {
+        // violations do not implement equals()
+        return asUnorderedSet(report.getViolations().stream().map(Object::toString));
+    }
+
+    private void assertSameResults(int workers, boolean importsClosure) throws OWLException {
+        OWLOntology o = ontology();
+        List<OWLMetric<?>> metrics = metrics(o, importsClosure);
+        List<OWLProfile> profiles = Arrays.asList(Profiles.values());
+        OntologyReport report = new OntologyAnalyser(metrics, profiles).analyse(o, workers);
+        for (OWLMetric<?> metric : metrics) {
+            assertEquals(metric.getName(), metric.getValue(), report.getValue(metric));
+        }
+        for (OWLProfile profile : profiles) {
+            assertEquals(profile.getName(), violations(profile.checkOntology(o)),
+                violations(report.getReport(profile)));
+        }
+        assertFalse(report.getReport(Profiles.OWL2_DL).isInProfile());
+    }
+
+    @Test
+    public void shouldMatchSequentialResults() throws OWLException {
+        assertSameResults(1, false);
+    }
+
+    @Test
+    public void shouldMatchSequentialResultsInParallel() throws OWLException {
+        assertSameResults(4, false);
+    }
+
+    @Test
+    public void shouldMatchSequentialResultsOverImportsClosure() throws OWLException {
+        assertSameResults(4, true);
+    }
+
+    @Test
+    public void shouldFindPropertiesMadeNonSimpleByImportingOntology() {
+        OWLObjectProperty p = df.getOWLObjectProperty(NS, "p");
+        OWLClass c = df.getOWLClass(NS, "C");
+        OWLOntology imported = getOWLOntology();
+        imported.add(df.getOWLDeclarationAxiom(p), df.getOWLDeclarationAxiom(c),
+            df.getOWLSubClassOfAxiom(c, df.getOWLObjectMinCardinality(1, p)));
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddImport(o,
+            df.getOWLImportsDeclaration(imported.getOntologyID().getOntologyIRI().get())));
+        o.add(df.getOWLTransitiveObjectPropertyAxiom(p));
+        List<OWLProfile> profiles = Arrays.asList(Profiles.OWL2_DL);
+        OntologyAnalyser analyser = new OntologyAnalyser(Arrays.asList(), profiles);
+        OWLProfileReport report = analyser.analyse(o, 4).getReport(Profiles.OWL2_DL);
+        assertTrue(report.getViolations().stream()
+            .anyMatch(v -> v instanceof UseOfNonSimplePropertyInCardinalityRestriction));
+        assertEquals(violations(Profiles.OWL2_DL.checkOntology(o)), violations(report));
+    }
+}
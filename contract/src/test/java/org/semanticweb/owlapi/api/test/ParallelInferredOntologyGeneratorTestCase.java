@@ -0,0 +1,37 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+import org.semanticweb.owlapi.util.InferredOntologyGenerator;
+import org.semanticweb.owlapitools.decomposition.test.OldModularisationEquivalenceTestCase;
+
+@SuppressWarnings("javadoc")
+public class ParallelInferredOntologyGeneratorTestCase extends TestBase {
+
+    @Test
+    public void shouldMatchSequentialGeneration() throws OWLException {
+        OWLOntology koala = m.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(OldModularisationEquivalenceTestCase.KOALA));
+        OWLReasoner reasoner = new StructuralReasonerFactory().createReasoner(koala);
+        reasoner.precomputeInferences(InferenceType.values());
+        InferredOntologyGenerator generator = new InferredOntologyGenerator(reasoner);
+        OWLOntology sequential = getOWLOntology();
+        generator.fillOntology(df, sequential);
+        OWLOntology parallel = getOWLOntology();
+        generator.fillOntology(df, parallel, 4);
+        assertTrue(sequential.getAxiomCount(AxiomType.SUBCLASS_OF) > 0);
+        assertTrue(sequential.getAxiomCount(AxiomType.CLASS_ASSERTION) > 0);
+        assertEquals(asUnorderedSet(sequential.axioms()), asUnorderedSet(parallel.axioms()));
+    }
+}
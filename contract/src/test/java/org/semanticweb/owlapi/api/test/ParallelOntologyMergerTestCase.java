@@ -0,0 +1,83 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.OWLOntologyMerger;
+import org.semanticweb.owlapi.util.ProgressMonitor;
+
+@SuppressWarnings("javadoc")
+public class ParallelOntologyMergerTestCase extends TestBase {
+
+    private static final String NS = "urn:test:merge#";
+    private static final IRI MERGED = IRI.create(NS, "merged");
+
+    private void sources() {
+        for (int i = 0; i < 10; i++) {
+            OWLOntology o = getOWLOntology();
+            for (int j = 0; j < 50; j++) {
+                // consecutive ontologies share half of their declarations
+                OWLClass c = df.getOWLClass(NS, "C" + (i * 25 + j));
+                o.add(df.getOWLDeclarationAxiom(c),
+                    df.getOWLSubClassOfAxiom(c, df.getOWLClass(NS, "D" + j)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldMatchSequentialMerge() throws OWLException {
+        sources();
+        OWLOntology expected = new OWLOntologyMerger(m).createMergedOntology(m, null);
+        AtomicLong size = new AtomicLong();
+        AtomicLong progress = new AtomicLong();
+        Thread caller = Thread.currentThread();
+        OWLOntology actual = new OWLOntologyMerger(m).createMergedOntology(m, MERGED, 4,
+            new ProgressMonitor() {
+
+                @Override
+                public void setSize(long s) {
+                    size.set(s);
+                }
+
+                @Override
+                public void setProgress(long p) {
+                    // monitors need not be thread safe: progress comes from the calling thread
+                    assertSame(caller, Thread.currentThread());
+                    assertEquals(progress.get() + 1, p);
+                    progress.set(p);
+                }
+            });
+        assertEquals(asUnorderedSet(expected.axioms()), asUnorderedSet(actual.axioms()));
+        assertEquals(10 * 50 + 10 * 25 + 25, actual.getAxiomCount());
+        // the sequentially merged ontology is a source for the parallel merge
+        assertEquals(11, size.get());
+        assertEquals(11, progress.get());
+    }
+
+    @Test(expected = OWLRuntimeException.class)
+    public void shouldStopWhenCancelled() throws OWLException {
+        sources();
+        try {
+            new OWLOntologyMerger(m).createMergedOntology(m, MERGED, 2, new ProgressMonitor() {
+
+                @Override
+                public boolean isCancelled() {
+                    return true;
+                }
+            });
+        } finally {
+            assertFalse(m.contains(MERGED));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.WorkerPool;
+
+@SuppressWarnings("javadoc")
+public class WorkerPoolTestCase {
+
+    private static final List<Integer> INPUTS =
+        IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+    @Test
+    public void shouldSplitInContiguousSlices() {
+        List<List<Integer>> slices = WorkerPool.split(INPUTS, 7);
+        assertEquals(7, slices.size());
+        List<Integer> joined = new ArrayList<>();
+        slices.forEach(joined::addAll);
+        assertEquals(INPUTS, joined);
+        slices.forEach(s -> assertTrue(s.size() == 14 || s.size() == 15));
+        assertEquals(3, WorkerPool.split(INPUTS.subList(0, 3), 7).size());
+        assertTrue(WorkerPool.split(Collections.emptyList(), 7).isEmpty());
+        try (WorkerPool pool = new WorkerPool(2)) {
+            assertEquals(2 * WorkerPool.TASKS_PER_WORKER, pool.split(INPUTS).size());
+        }
+    }
+
+    @Test
+    public void shouldReturnResultsInOrder() {
+        List<Integer> expected = INPUTS.stream().map(i -> Integer.valueOf(i.intValue() * 2))
+            .collect(Collectors.toList());
+        for (int workers : new int[] {1, 4}) {
+            try (WorkerPool pool = new WorkerPool(workers)) {
+                assertEquals(workers > 1, pool.isParallel());
+                assertEquals(expected, pool.map(INPUTS, i -> Integer.valueOf(i.intValue() * 2)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldRethrowTaskExceptions() {
+        IllegalStateException failure = new IllegalStateException("failed");
+        List<Callable<Object>> failing = Arrays.asList(() -> "ok", () -> {
+            throw failure;
+        });
+        List<Callable<Object>> checked = Collections.singletonList(() -> {
+            throw new IOException("checked");
+        });
+        for (int workers : new int[] {1, 4}) {
+            try (WorkerPool pool = new WorkerPool(workers)) {
+                try {
+                    pool.invokeAll(failing);
+                    fail();
+                } catch (IllegalStateException e) {
+                    assertSame(failure, e);
+                }
+                try {
+                    pool.invokeAll(checked);
+                    fail();
+                } catch (OWLRuntimeException e) {
+                    assertTrue(e.getCause() instanceof IOException);
+                }
+            }
+        }
+    }
+
+    private static void sleepIgnoringInterrupts(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < end) {
+            try {
+                Thread.sleep(10);
+            } catch (@SuppressWarnings("unused") InterruptedException e) {
+                // keep running, like a task that does not check for interruptions
+            }
+        }
+    }
+
+    @Test
+    public void shouldWaitForRunningTasksBeforeRethrowing() {
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch slowStarted = new CountDownLatch(3);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            slowStarted.await();
+            throw new IllegalStateException("failed");
+        });
+        for (int i = 0; i < 3; i++) {
+            tasks.add(() -> {
+                started.incrementAndGet();
+                running.incrementAndGet();
+                slowStarted.countDown();
+                try {
+                    sleepIgnoringInterrupts(200);
+                } finally {
+                    running.decrementAndGet();
+                }
+                return "slow";
+            });
+        }
+        for (int i = 0; i < 100; i++) {
+            tasks.add(() -> Integer.valueOf(started.incrementAndGet()));
+        }
+        try (WorkerPool pool = new WorkerPool(4)) {
+            try {
+                pool.invokeAll(tasks);
+                fail();
+            } catch (@SuppressWarnings("unused") IllegalStateException e) {
+                assertEquals(0, running.get());
+            }
+            int startedBeforeReturn = started.get();
+            sleepIgnoringInterrupts(50);
+            assertEquals(startedBeforeReturn, started.get());
+        }
+    }
+
+    @Test
+    public void shouldNotShutDownSuppliedExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            try (WorkerPool pool = new WorkerPool(executor, 2)) {
+                pool.runOnEachWorker(() -> {
+                    // nothing to do
+                });
+            }
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -12,15 +12,18 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.api.test.annotations;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnnotationProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.contains;
 
 import org.junit.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -51,4 +54,27 @@ public class GetAxiomsIgnoringAnnotationsTestCase extends TestBase {
         assertFalse(contains(
             ont.axiomsIgnoreAnnotations(noAnnotations), noAnnotations));
     }
+
+    @Test
+    public void shouldKeepIndexUpToDate() {
+        OWLAnnotationProperty annoProp = AnnotationProperty(iri("annoProp"));
+        OWLAxiom plain = df.getOWLSubClassOfAxiom(Class(iri("A")), Class(iri("B")));
+        OWLAxiom first = plain.getAnnotatedAxiom(
+            singleton(df.getOWLAnnotation(annoProp, Literal("first"))));
+        OWLAxiom second = plain.getAnnotatedAxiom(
+            singleton(df.getOWLAnnotation(annoProp, Literal("second"))));
+        OWLOntology ont = getOWLOntology();
+        // axioms added before and after the index is first used
+        ont.add(first);
+        assertTrue(ont.containsAxiomIgnoreAnnotations(plain));
+        ont.add(second);
+        assertEquals(asUnorderedSet(ont.axiomsIgnoreAnnotations(plain)),
+            asUnorderedSet(ont.axioms(AxiomType.SUBCLASS_OF).map(OWLAxiom.class::cast)));
+        ont.remove(first);
+        assertTrue(ont.containsAxiomIgnoreAnnotations(first));
+        assertEquals(singleton(second), asUnorderedSet(ont.axiomsIgnoreAnnotations(first)));
+        ont.remove(second);
+        assertFalse(ont.containsAxiomIgnoreAnnotations(plain));
+        assertFalse(ont.axiomsIgnoreAnnotations(plain).findAny().isPresent());
+    }
 }
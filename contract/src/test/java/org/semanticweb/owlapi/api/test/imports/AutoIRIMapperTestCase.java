@@ -1,6 +1,14 @@
 package org.semanticweb.owlapi.api.test.imports;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.junit.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
@@ -17,4 +25,92 @@ public class AutoIRIMapperTestCase extends TestBase {
         assert documentIRI != null;
         assertTrue(documentIRI.toString().endsWith("/urntestontology.xml"));
     }
+
+    private static File write(File dir, String name, String content) throws IOException {
+        File f = new File(dir, name);
+        f.getParentFile().mkdirs();
+        Files.write(f.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return f;
+    }
+
+    private static File functional(File dir, String name, String iri) throws IOException {
+        return write(dir, name, "Ontology(<" + iri + ">\n)");
+    }
+
+    @Test
+    public void shouldScanInParallel() throws IOException {
+        File root = folder.newFolder();
+        for (int i = 0; i < 20; i++) {
+            functional(root, "sub" + i % 3 + "/o" + i + ".ofn", "urn:test:o" + i);
+        }
+        write(root, "m.omn", "Prefix: : <urn:test:>\nOntology: <urn:test:m>\n");
+        write(root, "x.owl", "<?xml version=\"1.0\"?>\n"
+            + "<Ontology xmlns=\"http://www.w3.org/2002/07/owl#\" ontologyIRI=\"urn:test:x\"/>");
+        AutoIRIMapper mapper = new AutoIRIMapper(root, true);
+        mapper.setWorkers(4);
+        assertEquals(22, mapper.getOntologyIRIs().size());
+        assertEquals(IRI.create(new File(root, "sub1/o4.ofn")),
+            mapper.getDocumentIRI(IRI.create("urn:test:o4")));
+        assertEquals(IRI.create(new File(root, "x.owl")),
+            mapper.getDocumentIRI(IRI.create("urn:test:x")));
+        AutoIRIMapper flat = new AutoIRIMapper(root, false);
+        flat.setWorkers(4);
+        assertEquals(2, flat.getOntologyIRIs().size());
+    }
+
+    @Test
+    public void shouldReuseCachedResultsForUnchangedFiles() throws IOException {
+        File root = folder.newFolder();
+        File cache = new File(folder.newFolder(), "mapper.cache");
+        File a = functional(root, "a.ofn", "urn:test:a");
+        File b = functional(root, "b.ofn", "urn:test:b");
+        AutoIRIMapper mapper = new AutoIRIMapper(root, true);
+        mapper.setCacheFile(cache);
+        mapper.update();
+        assertTrue(cache.exists());
+        // same size and modification time: the cached IRI is used without opening the file
+        long time = a.lastModified();
+        functional(root, "a.ofn", "urn:test:A");
+        assertTrue(a.setLastModified(time));
+        // changed size: the file is scanned again
+        functional(root, "b.ofn", "urn:test:bb");
+        AutoIRIMapper cached = new AutoIRIMapper(root, true);
+        cached.setCacheFile(cache);
+        assertEquals(IRI.create(a), cached.getDocumentIRI(IRI.create("urn:test:a")));
+        assertNull(cached.getDocumentIRI(IRI.create("urn:test:b")));
+        assertEquals(IRI.create(b), cached.getDocumentIRI(IRI.create("urn:test:bb")));
+        // without the cache, the current content is used
+        AutoIRIMapper fresh = new AutoIRIMapper(root, true);
+        assertEquals(IRI.create(a), fresh.getDocumentIRI(IRI.create("urn:test:A")));
+    }
+
+    private static boolean link(File link, File target) {
+        try {
+            Files.createSymbolicLink(link.toPath(), target.toPath());
+            return true;
+        } catch (@SuppressWarnings("unused") IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void shouldFollowSymbolicLinks() throws IOException {
+        File root = folder.newFolder();
+        File elsewhere = folder.newFolder();
+        functional(elsewhere, "sub/linked.ofn", "urn:test:linked");
+        functional(root, "a.ofn", "urn:test:a");
+        write(root, "notes.txt", "Ontology(<urn:test:notes>\n)");
+        assumeTrue(link(new File(root, "link"), elsewhere));
+        // a link back to the root is visited once, not followed forever
+        assumeTrue(link(new File(elsewhere, "back"), root));
+        AutoIRIMapper mapper = new AutoIRIMapper(root, true);
+        mapper.setWorkers(2);
+        assertEquals(IRI.create(new File(root, "link/sub/linked.ofn")),
+            mapper.getDocumentIRI(IRI.create("urn:test:linked")));
+        assertEquals(IRI.create(new File(root, "a.ofn")),
+            mapper.getDocumentIRI(IRI.create("urn:test:a")));
+        // files with unsupported extensions are not opened
+        assertNull(mapper.getDocumentIRI(IRI.create("urn:test:notes")));
+        assertEquals(2, mapper.getOntologyIRIs().size());
+    }
 }
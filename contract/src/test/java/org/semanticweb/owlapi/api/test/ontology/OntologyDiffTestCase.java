@@ -0,0 +1,133 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLOntologyDiffTool;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.OWLEntityRenamer;
+import org.semanticweb.owlapi.util.OWLOntologyDiff;
+import org.semanticweb.owlapi.util.OWLOntologyDiffer;
+import org.semanticweb.owlapitools.decomposition.test.OldModularisationEquivalenceTestCase;
+
+@SuppressWarnings("javadoc")
+public class OntologyDiffTestCase extends TestBase {
+
+    private static final String NS =
+        "http://protege.stanford.edu/plugins/owl/owl-library/koala.owl#";
+    private final OWLAxiom added = df.getOWLSubClassOfAxiom(c("Wombat"), c("Marsupials"));
+    private final OWLAxiom removed = df.getOWLSubClassOfAxiom(c("Koala"), c("Marsupials"));
+    private final OWLAxiom annotated = df.getOWLSubClassOfAxiom(c("GraduateStudent"), c("Student"));
+
+    private static OWLClass c(String name) {
+        return df.getOWLClass(NS, name);
+    }
+
+    private OWLOntology koala() throws OWLException {
+        return m.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(OldModularisationEquivalenceTestCase.KOALA));
+    }
+
+    private OWLOntology newer(OWLOntology older) {
+        OWLOntology o = getOWLOntology();
+        o.add(asUnorderedSet(older.axioms()));
+        o.remove(removed);
+        o.remove(annotated);
+        o.add(added);
+        OWLAxiom reannotated = annotated.getAnnotatedAxiom(
+            Collections.singletonList(df.getRDFSComment(df.getOWLLiteral("changed", "en"))));
+        o.add(reannotated);
+        m.applyChanges(new OWLEntityRenamer(m, Collections.singleton(o))
+            .changeIRI(c("Quokka"), IRI.create(NS, "ShortTailedWallaby")));
+        return o;
+    }
+
+    private void assertDiff(int workers) throws OWLException {
+        OWLOntology older = koala();
+        assertTrue(older.containsAxiom(removed));
+        assertTrue(older.containsAxiom(annotated));
+        OWLOntology newer = newer(older);
+        OWLOntologyDiff diff = new OWLOntologyDiffer(m, workers).diff(older, newer);
+        assertEquals(Arrays.asList(added), diff.getAddedAxioms());
+        assertEquals(Arrays.asList(removed), diff.getRemovedAxioms());
+        assertEquals(Collections.singleton(annotated), diff.getAnnotationChanges().keySet());
+        assertEquals(Collections.<OWLEntity, OWLEntity>singletonMap(c("Quokka"),
+            c("ShortTailedWallaby")), diff.getRenamedEntities());
+        assertEquals(asUnorderedSet(older.referencingAxioms(c("Quokka"))),
+            diff.getRenamedAxioms().keySet());
+        m.applyChanges(diff.getChanges(older));
+        assertEquals(asUnorderedSet(newer.axioms()), asUnorderedSet(older.axioms()));
+        assertTrue(new OWLOntologyDiffer(m, workers).diff(older, newer).isEmpty());
+    }
+
+    @Test
+    public void shouldFindDifferences() throws OWLException {
+        assertDiff(1);
+    }
+
+    @Test
+    public void shouldFindDifferencesInParallel() throws OWLException {
+        assertDiff(4);
+    }
+
+    @Test
+    public void shouldCompareSourcesLargerThanABatch() {
+        List<OWLAxiom> older = new ArrayList<>();
+        List<OWLAxiom> newer = new ArrayList<>();
+        for (int i = 0; i < 25000; i++) {
+            OWLAxiom ax = df.getOWLSubClassOfAxiom(c("C" + i), c("C" + (i + 1)));
+            if (i % 1000 != 0) {
+                older.add(ax);
+            }
+            if (i % 1000 != 1) {
+                newer.add(ax);
+            }
+        }
+        OWLOntologyDiff diff = new OWLOntologyDiffer(m, 4).diff(older::stream, newer::stream);
+        assertEquals(25, diff.getAddedAxioms().size());
+        assertEquals(25, diff.getRemovedAxioms().size());
+        diff.getAddedAxioms().forEach(ax -> assertTrue(newer.contains(ax) && !older.contains(ax)));
+        diff.getRemovedAxioms()
+            .forEach(ax -> assertTrue(older.contains(ax) && !newer.contains(ax)));
+    }
+
+    @Test
+    public void shouldCompareFiles() throws Exception {
+        OWLOntology older = koala();
+        OWLOntology newer = newer(older);
+        File olderFile = folder.newFile("older.ofn");
+        File newerFile = folder.newFile("newer.ofn");
+        m.saveOntology(older, new FunctionalSyntaxDocumentFormat(), IRI.create(olderFile));
+        m.saveOntology(newer, new FunctionalSyntaxDocumentFormat(), IRI.create(newerFile));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out, true, "UTF-8");
+        assertEquals(1, OWLOntologyDiffTool.run(new String[] {"--workers", "2",
+            olderFile.getAbsolutePath(), newerFile.getAbsolutePath()}, print, print));
+        String result = out.toString("UTF-8");
+        // the saved file also declares the added class
+        assertTrue(result, result.startsWith(
+            "Added: 2, removed: 1, annotations changed: 1, entities renamed: 1"));
+        assertEquals(0, OWLOntologyDiffTool.run(new String[] {olderFile.getAbsolutePath(),
+            olderFile.getAbsolutePath()}, print, print));
+        assertEquals(2, OWLOntologyDiffTool.run(new String[] {olderFile.getAbsolutePath()},
+            print, print));
+    }
+}
@@ -39,6 +39,7 @@ import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Equiv
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentObjectProperties;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.FunctionalDataProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.FunctionalObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.IRI;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.InverseFunctionalObjectProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.IrreflexiveObjectProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
@@ -49,6 +50,8 @@ import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Objec
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyDomain;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyRange;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSLabel;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ReflexiveObjectProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubAnnotationPropertyOf;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
@@ -61,8 +64,10 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.equalStreams;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -76,6 +81,7 @@ import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLDataRange;
 import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
@@ -83,6 +89,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.util.OWLEntityRenamer;
 
 /**
@@ -371,4 +378,37 @@ public class RenameEntityTestCase extends TestBase {
             .map(x -> renamer.changeIRI(x.getIRI(), IRI.create("urn:test:attempt")))
             .forEach(list -> assertFalse(list.isEmpty()));
     }
+
+    private OWLOntology migrationOntology() {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = ObjectProperty(IRI("urn:test:old#", "p"));
+        for (int i = 0; i < 100; i++) {
+            OWLClass c = Class(IRI("urn:test:old#", "C" + i));
+            OWLClass d = Class(IRI("urn:test:old#", "C" + (i + 1)));
+            o.add(Declaration(c), SubClassOf(c, ObjectSomeValuesFrom(p, d)),
+                AnnotationAssertion(RDFSLabel(), c.getIRI(), Literal("C" + i)));
+        }
+        return o;
+    }
+
+    private static Map<OWLEntity, IRI> migration(OWLOntology o) {
+        Map<OWLEntity, IRI> map = new HashMap<>();
+        o.signature().filter(e -> e.getIRI().getNamespace().equals("urn:test:old#"))
+            .forEach(e -> map.put(e, IRI("urn:test:new#", e.getIRI().getRemainder().get())));
+        return map;
+    }
+
+    @Test
+    public void shouldRenameInBulk() {
+        OWLOntology expected = migrationOntology();
+        OWLOntology actual = migrationOntology();
+        Map<OWLEntity, IRI> map = migration(expected);
+        m.applyChanges(new OWLEntityRenamer(m, singleton(expected)).changeIRI(map));
+        assertEquals(ChangeApplied.SUCCESSFULLY,
+            new OWLEntityRenamer(m, singleton(actual)).renameEntities(map, 4, 7));
+        assertEquals(asUnorderedSet(expected.axioms()), asUnorderedSet(actual.axioms()));
+        assertTrue(actual.signature().noneMatch(map::containsKey));
+        assertEquals(ChangeApplied.NO_OPERATION,
+            new OWLEntityRenamer(m, singleton(actual)).renameEntities(map, 4, 7));
+    }
 }
@@ -0,0 +1,89 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.util.SimpleShortFormProvider;
+import org.semanticweb.owlapi.util.TrieBidirectionalShortFormProvider;
+
+@SuppressWarnings("javadoc")
+public class TrieShortFormProviderTestCase extends TestBase {
+
+    private static final String NS = "urn:test:trie#";
+    private static final List<String> NAMES = Arrays.asList("Koala", "KoalaWithPhD", "Kangaroo",
+        "Marsupial", "Animal", "Wombat", "Koalas", "Quokka");
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        NAMES.forEach(n -> o.add(df.getOWLDeclarationAxiom(df.getOWLClass(NS, n))));
+        return o;
+    }
+
+    private TrieBidirectionalShortFormProvider provider(OWLOntology o, boolean ignoreCase) {
+        return new TrieBidirectionalShortFormProvider(m, Collections.singleton(o),
+            new SimpleShortFormProvider(), ignoreCase);
+    }
+
+    @Test
+    public void shouldFindByPrefix() {
+        TrieBidirectionalShortFormProvider p = provider(ontology(), false);
+        assertEquals(Arrays.asList("Kangaroo", "Koala", "KoalaWithPhD", "Koalas"),
+            asList(p.shortFormsWithPrefix("K", 10)));
+        assertEquals(Arrays.asList("Koala", "KoalaWithPhD"),
+            asList(p.shortFormsWithPrefix("Koa", 2)));
+        assertEquals(Collections.emptyList(), asList(p.shortFormsWithPrefix("koa", 10)));
+        // keys are lower cased, so Koalas sorts before KoalaWithPhD
+        assertEquals(Arrays.asList("Koala", "Koalas", "KoalaWithPhD"),
+            asList(provider(ontology(), true).shortFormsWithPrefix("koa", 10)));
+    }
+
+    @Test
+    public void shouldFindBySubstring() {
+        TrieBidirectionalShortFormProvider p = provider(ontology(), false);
+        assertEquals(Arrays.asList("Animal", "Koala", "KoalaWithPhD", "Koalas", "Marsupial"),
+            asList(p.shortFormsContaining("al", 10)));
+        assertEquals(Arrays.asList("Kangaroo", "Quokka"),
+            asList(p.shortFormsContaining("o", 10).filter(s -> !s.startsWith("Koala"))
+                .filter(s -> !s.equals("Wombat"))));
+        assertEquals(Arrays.asList("KoalaWithPhD"), asList(p.shortFormsContaining("aWi", 10)));
+        // a pattern with a repeated prefix exercises the failure function
+        assertEquals(Arrays.asList("Kangaroo"), asList(p.shortFormsContaining("roo", 10)));
+    }
+
+    @Test
+    public void shouldFindByEditDistance() {
+        TrieBidirectionalShortFormProvider p = provider(ontology(), false);
+        assertEquals(Arrays.asList("Koala", "Koalas"),
+            asList(p.shortFormsWithinDistance("Koal", 2, 10)));
+        assertEquals(Arrays.asList("Koala"), asList(p.shortFormsWithinDistance("Kaola", 2, 1)));
+        assertEquals(Arrays.asList("Wombat"), asList(p.shortFormsWithinDistance("Wambot", 2, 10)));
+        assertEquals(Collections.emptyList(), asList(p.shortFormsWithinDistance("Zebra", 1, 10)));
+    }
+
+    @Test
+    public void shouldUpdateFromChanges() {
+        OWLOntology o = ontology();
+        TrieBidirectionalShortFormProvider p = provider(o, false);
+        OWLClass koala = df.getOWLClass(NS, "Koala");
+        OWLClass koalaBear = df.getOWLClass(NS, "KoalaBear");
+        m.addAxiom(o, df.getOWLDeclarationAxiom(koalaBear));
+        assertEquals(Arrays.asList("Koala", "KoalaBear", "KoalaWithPhD", "Koalas"),
+            asList(p.shortFormsWithPrefix("Koala", 10)));
+        m.removeAxiom(o, df.getOWLDeclarationAxiom(koala));
+        assertEquals(Arrays.asList("KoalaBear", "KoalaWithPhD", "Koalas"),
+            asList(p.shortFormsWithPrefix("Koala", 10)));
+        assertNull(p.getEntity("Koala"));
+        assertEquals(koalaBear, p.getEntity("KoalaBear"));
+        assertEquals(Arrays.asList("KoalaBear"),
+            asList(p.shortFormsWithinDistance("KoalaBeer", 1, 10)));
+    }
+}
@@ -0,0 +1,157 @@
+package org.semanticweb.owlapi.change;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Builder;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+
+@SuppressWarnings("javadoc")
+public class BinaryChangeLogTestCase extends TestBase {
+
+    private static final OWLOntologyID ID = new OWLOntologyID(IRI.create("urn:test:log"));
+    private static final OWLOntologyID VERSIONED =
+        new OWLOntologyID(IRI.create("urn:test:log"), IRI.create("urn:test:log/1"));
+
+    private static List<OWLOntologyChangeRecord> records() {
+        List<OWLOntologyChangeRecord> records = new ArrayList<>();
+        for (OWLAxiom ax : new Builder().all()) {
+            records.add(new OWLOntologyChangeRecord(ID, new AddAxiomData(ax)));
+        }
+        OWLAxiom annotated = df.getOWLSubClassOfAxiom(df.getOWLClass("urn:test:log#", "A"),
+            df.getOWLThing(), Arrays.asList(df.getRDFSComment(df.getOWLLiteral("comment", "en")),
+                df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLAnonymousIndividual("_:a"))));
+        records.add(new OWLOntologyChangeRecord(ID, new RemoveAxiomData(annotated)));
+        records.add(new OWLOntologyChangeRecord(ID,
+            new AddImportData(df.getOWLImportsDeclaration(IRI.create("urn:test:imported")))));
+        records.add(new OWLOntologyChangeRecord(ID,
+            new RemoveImportData(df.getOWLImportsDeclaration(IRI.create("urn:test:imported")))));
+        records.add(new OWLOntologyChangeRecord(ID,
+            new AddOntologyAnnotationData(df.getRDFSLabel("log éè ☃"))));
+        records.add(new OWLOntologyChangeRecord(ID,
+            new RemoveOntologyAnnotationData(df.getRDFSLabel(df.getOWLLiteral(3.5D)))));
+        records.add(new OWLOntologyChangeRecord(ID, new SetOntologyIDData(VERSIONED)));
+        records.add(new OWLOntologyChangeRecord(new OWLOntologyID(),
+            new AddAxiomData(df.getOWLDeclarationAxiom(df.getOWLClass("urn:test:log#", "B")))));
+        return records;
+    }
+
+    private static byte[] write(List<OWLOntologyChangeRecord> records, int checkpointInterval)
+        throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryChangeLogWriter writer = new BinaryChangeLogWriter(out, checkpointInterval)) {
+            for (OWLOntologyChangeRecord r : records) {
+                writer.write(r);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static List<OWLOntologyChangeRecord> read(byte[] log) throws IOException {
+        try (BinaryChangeLogReader reader =
+            new BinaryChangeLogReader(new ByteArrayInputStream(log), df)) {
+            return reader.readAll();
+        }
+    }
+
+    @Test
+    public void shouldRoundTripAllChangeTypes() throws IOException {
+        List<OWLOntologyChangeRecord> records = records();
+        assertEquals(records, read(write(records, 1000)));
+        assertEquals(records, read(write(records, 7)));
+    }
+
+    @Test
+    public void shouldBeSmallerThanJavaSerialization() throws IOException {
+        List<OWLOntologyChangeRecord> records = records();
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(serialized)) {
+            stream.writeObject(records);
+        }
+        int binary = write(records, 1000).length;
+        assertTrue(binary + " vs " + serialized.size(), binary * 4 < serialized.size());
+    }
+
+    @Test
+    public void shouldReadFromLastCheckpoint() throws IOException {
+        List<OWLOntologyChangeRecord> records = records();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryChangeLogWriter writer = new BinaryChangeLogWriter(out, 10);
+        for (OWLOntologyChangeRecord r : records) {
+            writer.write(r);
+        }
+        assertEquals(out.size(), writer.getOffset());
+        int checkpoint = (int) writer.getLastCheckpointOffset();
+        byte[] log = out.toByteArray();
+        byte[] tail = Arrays.copyOfRange(log, checkpoint, log.length);
+        int expected = records.size() % 10 == 0 ? 10 : records.size() % 10;
+        assertEquals(records.subList(records.size() - expected, records.size()), read(tail));
+    }
+
+    @Test(expected = EOFException.class)
+    public void shouldDetectTruncatedRecord() throws IOException {
+        byte[] log = write(records(), 1000);
+        read(Arrays.copyOf(log, log.length - 1));
+    }
+
+    @Test
+    public void shouldReplayIntoOntology() throws Exception {
+        OWLOntology source = m.createOntology(IRI.create("urn:test:log"));
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        new Builder().all().forEach(ax -> changes.add(new AddAxiom(source, ax)));
+        changes.add(new RemoveAxiom(source, new Builder().ec()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryChangeLogWriter writer = new BinaryChangeLogWriter(out, 16)) {
+            writer.writeAll(changes);
+        }
+        m.applyChanges(changes);
+        OWLOntologyManager other = setupManager();
+        OWLOntology target = other.createOntology(IRI.create("urn:test:log"));
+        try (BinaryChangeLogReader reader =
+            new BinaryChangeLogReader(new ByteArrayInputStream(out.toByteArray()), df)) {
+            assertEquals(changes.size(), reader.replay(other, 5));
+            assertNull(reader.read());
+        }
+        assertEquals(asUnorderedSet(source.axioms()), asUnorderedSet(target.axioms()));
+    }
+
+    @Test
+    public void shouldKeepObjectTagsAfterValueTagsInOneByte() {
+        for (int typeIndex : new int[] {0, 1, 1001, 2038, 3017, 4008, 5001, 6010}) {
+            int tag = BinaryChangeLogFormat.objectTag(typeIndex);
+            assertTrue(Integer.toString(tag), tag > BinaryChangeLogFormat.FACET && tag <= 0xFF);
+            assertEquals(typeIndex, BinaryChangeLogFormat.typeIndex(tag));
+        }
+    }
+
+    @Test(expected = OWLRuntimeException.class)
+    public void shouldRejectTypeIndexOutsideItsGroup() {
+        BinaryChangeLogFormat.objectTag(2040);
+    }
+
+    @Test(expected = OWLRuntimeException.class)
+    public void shouldRejectTypeIndexPastOneByte() {
+        BinaryChangeLogFormat.objectTag(7001);
+    }
+}
@@ -0,0 +1,123 @@
+package org.semanticweb.owlapi.profiles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.profiles.violations.UseOfNonSimplePropertyInCardinalityRestriction;
+
+@SuppressWarnings("javadoc")
+public class ParallelProfileCheckTestCase extends TestBase {
+
+    private static final String NS = "urn:test:profiles#";
+
+    private OWLOntology ontology(boolean declared) {
+        OWLOntology o = getOWLOntology();
+        OWLObjectProperty p = df.getOWLObjectProperty(NS, "p");
+        o.add(df.getOWLDeclarationAxiom(p));
+        for (int i = 0; i < 200; i++) {
+            OWLClass c = df.getOWLClass(NS, "C" + i);
+            OWLClass d = df.getOWLClass(NS, "C" + (i + 1));
+            if (declared) {
+                o.add(df.getOWLDeclarationAxiom(c));
+            }
+            o.add(df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(p, d)));
+            if (i % 10 == 0) {
+                o.add(df.getOWLSubClassOfAxiom(c, df.getOWLObjectUnionOf(d,
+                    df.getOWLObjectComplementOf(c))));
+            }
+        }
+        if (declared) {
+            o.add(df.getOWLDeclarationAxiom(df.getOWLClass(NS, "C200")));
+        }
+        return o;
+    }
+
+    private static Set<String> violations(OWLProfileReport report) {
+        // violations do not implement equals()
+        return asUnorderedSet(report.getViolations().stream().map(Object::toString));
+    }
+
+    @Test
+    public void shouldFindAllViolations() {
+        OWLOntology o = ontology(false);
+        for (Profiles p : Profiles.values()) {
+            assertEquals(p.getName(), violations(p.checkOntology(o)),
+                violations(p.checkOntology(o, 4, Integer.MAX_VALUE)));
+        }
+    }
+
+    @Test
+    public void shouldStopAfterMaxViolations() {
+        OWLOntology o = ontology(false);
+        OWLProfileReport report = Profiles.OWL2_DL.checkOntology(o, 4, 1);
+        assertFalse(report.isInProfile());
+        assertEquals(1, report.getViolations().size());
+        report = Profiles.OWL2_EL.checkOntology(o, 4, 5);
+        assertFalse(report.isInProfile());
+        assertTrue(report.getViolations().size() <= 5);
+    }
+
+    @Test
+    public void shouldReportOntologyInProfile() {
+        OWLOntology o = ontology(true);
+        assertTrue(Profiles.OWL2_DL.checkOntology(o, 4, 1).isInProfile());
+        assertFalse(Profiles.OWL2_EL.checkOntology(o, 4, 1).isInProfile());
+    }
+
+    @Test
+    public void shouldUseOwnCheckForProfilesWithoutCheckedProfiles() {
+        OWLOntology o = ontology(false);
+        OWLProfile strict = new OWLProfile() {
+
+            @Override
+            public IRI getIRI() {
+                return IRI.create(NS, "strict");
+            }
+
+            @Override
+            public String getName() {
+                return "strict";
+            }
+
+            @Override
+            public OWLProfileReport checkOntology(OWLOntology ontology) {
+                return Profiles.OWL2_EL.checkOntology(ontology);
+            }
+        };
+        OWLProfileReport all = strict.checkOntology(o);
+        assertEquals(violations(all), violations(strict.checkOntology(o, 4, Integer.MAX_VALUE)));
+        OWLProfileReport report = strict.checkOntology(o, 4, 5);
+        assertEquals(5, report.getViolations().size());
+        assertEquals(all.getViolations().subList(0, 5).toString(),
+            report.getViolations().toString());
+    }
+
+    @Test
+    public void shouldFindPropertiesMadeNonSimpleByImportingOntology() {
+        OWLObjectProperty p = df.getOWLObjectProperty(NS, "p");
+        OWLClass c = df.getOWLClass(NS, "C");
+        OWLOntology imported = getOWLOntology();
+        imported.add(df.getOWLDeclarationAxiom(p), df.getOWLDeclarationAxiom(c),
+            df.getOWLSubClassOfAxiom(c, df.getOWLObjectMinCardinality(1, p)));
+        OWLOntology o = getOWLOntology();
+        m.applyChange(new AddImport(o,
+            df.getOWLImportsDeclaration(imported.getOntologyID().getOntologyIRI().get())));
+        o.add(df.getOWLTransitiveObjectPropertyAxiom(p));
+        OWLProfileReport sequential = Profiles.OWL2_DL.checkOntology(o);
+        assertTrue(sequential.getViolations().stream()
+            .anyMatch(v -> v instanceof UseOfNonSimplePropertyInCardinalityRestriction));
+        assertEquals(violations(sequential),
+            violations(Profiles.OWL2_DL.checkOntology(o, 4, Integer.MAX_VALUE)));
+    }
+}
@@ -0,0 +1,123 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+
+import uk.ac.manchester.cs.atomicdecomposition.Atom;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecomposition;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+@SuppressWarnings("javadoc")
+public class IncrementalAtomicDecompositionTestCase extends TestBase {
+
+    private static final String NS =
+        "http://protege.stanford.edu/plugins/owl/owl-library/koala.owl#";
+
+    private OWLOntology koala() throws OWLException {
+        return m.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(OldModularisationEquivalenceTestCase.KOALA));
+    }
+
+    private static OWLClass c(String name) {
+        return df.getOWLClass(NS, name);
+    }
+
+    private static Map<Atom, Set<Atom>> graph(AtomicDecomposition ad) {
+        Map<Atom, Set<Atom>> map = new HashMap<>();
+        ad.getAtoms().forEach(a -> map.put(a, ad.getDependencies(a, true)));
+        return map;
+    }
+
+    private static void assertSameDecomposition(AtomicDecomposition expected,
+        AtomicDecomposition actual) {
+        assertEquals(expected.getAtoms(), actual.getAtoms());
+        assertEquals(graph(expected), graph(actual));
+        assertEquals(expected.getTautologies(), actual.getTautologies());
+        assertEquals(expected.getTermBasedIndex(), actual.getTermBasedIndex());
+        for (Atom a : expected.getAtoms()) {
+            Atom b = actual.getAtomForAxiom(a.getAxioms().iterator().next());
+            assertEquals(a, b);
+            assertEquals(expected.getPrincipalIdeal(a), actual.getPrincipalIdeal(b));
+        }
+    }
+
+    private void assertUpdateMatchesRecomputation(ModuleType type) throws OWLException {
+        OWLOntology o = koala();
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(o, type);
+        OWLAxiom removed = o.subClassAxiomsForSubClass(c("Koala")).findFirst().get();
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        changes.add(new RemoveAxiom(o, removed));
+        changes.add(new AddAxiom(o, df.getOWLSubClassOfAxiom(c("Quokka"), c("Koala"))));
+        changes.add(new AddAxiom(o, df.getOWLSubClassOfAxiom(c("Wombat"), c("Marsupials"))));
+        changes.add(new AddAxiom(o, df.getOWLDeclarationAxiom(c("Wombat"))));
+        o.applyChanges(changes);
+        ad.update(changes);
+        assertSameDecomposition(new AtomicDecompositionImpl(o, type), ad);
+    }
+
+    @Test
+    public void shouldUpdateBottomDecomposition() throws OWLException {
+        assertUpdateMatchesRecomputation(ModuleType.BOT);
+    }
+
+    @Test
+    public void shouldUpdateTopDecomposition() throws OWLException {
+        assertUpdateMatchesRecomputation(ModuleType.TOP);
+    }
+
+    @Test
+    public void shouldUpdateStarDecomposition() throws OWLException {
+        assertUpdateMatchesRecomputation(ModuleType.STAR);
+    }
+
+    @Test
+    public void shouldRecomputeWhenGlobalAxiomChanges() throws OWLException {
+        OWLOntology o = koala();
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(o, ModuleType.BOT);
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        changes.add(new AddAxiom(o, df.getOWLSubClassOfAxiom(df.getOWLThing(), c("Animal"))));
+        o.applyChanges(changes);
+        ad.update(changes);
+        assertSameDecomposition(new AtomicDecompositionImpl(o, ModuleType.BOT), ad);
+    }
+
+    @Test
+    public void shouldSaveAndLoad() throws OWLException, IOException {
+        AtomicDecompositionImpl ad = new AtomicDecompositionImpl(koala(), ModuleType.STAR);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ad.save(out);
+        AtomicDecompositionImpl loaded =
+            AtomicDecompositionImpl.load(new ByteArrayInputStream(out.toByteArray()), df);
+        assertSameDecomposition(ad, loaded);
+        assertEquals(ad.getAtomList().size(), loaded.getAtomList().size());
+        Set<OWLAxiom> module = asSet(ad.getModule(c("Koala").signature(), false, ModuleType.STAR));
+        assertEquals(module,
+            asSet(loaded.getModule(c("Koala").signature(), false, ModuleType.STAR)));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectOtherStreams() throws IOException {
+        AtomicDecompositionImpl.load(new ByteArrayInputStream(new byte[] {0, 0, 0, 0, 1}), df);
+    }
+}
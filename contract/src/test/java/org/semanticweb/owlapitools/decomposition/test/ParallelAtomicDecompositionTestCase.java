@@ -0,0 +1,72 @@
+package org.semanticweb.owlapitools.decomposition.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.ProgressMonitor;
+
+import uk.ac.manchester.cs.atomicdecomposition.Atom;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecomposition;
+import uk.ac.manchester.cs.atomicdecomposition.AtomicDecompositionImpl;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+@SuppressWarnings("javadoc")
+public class ParallelAtomicDecompositionTestCase extends TestBase {
+
+    private OWLOntology koala() throws OWLException {
+        return m.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(OldModularisationEquivalenceTestCase.KOALA));
+    }
+
+    private static Map<Atom, Set<Atom>> graph(AtomicDecomposition ad) {
+        Map<Atom, Set<Atom>> map = new HashMap<>();
+        ad.getAtoms().forEach(a -> map.put(a, ad.getDependencies(a, true)));
+        return map;
+    }
+
+    private void assertSameDecomposition(ModuleType type) throws OWLException {
+        OWLOntology o = koala();
+        AtomicDecomposition expected = new AtomicDecompositionImpl(o, type);
+        AtomicDecomposition actual =
+            new AtomicDecompositionImpl(o, type, 4, new ProgressMonitor() {});
+        assertEquals(expected.getAtoms(), actual.getAtoms());
+        assertEquals(graph(expected), graph(actual));
+        assertEquals(expected.getTautologies(), actual.getTautologies());
+        assertEquals(expected.getTermBasedIndex(), actual.getTermBasedIndex());
+    }
+
+    @Test
+    public void shouldMatchSequentialBottomDecomposition() throws OWLException {
+        assertSameDecomposition(ModuleType.BOT);
+    }
+
+    @Test
+    public void shouldMatchSequentialTopDecomposition() throws OWLException {
+        assertSameDecomposition(ModuleType.TOP);
+    }
+
+    @Test
+    public void shouldMatchSequentialStarDecomposition() throws OWLException {
+        assertSameDecomposition(ModuleType.STAR);
+    }
+
+    @Test(expected = OWLRuntimeException.class)
+    public void shouldStopWhenCancelled() throws OWLException {
+        new AtomicDecompositionImpl(koala(), ModuleType.BOT, 2, new ProgressMonitor() {
+
+            @Override
+            public boolean isCancelled() {
+                return true;
+            }
+        });
+    }
+}
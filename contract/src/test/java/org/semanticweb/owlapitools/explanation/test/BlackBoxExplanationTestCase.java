@@ -0,0 +1,64 @@
+package org.semanticweb.owlapitools.explanation.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import com.clarkparsia.owlapi.explanation.BlackBoxExplanation;
+import com.clarkparsia.owlapi.explanation.HSTExplanationGenerator;
+
+@SuppressWarnings("javadoc")
+public class BlackBoxExplanationTestCase extends TestBase {
+
+    private static final String NS = "urn:test:explanation#";
+
+    private static OWLClass c(String name) {
+        return df.getOWLClass(NS, name);
+    }
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        for (int i = 0; i < 4; i++) {
+            o.add(df.getOWLSubClassOfAxiom(c("A"), c("B" + i)),
+                df.getOWLSubClassOfAxiom(c("B" + i), c("C" + i)),
+                df.getOWLSubClassOfAxiom(c("C" + i), i % 2 == 0 ? df.getOWLNothing() : c("D")));
+        }
+        // axioms outside the module for A
+        for (int i = 0; i < 100; i++) {
+            o.add(df.getOWLSubClassOfAxiom(c("E" + i), c("E" + (i + 1))),
+                df.getOWLSubClassOfAxiom(c("E" + i), c("A")));
+        }
+        o.classesInSignature().forEach(c -> o.add(df.getOWLDeclarationAxiom(c)));
+        return o;
+    }
+
+    private static Set<Set<OWLAxiom>> explanations(OWLOntology o, ToldReasonerFactory factory,
+        boolean incremental) {
+        BlackBoxExplanation gen = new BlackBoxExplanation(o, factory,
+            factory.createNonBufferingReasoner(o), 10, incremental);
+        HSTExplanationGenerator hst = new HSTExplanationGenerator(gen);
+        Set<Set<OWLAxiom>> explanations = hst.getExplanations(c("A"));
+        hst.dispose();
+        return explanations;
+    }
+
+    @Test
+    public void shouldFindSameExplanationsIncrementally() {
+        OWLOntology o = ontology();
+        ToldReasonerFactory fresh = new ToldReasonerFactory();
+        Set<Set<OWLAxiom>> expected = explanations(o, fresh, false);
+        assertEquals(2, expected.size());
+        ToldReasonerFactory reused = new ToldReasonerFactory();
+        assertEquals(expected, explanations(o, reused, true));
+        // one reasoner for the ontology, one for the debugging ontology
+        assertEquals(2, reused.created.get());
+        assertTrue(fresh.created.get() > 10);
+    }
+}
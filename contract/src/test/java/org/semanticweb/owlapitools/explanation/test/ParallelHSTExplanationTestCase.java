@@ -0,0 +1,83 @@
+package org.semanticweb.owlapitools.explanation.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.OntologyCopy;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+import com.clarkparsia.owlapi.explanation.BlackBoxExplanation;
+import com.clarkparsia.owlapi.explanation.HSTExplanationGenerator;
+import com.clarkparsia.owlapi.explanation.TransactionAwareSingleExpGen;
+
+@SuppressWarnings("javadoc")
+public class ParallelHSTExplanationTestCase extends TestBase {
+
+    private static final String NS = "urn:test:explanation#";
+    private final OWLReasonerFactory factory = new ToldReasonerFactory();
+
+    private static OWLClass c(String name) {
+        return df.getOWLClass(NS, name);
+    }
+
+    private OWLOntology ontology() {
+        OWLOntology o = getOWLOntology();
+        // A is unsatisfiable through every B_i, and every B_i through two routes
+        for (int i = 0; i < 4; i++) {
+            o.add(df.getOWLSubClassOfAxiom(c("A"), c("B" + i)),
+                df.getOWLSubClassOfAxiom(c("B" + i), df.getOWLNothing()),
+                df.getOWLSubClassOfAxiom(c("A"), c("C" + i)),
+                df.getOWLSubClassOfAxiom(c("C" + i), c("B" + i)));
+        }
+        o.classesInSignature().forEach(c -> o.add(df.getOWLDeclarationAxiom(c)));
+        return o;
+    }
+
+    private TransactionAwareSingleExpGen generator(OWLOntology o) {
+        return new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o));
+    }
+
+    private TransactionAwareSingleExpGen copy(OWLOntology o) {
+        OWLOntologyManager manager = setupManager();
+        try {
+            return generator(manager.copyOntology(o, OntologyCopy.DEEP));
+        } catch (OWLOntologyCreationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void shouldFindSameExplanationsInParallel() {
+        OWLOntology o = ontology();
+        HSTExplanationGenerator sequential = new HSTExplanationGenerator(generator(o));
+        Set<Set<OWLAxiom>> expected = sequential.getExplanations(c("A"));
+        assertEquals(8, expected.size());
+        HSTExplanationGenerator parallel =
+            new HSTExplanationGenerator(generator(o), () -> copy(o), 4);
+        assertEquals(expected, parallel.getExplanations(c("A")));
+        // the worker copies are restored after each search
+        assertEquals(expected, parallel.getExplanations(c("A")));
+        parallel.dispose();
+    }
+
+    @Test
+    public void shouldStopAtExplanationLimit() {
+        OWLOntology o = ontology();
+        Set<Set<OWLAxiom>> all = new HSTExplanationGenerator(generator(o)).getExplanations(c("A"));
+        HSTExplanationGenerator parallel =
+            new HSTExplanationGenerator(generator(o), () -> copy(o), 4);
+        Set<Set<OWLAxiom>> limited = parallel.getExplanations(c("A"), 3);
+        assertEquals(3, limited.size());
+        assertTrue(all.containsAll(limited));
+        parallel.dispose();
+    }
+}
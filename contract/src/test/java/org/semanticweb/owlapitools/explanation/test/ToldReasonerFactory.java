@@ -0,0 +1,65 @@
+package org.semanticweb.owlapitools.explanation.test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+
+/**
+ * Structural reasoning extended to told subclass chains ending in owl:Nothing; counts the
+ * reasoners created.
+ */
+@SuppressWarnings("javadoc")
+public class ToldReasonerFactory extends StructuralReasonerFactory {
+
+    public final AtomicInteger created = new AtomicInteger();
+
+    @Override
+    public OWLReasoner createNonBufferingReasoner(OWLOntology ontology,
+        OWLReasonerConfiguration config) {
+        return create(ontology, config, BufferingMode.NON_BUFFERING);
+    }
+
+    @Override
+    public OWLReasoner createReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+        return create(ontology, config, BufferingMode.BUFFERING);
+    }
+
+    private OWLReasoner create(OWLOntology ontology, OWLReasonerConfiguration config,
+        BufferingMode mode) {
+        created.incrementAndGet();
+        return new StructuralReasoner(ontology, config, mode) {
+
+            @Override
+            public boolean isSatisfiable(OWLClassExpression ce) {
+                Set<OWLClassExpression> seen = new HashSet<>();
+                List<OWLClassExpression> toVisit = new ArrayList<>();
+                toVisit.add(ce);
+                while (!toVisit.isEmpty()) {
+                    OWLClassExpression next = toVisit.remove(toVisit.size() - 1);
+                    if (next.isOWLNothing()) {
+                        return false;
+                    }
+                    if (!next.isAnonymous() && seen.add(next)) {
+                        // only the flushed axioms are visible
+                        getReasonerAxioms().stream().filter(OWLSubClassOfAxiom.class::isInstance)
+                            .map(OWLSubClassOfAxiom.class::cast)
+                            .filter(ax -> ax.getSubClass().equals(next))
+                            .forEach(ax -> toVisit.add(ax.getSuperClass()));
+                    }
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -207,6 +207,7 @@ public class Internals implements Serializable {
     protected transient MapPointer<OWLDatatype, OWLAxiom>           owlDatatypeReferences = build(OWLAxiom.class);
     protected transient MapPointer<OWLAnnotationProperty, OWLAxiom> owlAnnotationPropertyReferences = build(OWLAxiom.class);
     protected transient MapPointer<OWLEntity, OWLDeclarationAxiom>  declarationsByEntity = build(OWLDeclarationAxiom.class);
+    protected transient MapPointer<OWLAxiom, OWLAxiom>              axiomsIgnoreAnnotations = new AxiomsIgnoreAnnotationsPointer(this);
     //@formatter:on
 
     @Nullable
@@ -236,6 +237,7 @@ public class Internals implements Serializable {
         owlDatatypeReferences = build(OWLAxiom.class);
         owlAnnotationPropertyReferences = build(OWLAxiom.class);
         declarationsByEntity = build(OWLDeclarationAxiom.class);
+        axiomsIgnoreAnnotations = new AxiomsIgnoreAnnotationsPointer(this);
         classAssertionAxiomsByClass =
             buildLazy(CLASS_ASSERTION, CLASSEXPRESSIONS, OWLClassAssertionAxiom.class);
         annotationAssertionAxiomsBySubject =
@@ -642,6 +644,9 @@ public class Internals implements Serializable {
         checkNotNull(axiom, "axiom cannot be null");
         if (axiomsByType.put(axiom.getAxiomType(), axiom)) {
             axiom.accept(addChangeVisitor);
+            if (axiomsIgnoreAnnotations.isInitialized()) {
+                axiomsIgnoreAnnotations.put(axiom.getAxiomWithoutAnnotations(), axiom);
+            }
             AbstractCollector referenceAdder = new AbstractCollector() {
 
                 @Override
@@ -693,6 +698,9 @@ public class Internals implements Serializable {
         checkNotNull(axiom, "axiom cannot be null");
         if (axiomsByType.remove(axiom.getAxiomType(), axiom)) {
             axiom.accept(removeChangeVisitor);
+            if (axiomsIgnoreAnnotations.isInitialized()) {
+                axiomsIgnoreAnnotations.remove(axiom.getAxiomWithoutAnnotations(), axiom);
+            }
             AbstractCollector referenceRemover = new AbstractCollector() {
 
                 @Override
@@ -924,6 +932,23 @@ public class Internals implements Serializable {
         return axiomsByType;
     }
 
+    /**
+     * @param axiom axiom to look up
+     * @return axioms equal to the input once annotations are removed
+     */
+    public Stream<OWLAxiom> getAxiomsIgnoreAnnotations(OWLAxiom axiom) {
+        return axiomsIgnoreAnnotations.getValuesAsCollection(axiom.getAxiomWithoutAnnotations())
+            .stream();
+    }
+
+    /**
+     * @param axiom axiom to look up
+     * @return true if an axiom equal to the input once annotations are removed is contained
+     */
+    public boolean containsAxiomIgnoreAnnotations(OWLAxiom axiom) {
+        return axiomsIgnoreAnnotations.containsKey(axiom.getAxiomWithoutAnnotations());
+    }
+
     @Override
     public String toString() {
         StringBuilder b = new StringBuilder("Internals{(first 20 axioms) ");
@@ -269,8 +269,7 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
 
     @Override
     public Stream<OWLAxiom> axiomsIgnoreAnnotations(OWLAxiom axiom) {
-        return axioms(axiom.getAxiomType()).map(x -> (OWLAxiom) x)
-            .filter(ax -> ax.equalsIgnoreAnnotations(axiom));
+        return ints.getAxiomsIgnoreAnnotations(axiom);
     }
 
     @Override
@@ -278,7 +277,7 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
         if (containsAxiom(axiom)) {
             return true;
         }
-        return axioms(axiom.getAxiomType()).anyMatch(ax -> ax.equalsIgnoreAnnotations(axiom));
+        return ints.containsAxiomIgnoreAnnotations(axiom);
     }
 
     @Override
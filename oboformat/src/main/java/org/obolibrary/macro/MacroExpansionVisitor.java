@@ -3,12 +3,16 @@ package org.obolibrary.macro;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
 
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -23,7 +27,10 @@ import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLObjectHasValue;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.util.WorkerPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,14 +104,44 @@ public class MacroExpansionVisitor {
      * @return ontology with expanded macros
      */
     public OWLOntology expandAll() {
-        MacroExpansions macroExpansions = new MacroExpansions();
-        Set<OWLAxiom> newAxioms = macroExpansions.getNewAxioms();
-        Set<OWLAxiom> rmAxioms = macroExpansions.getRmAxioms();
-        inputOntology.add(newAxioms);
-        inputOntology.remove(rmAxioms);
+        return expandAll(1);
+    }
+
+    /**
+     * Expands all macros and applies the changes to the input ontology in one batch. With more
+     * than one worker, class axioms are split between the workers, each with its own visitor;
+     * annotation assertions are then expanded on the calling thread, since their expansion can
+     * temporarily declare classes in the input ontology.
+     *
+     * @param workers number of threads; 1 for a sequential expansion
+     * @return ontology with expanded macros
+     * @since 5.1.17
+     */
+    public OWLOntology expandAll(int workers) {
+        MacroExpansions macroExpansions = new MacroExpansions(workers);
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        macroExpansions.getNewAxioms().forEach(ax -> changes.add(new AddAxiom(inputOntology, ax)));
+        macroExpansions.getRmAxioms()
+            .forEach(ax -> changes.add(new RemoveAxiom(inputOntology, ax)));
+        manager.applyChanges(changes);
         return inputOntology;
     }
 
+    /**
+     * Expands all macros into another ontology. Only the axioms created by the expansion are
+     * added to the target, in one batch; unchanged axioms are not copied, and the input ontology
+     * keeps the axioms that were expanded.
+     *
+     * @param target ontology to add the expanded axioms to
+     * @param workers number of threads; 1 for a sequential expansion
+     * @return the target ontology
+     * @since 5.1.17
+     */
+    public OWLOntology expandInto(OWLOntology target, int workers) {
+        target.add(new MacroExpansions(workers).getNewAxioms());
+        return target;
+    }
+
     /**
      * @return true if annotations should be transferred
      */
@@ -128,26 +165,46 @@ public class MacroExpansionVisitor {
 
     private class MacroExpansions {
 
-        private final Set<OWLAxiom> newAxioms = new HashSet<>();
-        private final Set<OWLAxiom> rmAxioms = new HashSet<>();
+        private final Set<OWLAxiom> newAxioms = ConcurrentHashMap.newKeySet();
+        private final Set<OWLAxiom> rmAxioms = ConcurrentHashMap.newKeySet();
 
         public MacroExpansions() {
-            inputOntology.axioms(AxiomType.SUBCLASS_OF).forEach(axiom -> {
-                OWLAxiom newAxiom = axiom.accept(visitor);
-                replaceIfDifferent(axiom, newAxiom);
-            });
-            inputOntology.axioms(AxiomType.EQUIVALENT_CLASSES).forEach(axiom -> {
-                OWLAxiom newAxiom = axiom.accept(visitor);
-                replaceIfDifferent(axiom, newAxiom);
-            });
-            inputOntology.axioms(AxiomType.CLASS_ASSERTION).forEach(axiom -> {
-                OWLAxiom newAxiom = axiom.accept(visitor);
-                replaceIfDifferent(axiom, newAxiom);
-            });
+            this(1);
+        }
+
+        MacroExpansions(int workers) {
+            List<OWLAxiom> axioms = new ArrayList<>();
+            add(axioms, inputOntology.axioms(AxiomType.SUBCLASS_OF));
+            add(axioms, inputOntology.axioms(AxiomType.EQUIVALENT_CLASSES));
+            add(axioms, inputOntology.axioms(AxiomType.CLASS_ASSERTION));
+            if (workers == 1 || axioms.size() < 2) {
+                axioms.forEach(axiom -> replaceIfDifferent(axiom, axiom.accept(visitor)));
+            } else {
+                expandInParallel(axioms, Math.min(workers, axioms.size()));
+            }
             add(rmAxioms,
                 inputOntology.axioms(AxiomType.ANNOTATION_ASSERTION).filter(this::expand));
         }
 
+        private void expandInParallel(List<OWLAxiom> axioms, int workers) {
+            // the Manchester syntax tool of a visitor is not thread safe, and registers a
+            // listener with the manager: visitors are created and disposed on this thread
+            List<Visitor> visitors = new ArrayList<>(workers);
+            try (WorkerPool pool = new WorkerPool(workers)) {
+                List<Runnable> tasks = new ArrayList<>(workers);
+                for (List<OWLAxiom> shard : WorkerPool.split(axioms, workers)) {
+                    Visitor v = new Visitor(inputOntology, shouldAddExpansionMarker);
+                    v.rebuild(inputOntology);
+                    visitors.add(v);
+                    tasks.add(() -> shard
+                        .forEach(axiom -> replaceIfDifferent(axiom, axiom.accept(v))));
+                }
+                pool.runAll(tasks);
+            } finally {
+                visitors.forEach(v -> v.getTool().dispose());
+            }
+        }
+
         private void replaceIfDifferent(OWLAxiom ax, OWLAxiom exAx) {
             if (!ax.equals(exAx)) {
                 newAxioms.add(exAx);
@@ -0,0 +1,213 @@
+package org.obolibrary.obo2owl;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.obolibrary.oboformat.model.Clause;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+
+/**
+ * Keeps an OBO document in sync with an ontology. The ontology is translated once; afterwards,
+ * each change to its axioms only re-translates the term frames of the classes the changed axioms
+ * are about. Changes that cannot be traced to term frames, such as changes to property axioms,
+ * imports or ontology annotations, re-translate the whole ontology.
+ *
+ * @since 5.1.17
+ */
+public class IncrementalOwl2Obo implements OWLOntologyChangeListener {
+
+    // term frame axioms are translated with declarations first, as in a complete translation
+    private static final Comparator<OWLAxiom> GROUP_ORDER = Comparator
+        .comparing((OWLAxiom ax) -> !ax.isOfType(AxiomType.DECLARATION))
+        .thenComparing(Comparator.naturalOrder());
+    private final OWLAPIOwl2Obo bridge;
+    private final OWLOntology ontology;
+    private final OWLDataFactory df;
+    /**
+     * Term frame ids by class; alt_id classes are translated in the frame of the replacing class.
+     */
+    private final Map<OWLClass, String> frameIds = new HashMap<>();
+    private final Map<String, Set<OWLClass>> frameClasses = new HashMap<>();
+    private boolean translating;
+
+    /**
+     * Translates the ontology and starts listening to its changes.
+     *
+     * @param bridge translator
+     * @param ontology ontology to translate
+     */
+    public IncrementalOwl2Obo(OWLAPIOwl2Obo bridge, OWLOntology ontology) {
+        this.bridge = bridge;
+        this.ontology = ontology;
+        df = ontology.getOWLOntologyManager().getOWLDataFactory();
+        translate();
+        ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+    }
+
+    /**
+     * @return the OBO document translated from the current state of the ontology
+     */
+    public OBODoc getObodoc() {
+        return bridge.getObodoc();
+    }
+
+    /**
+     * Stops listening to the changes of the ontology.
+     */
+    public void dispose() {
+        ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+    }
+
+    @Override
+    public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        if (translating) {
+            // the translation itself can change the ontology
+            return;
+        }
+        Set<String> dirty = new HashSet<>();
+        for (OWLOntologyChange change : changes) {
+            if (!change.getOntology().equals(ontology)) {
+                continue;
+            }
+            if (!change.isAxiomChange() || !addDirtyFrames(change.getAxiom(), dirty)) {
+                translate();
+                return;
+            }
+            if (change.isRemoveAxiom()) {
+                bridge.untranslatableAxioms.remove(change.getAxiom());
+            }
+        }
+        if (!dirty.isEmpty()) {
+            update(dirty);
+        }
+    }
+
+    private void translate() {
+        translating = true;
+        try {
+            bridge.convert(ontology);
+        } finally {
+            translating = false;
+        }
+        frameIds.clear();
+        frameClasses.clear();
+        ontology.classesInSignature().forEach(c -> reframe(c, null));
+    }
+
+    /**
+     * @return false if the axiom can change frames other than term frames
+     */
+    private boolean addDirtyFrames(OWLAxiom ax, Set<String> dirty) {
+        if (ax instanceof OWLAnnotationAssertionAxiom) {
+            // annotations are translated with the declaration of their subject
+            OWLAnnotationSubject subject = ((OWLAnnotationAssertionAxiom) ax).getSubject();
+            if (!subject.isIRI()) {
+                return true;
+            }
+            IRI iri = (IRI) subject;
+            if (ontology.containsObjectPropertyInSignature(iri)
+                || ontology.containsAnnotationPropertyInSignature(iri)) {
+                return false;
+            }
+            if (ontology.containsClassInSignature(iri)) {
+                reframe(df.getOWLClass(iri), dirty);
+            }
+            return true;
+        }
+        String id = bridge.getTermFrameId(ax);
+        if (id == null) {
+            return false;
+        }
+        dirty.add(id);
+        if (ax instanceof OWLDeclarationAxiom) {
+            reframe(((OWLDeclarationAxiom) ax).getEntity().asOWLClass(), dirty);
+        }
+        ax.classesInSignature().filter(c -> !frameIds.containsKey(c))
+            .forEach(c -> reframe(c, null));
+        return true;
+    }
+
+    /**
+     * Updates the frame of a class, which changes if the class becomes or stops being an alt_id.
+     * Classes are also indexed by their own id, since axioms about an alt_id class other than its
+     * declaration still contribute to the frame of the alt_id.
+     */
+    private void reframe(OWLClass c, @Nullable Set<String> dirty) {
+        String ownId = OWLAPIOwl2Obo.getIdentifier(c.getIRI());
+        String old = frameIds.remove(c);
+        if (old != null && !old.equals(ownId)) {
+            frameClasses.get(old).remove(c);
+        }
+        frameClasses.computeIfAbsent(ownId, k -> new HashSet<>()).add(c);
+        String id = bridge.getTermFrameId(df.getOWLDeclarationAxiom(c));
+        if (id != null) {
+            frameIds.put(c, id);
+            frameClasses.computeIfAbsent(id, k -> new HashSet<>()).add(c);
+        }
+        if (dirty != null) {
+            dirty.add(ownId);
+            if (old != null) {
+                dirty.add(old);
+            }
+            if (id != null) {
+                dirty.add(id);
+            }
+        }
+    }
+
+    private void update(Set<String> dirty) {
+        OBODoc doc = bridge.getObodoc();
+        Set<OWLAxiom> untranslatable = new HashSet<>(bridge.untranslatableAxioms);
+        List<List<OWLAxiom>> groups = new ArrayList<>(dirty.size());
+        for (String id : dirty) {
+            doc.removeTermFrame(id);
+            Set<OWLAxiom> candidates = new HashSet<>();
+            for (OWLClass c : frameClasses.getOrDefault(id, Collections.emptySet())) {
+                add(candidates, ontology.referencingAxioms(c));
+                // annotations of alt_id classes that do not belong to the alt_id
+                ontology.annotationAssertionAxioms(c.getIRI())
+                    .forEach(bridge.untranslatableAxioms::remove);
+            }
+            List<OWLAxiom> group = new ArrayList<>();
+            candidates.stream().filter(ax -> id.equals(bridge.getTermFrameId(ax)))
+                .sorted(GROUP_ORDER).forEach(group::add);
+            bridge.untranslatableAxioms.removeAll(group);
+            if (!group.isEmpty()) {
+                groups.add(group);
+            }
+        }
+        bridge.trTermAxioms(groups);
+        if (!untranslatable.equals(bridge.untranslatableAxioms)) {
+            Frame header = doc.getHeaderFrame();
+            if (header != null) {
+                List<Clause> clauses = new ArrayList<>(header.getClauses());
+                clauses.removeIf(c -> OboFormatTag.TAG_OWL_AXIOMS.getTag().equals(c.getTag()));
+                header.setClauses(clauses);
+            }
+            bridge.addUntranslatableAxioms();
+        }
+    }
+}
@@ -8,7 +8,6 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -21,6 +20,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
@@ -70,10 +71,10 @@ import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.SetOntologyID;
 import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.util.CollectionFactory;
+import org.semanticweb.owlapi.util.WorkerPool;
 import org.semanticweb.owlapi.vocab.Namespaces;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
-import org.semanticweb.owlapi.vocab.OWLXMLVocabulary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -96,6 +97,10 @@ public class OWLAPIObo2Owl {
     private static final Logger LOG = LoggerFactory.getLogger(OWLAPIObo2Owl.class);
     private static final Set<String> SKIPPED_QUALIFIERS = Sets.newHashSet("gci_relation",
         "gci_filler", "cardinality", "minCardinality", "maxCardinality", "all_some", "all_only");
+    /**
+     * Number of term frames translated together when streaming frames from the parser.
+     */
+    private static final int STREAMING_BATCH_SIZE = 10000;
     protected final Map<String, String> idSpaceMap;
     protected final Set<OWLAnnotationProperty> apToDeclare;
     protected final Map<String, OWLClass> clsToDeclare;
@@ -105,6 +110,17 @@ public class OWLAPIObo2Owl {
     protected OWLOntology owlOntology;
     protected OWLDataFactory fac;
     protected OBODoc obodoc;
+    private int workers = 1;
+    /**
+     * True unless a subclass overrides {@link #loadOboToIRI(String)}, in which case every id goes
+     * through the override.
+     */
+    private final boolean sharedIdCache =
+        !overrides(getClass(), "loadOboToIRI", String.class);
+    /**
+     * Axioms translated by the current worker thread, added to the ontology in bulk.
+     */
+    private final ThreadLocal<List<OWLAxiom>> axiomBuffer = new ThreadLocal<>();
     /**
      * Cache for the id to IRI conversion. This cannot be replaced with a Caffeine cache - the
      * loading of keys is recursive, and a bug in ConcurrentHashMap implementation causes livelocks
@@ -126,7 +142,8 @@ public class OWLAPIObo2Owl {
      */
     public OWLAPIObo2Owl(OWLOntologyManager manager) {
         idSpaceMap = new HashMap<>();
-        apToDeclare = new HashSet<>();
+        // annotation properties can be declared concurrently by term frame translation
+        apToDeclare = ConcurrentHashMap.newKeySet();
         clsToDeclare = new HashMap<>();
         typedefToAnnotationProperty = new HashMap<>();
         init(manager);
@@ -337,6 +354,27 @@ public class OWLAPIObo2Owl {
         typedefToAnnotationProperty.clear();
     }
 
+    /**
+     * @return number of threads translating term frames
+     * @since 5.1.17
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sets the number of threads translating term frames. With more than one worker, term frames
+     * are translated concurrently; each worker buffers its axioms, and the buffers are added to
+     * the ontology in one bulk operation. Subclasses overriding the term translation methods must
+     * not modify shared state in them.
+     *
+     * @param workers number of threads; 1 for a sequential translation
+     * @since 5.1.17
+     */
+    public void setWorkers(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
     /**
      * Gets the manager.
      *
@@ -438,6 +476,36 @@ public class OWLAPIObo2Owl {
         return tr(in);
     }
 
+    /**
+     * Converts an OBO file without keeping its term frames in memory. The file is parsed twice:
+     * the first pass keeps only the header and typedef frames, which the translation of terms
+     * depends on; the second pass hands term frames to the translation in batches, as they are
+     * parsed. Term frames with the same id are translated separately instead of being merged.
+     *
+     * @param oboFile the obo file
+     * @param in the ontology to fill
+     * @return the OWL ontology
+     * @throws IOException if the file cannot be read
+     * @since 5.1.17
+     */
+    public OWLOntology convert(File oboFile, OWLOntology in) throws IOException {
+        obodoc = new OBOFormatParser().parse(oboFile, new OBODoc() {
+
+            @Override
+            public void addTermFrame(Frame f) {
+                // terms are translated in the second pass
+            }
+        });
+        init(in.getOWLOntologyManager());
+        trHeaderAndTypedefs(in);
+        TermFrameStream terms = new TermFrameStream();
+        new OBOFormatParser().parse(oboFile, terms);
+        terms.flush();
+        trImports(in);
+        postProcess(in);
+        return in;
+    }
+
     /**
      * Translate ontology.
      *
@@ -445,6 +513,15 @@ public class OWLAPIObo2Owl {
      * @return the OWL ontology
      */
     protected OWLOntology tr(OWLOntology in) {
+        trHeaderAndTypedefs(in);
+        trTermFrames(obodoc.getTermFrames());
+        // TODO - individuals
+        trImports(in);
+        postProcess(in);
+        return in;
+    }
+
+    private void trHeaderAndTypedefs(OWLOntology in) {
         setOwlOntology(in);
         Frame hf = verifyNotNull(obodoc.getHeaderFrame());
         Clause ontClause = hf.getClause(OboFormatTag.TAG_ONTOLOGY);
@@ -489,8 +566,10 @@ public class OWLAPIObo2Owl {
         trHeaderFrame(hf);
         obodoc.getTypedefFrames().forEach(this::trTypedefToAnnotationProperty);
         obodoc.getTypedefFrames().forEach(this::trTypedefFrame);
-        obodoc.getTermFrames().forEach(this::trTermFrame);
-        // TODO - individuals
+    }
+
+    private void trImports(OWLOntology in) {
+        Frame hf = verifyNotNull(obodoc.getHeaderFrame());
         for (Clause cl : hf.getClauses(OboFormatTag.TAG_IMPORT)) {
             String path = getURI(cl.getValue().toString());
             IRI importIRI = IRI.create(path);
@@ -500,8 +579,36 @@ public class OWLAPIObo2Owl {
             AddImport ai = new AddImport(in, owlImportsDeclaration);
             manager.applyChange(ai);
         }
-        postProcess(in);
-        return in;
+    }
+
+    /**
+     * Translates term frames, in parallel if more than one worker is set.
+     *
+     * @param frames term frames
+     */
+    protected void trTermFrames(Collection<Frame> frames) {
+        if (workers == 1 || frames.size() < 2) {
+            frames.forEach(this::trTermFrame);
+            return;
+        }
+        List<Callable<List<OWLAxiom>>> tasks = new ArrayList<>();
+        List<OWLAxiom> axioms = new ArrayList<>();
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            for (List<Frame> shard : pool.split(new ArrayList<>(frames))) {
+                tasks.add(() -> {
+                    List<OWLAxiom> buffer = new ArrayList<>();
+                    axiomBuffer.set(buffer);
+                    try {
+                        shard.forEach(this::trTermFrame);
+                    } finally {
+                        axiomBuffer.remove();
+                    }
+                    return buffer;
+                });
+            }
+            pool.invokeAll(tasks, axioms::addAll);
+        }
+        getOwlOntology().add(axioms);
     }
 
     /**
@@ -932,6 +1039,11 @@ public class OWLAPIObo2Owl {
             LOG.error("no axiom");
             return;
         }
+        List<OWLAxiom> buffer = axiomBuffer.get();
+        if (buffer != null) {
+            buffer.addAll(axioms);
+            return;
+        }
         getOwlOntology().add(axioms);
     }
 
@@ -1375,8 +1487,7 @@ public class OWLAPIObo2Owl {
     protected OWLAnnotationProperty trTagToAnnotationProp(String tag) {
         IRI iri = trTagToIRI(tag);
         OWLAnnotationProperty ap = fac.getOWLAnnotationProperty(iri);
-        if (!apToDeclare.contains(ap)) {
-            apToDeclare.add(ap);
+        if (apToDeclare.add(ap)) {
             add(fac.getOWLDeclarationAxiom(ap));
             Obo2OWLVocabulary vocab = Obo2OWLConstants.getVocabularyObj(tag);
             if (vocab != null) {
@@ -1462,9 +1573,23 @@ public class OWLAPIObo2Owl {
      * @return the iri
      */
     public IRI oboIdToIRI(String id) {
+        // prefixed ids translate the same way in all documents; ids with spaces are rejected, and
+        // logged, by loadOboToIRI
+        if (sharedIdCache && idSpaceMap.isEmpty() && id.indexOf(':') >= 0
+            && id.indexOf(' ') < 0) {
+            return OboIdCache.getSharedCache().getIRI(id);
+        }
         return idToIRICache.getUnchecked(id);
     }
 
+    private static boolean overrides(Class<?> c, String name, Class<?>... parameterTypes) {
+        try {
+            return c.getMethod(name, parameterTypes).getDeclaringClass() != OWLAPIObo2Owl.class;
+        } catch (NoSuchMethodException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
     /**
      * Obo id to iri.
      *
@@ -1476,36 +1601,9 @@ public class OWLAPIObo2Owl {
             LOG.error("id contains space: \"{}\"", id);
             throw new OWLParserException("spaces not allowed: '" + id + '\'');
         }
-        // No conversion is required if this is already an IRI (ID-as-URI rule)
-        if (id.startsWith("http:")) {
-            // TODO - roundtrip from other schemes
-            return IRI.create(id);
-        } else if (id.startsWith("https:")) {
-            // TODO - roundtrip from other schemes
-            return IRI.create(id);
-        } else if (id.startsWith("ftp:")) {
-            // TODO - roundtrip from other schemes
-            return IRI.create(id);
-        } else if (id.startsWith("urn:")) {
-            // TODO - roundtrip from other schemes
-            return IRI.create(id);
-        } else if (id.startsWith("owl:") || id.startsWith("xsd:") || id.startsWith("rdf:")
-            || id.startsWith("rdfs:")) {
-            for (OWL2Datatype d : OWL2Datatype.values()) {
-                if (d.getPrefixedName().equals(id)) {
-                    return d.getIRI();
-                }
-            }
-            for (OWLRDFVocabulary d : OWLRDFVocabulary.values()) {
-                if (d.getPrefixedName().equals(id)) {
-                    return d.getIRI();
-                }
-            }
-            for (OWLXMLVocabulary d : OWLXMLVocabulary.values()) {
-                if (d.getPrefixedName().equals(id)) {
-                    return d.getIRI();
-                }
-            }
+        IRI fixed = OboIdCache.fixedIRI(id);
+        if (fixed != null) {
+            return fixed;
         }
         // TODO - treat_xrefs_as_equivalent
         // special case rule for relation xrefs:
@@ -1535,26 +1633,11 @@ public class OWLAPIObo2Owl {
             db = getDefaultIDSpace() + '#';
             localId = idParts[0];
         }
-        String uriPrefix = DEFAULT_IRI_PREFIX + db;
-        if (idSpaceMap.containsKey(db)) {
-            uriPrefix = idSpaceMap.get(db);
-        }
-        String safeId;
-        try {
-            safeId = java.net.URLEncoder.encode(localId, "US-ASCII");
-        } catch (UnsupportedEncodingException e1) {
-            throw new OWLRuntimeException(e1);
-        }
-        if (safeId.contains(" ")) {
-            safeId = safeId.replace(" ", "_");
+        String uriPrefix = idSpaceMap.get(db);
+        if (uriPrefix == null) {
+            uriPrefix = OboIdCache.getSharedCache().getPrefix(db);
         }
-        IRI iri = null;
-        try {
-            iri = IRI.create(uriPrefix + safeId);
-        } catch (IllegalArgumentException e) {
-            throw new OWLRuntimeException(e);
-        }
-        return iri;
+        return OboIdCache.iri(uriPrefix, localId);
     }
 
     // 5.9.3. Special Rules for Relations
@@ -1611,4 +1694,32 @@ public class OWLAPIObo2Owl {
     protected String getDefaultIDSpace() {
         return defaultIDSpace;
     }
+
+    /**
+     * Document receiving term frames from the parser: frames get the default namespace, as the
+     * parser would add it at the end of the document, and are translated in batches.
+     */
+    private class TermFrameStream extends OBODoc {
+
+        private final List<Frame> batch = new ArrayList<>();
+
+        @Override
+        public void addTermFrame(Frame f) {
+            Frame header = getHeaderFrame();
+            String namespace = header == null ? null
+                : header.getTagValue(OboFormatTag.TAG_DEFAULT_NAMESPACE, String.class);
+            if (namespace != null && f.getClause(OboFormatTag.TAG_NAMESPACE) == null) {
+                f.addClause(new Clause(OboFormatTag.TAG_NAMESPACE, namespace));
+            }
+            batch.add(f);
+            if (batch.size() == STREAMING_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            trTermFrames(batch);
+            batch.clear();
+        }
+    }
 }
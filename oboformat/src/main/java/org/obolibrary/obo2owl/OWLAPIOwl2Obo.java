@@ -8,12 +8,15 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URLDecoder;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -22,9 +25,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -38,6 +45,9 @@ import org.obolibrary.oboformat.model.QualifierValue;
 import org.obolibrary.oboformat.model.Xref;
 import org.obolibrary.oboformat.parser.OBOFormatConstants;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.obolibrary.oboformat.writer.OBOFormatWriter;
+import org.obolibrary.oboformat.writer.OBOFormatWriter.NameProvider;
+import org.obolibrary.oboformat.writer.OBOFormatWriter.OBODocNameProvider;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -90,6 +100,7 @@ import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.util.WorkerPool;
 import org.semanticweb.owlapi.vocab.Namespaces;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.slf4j.Logger;
@@ -112,6 +123,10 @@ public class OWLAPIOwl2Obo {
      * The log.
      */
     private static final Logger LOG = LoggerFactory.getLogger(OWLAPIOwl2Obo.class);
+    /**
+     * Number of term frames translated together when streaming frames to a writer.
+     */
+    private static final int STREAMING_BATCH_SIZE = 10000;
     private static final String IRI_CLASS_SYNONYMTYPEDEF =
         Obo2OWLConstants.DEFAULT_IRI_PREFIX + "IAO_synonymtypedef";
     private static final String IRI_CLASS_SUBSETDEF =
@@ -120,7 +135,7 @@ public class OWLAPIOwl2Obo {
         new HashSet<>(Arrays.asList("gci_relation", "gci_filler", "cardinality", MIN_CARDINALITY,
             MAX_CARDINALITY, "all_some", "all_only"));
     protected final Pattern absoluteURLPattern = Pattern.compile("<\\s*http.*?>");
-    protected final Set<OWLAxiom> untranslatableAxioms = new HashSet<>();
+    protected final Set<OWLAxiom> untranslatableAxioms = ConcurrentHashMap.newKeySet();
     protected final Map<String, String> idSpaceMap = new HashMap<>();
     protected final Set<OWLAnnotationProperty> apToDeclare = new HashSet<>();
     private final OWLDataFactory df;
@@ -134,6 +149,7 @@ public class OWLAPIOwl2Obo {
      * Mute untranslatable axiom warnings.
      */
     private boolean muteUntranslatableAxioms = false;
+    private int workers = 1;
 
     /**
      * @param translationManager the translation manager
@@ -383,8 +399,13 @@ public class OWLAPIOwl2Obo {
      *
      * @param iriId the iri id
      * @return obo identifier
+     * @see OboIdCache#getIdentifier(IRI)
      */
     public static String getIdentifier(IRI iriId) {
+        return OboIdCache.getSharedCache().getIdentifier(iriId);
+    }
+
+    static String loadIdentifier(IRI iriId) {
         String iri = iriId.toString();
         // canonical IRIs
         String id = getId(iri);
@@ -655,6 +676,27 @@ public class OWLAPIOwl2Obo {
         this.discardUntranslatable = discardUntranslatable;
     }
 
+    /**
+     * @return number of threads translating term frames
+     * @since 5.1.17
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sets the number of threads translating term frames. Axioms contributing to a term frame are
+     * grouped by the frame id, and each group is translated by a single worker, in the order used
+     * by the sequential translation. Subclasses overriding the translation methods for class
+     * declarations and class axioms must only modify the frame they are given.
+     *
+     * @param workers number of threads; 1 for a sequential translation
+     * @since 5.1.17
+     */
+    public void setWorkers(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
     /**
      * Gets the manager.
      *
@@ -704,6 +746,91 @@ public class OWLAPIOwl2Obo {
         return tr();
     }
 
+    /**
+     * Converts an ontology and writes it, without building the complete OBO document. Term frames
+     * are translated in batches, in sorted id order, and each batch is written before the next
+     * one is translated. Term frames are translated twice: the first pass keeps only the term
+     * names and the untranslatable axioms, which are needed before the first frame is written.
+     *
+     * @param ont the ontology
+     * @param oboWriter the OBO writer
+     * @param writer the writer
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @since 5.1.17
+     */
+    public void convert(OWLOntology ont, OBOFormatWriter oboWriter, Writer writer)
+        throws IOException {
+        owlOntology = ont;
+        ontologyId = getOntologyId(ont);
+        init();
+        setObodoc(new OBODoc());
+        preProcess();
+        tr(getOWLOntology());
+        List<List<OWLAxiom>> groups = new ArrayList<>(trNonTermAxioms().values());
+        int batches = (groups.size() + STREAMING_BATCH_SIZE - 1) / STREAMING_BATCH_SIZE;
+        Map<String, String> names = new HashMap<>();
+        for (int i = 0; i < batches; i++) {
+            for (Frame f : trTermBatch(groups, i)) {
+                Clause cl = f.getClause(OboFormatTag.TAG_NAME);
+                if (cl != null) {
+                    names.put(f.getId(), cl.getValue(String.class));
+                }
+            }
+        }
+        addUntranslatableAxioms();
+        OBODoc doc = getObodoc();
+        NameProvider typedefNames = new OBODocNameProvider(doc);
+        NameProvider nameProvider = new NameProvider() {
+
+            @Override
+            @Nullable
+            public String getName(String id) {
+                String name = names.get(id);
+                if (name != null) {
+                    return name;
+                }
+                return typedefNames.getName(id);
+            }
+
+            @Override
+            @Nullable
+            public String getDefaultOboNamespace() {
+                return typedefNames.getDefaultOboNamespace();
+            }
+        };
+        Stream<Frame> termFrames =
+            IntStream.range(0, batches).mapToObj(i -> trTermBatch(groups, i)).flatMap(List::stream);
+        Stream<Frame> typedefFrames =
+            doc.getTypedefFrames().stream().sorted(Comparator.comparing(Frame::getId));
+        oboWriter.write(checkNotNull(doc.getHeaderFrame()),
+            Stream.concat(termFrames, typedefFrames), writer, nameProvider);
+    }
+
+    /**
+     * Translates one batch of term frame axiom groups into a separate document, so that the term
+     * frames of the batch can be released once written.
+     *
+     * @param groups axioms grouped by term frame, in sorted id order
+     * @param batch index of the batch
+     * @return term frames of the batch, sorted by id
+     */
+    private List<Frame> trTermBatch(List<List<OWLAxiom>> groups, int batch) {
+        OBODoc doc = getObodoc();
+        OBODoc batchDoc = new OBODoc();
+        batchDoc.setHeaderFrame(checkNotNull(doc.getHeaderFrame()));
+        int from = batch * STREAMING_BATCH_SIZE;
+        setObodoc(batchDoc);
+        try {
+            trTermAxioms(
+                groups.subList(from, Math.min(groups.size(), from + STREAMING_BATCH_SIZE)));
+        } finally {
+            setObodoc(doc);
+        }
+        List<Frame> frames = new ArrayList<>(batchDoc.getTermFrames());
+        frames.sort(Comparator.comparing(Frame::getId));
+        return frames;
+    }
+
     protected OWLOntology getOWLOntology() {
         return verifyNotNull(owlOntology);
     }
@@ -726,10 +853,106 @@ public class OWLAPIOwl2Obo {
         setObodoc(new OBODoc());
         preProcess();
         tr(getOWLOntology());
+        trTermAxioms(trNonTermAxioms().values());
+        addUntranslatableAxioms();
+        return getObodoc();
+    }
+
+    /**
+     * Translates the axioms that do not contribute to a term frame, and groups the others by the
+     * id of the term frame they contribute to. Within a group, axioms keep the order of the
+     * sequential translation.
+     *
+     * @return axioms contributing to term frames, by frame id
+     */
+    protected Map<String, List<OWLAxiom>> trNonTermAxioms() {
+        Map<String, List<OWLAxiom>> termAxioms = new TreeMap<>();
+        OWLAxiomVisitor visitor = new Translator();
+        Consumer<OWLAxiom> grouper = ax -> {
+            String id = getTermFrameId(ax);
+            if (id == null) {
+                ax.accept(visitor);
+            } else {
+                termAxioms.computeIfAbsent(id, k -> new ArrayList<>()).add(ax);
+            }
+        };
         // declarations need to be sorted - otherwise there is a risk of id being processed before
         // altId, which causes spurious clauses.
-        accept(getOWLOntology().axioms(AxiomType.DECLARATION).sorted());
-        AxiomType.skipDeclarations().forEach(t -> accept(getOWLOntology().axioms(t)));
+        getOWLOntology().axioms(AxiomType.DECLARATION).sorted().forEach(grouper);
+        AxiomType.skipDeclarations().forEach(t -> getOWLOntology().axioms(t).forEach(grouper));
+        return termAxioms;
+    }
+
+    /**
+     * @param ax axiom
+     * @return id of the only term frame the axiom can contribute to, or null if the axiom can
+     *         contribute to other frames
+     */
+    @Nullable
+    protected String getTermFrameId(OWLAxiom ax) {
+        OWLClassExpression owner = null;
+        if (ax instanceof OWLDeclarationAxiom) {
+            OWLEntity entity = ((OWLDeclarationAxiom) ax).getEntity();
+            if (!entity.isOWLClass() || entity.isBottomEntity() || entity.isTopEntity()) {
+                return null;
+            }
+            // alt_ids are added to the frame of the replacing class
+            Optional<OboAltIdCheckResult> altId = checkForOboAltId(
+                asList(getOWLOntology().annotationAssertionAxioms(entity.getIRI())));
+            if (altId.isPresent()) {
+                return altId.get().replacedBy;
+            }
+            owner = entity.asOWLClass();
+        } else if (ax instanceof OWLSubClassOfAxiom) {
+            owner = ((OWLSubClassOfAxiom) ax).getSubClass();
+            if (owner instanceof OWLObjectIntersectionOf) {
+                // restricted GCIs are added to the frame of the named operand
+                owner = ((OWLObjectIntersectionOf) owner).operands()
+                    .filter(x -> !x.isAnonymous()).findAny().orElse(null);
+            }
+        } else if (ax instanceof OWLEquivalentClassesAxiom) {
+            List<OWLClassExpression> list =
+                asList(((OWLEquivalentClassesAxiom) ax).classExpressions());
+            if (list.size() == 2) {
+                owner = list.get(0).isAnonymous() ? list.get(1) : list.get(0);
+            }
+        } else if (ax instanceof OWLDisjointClassesAxiom) {
+            List<OWLClassExpression> list =
+                asList(((OWLDisjointClassesAxiom) ax).classExpressions());
+            if (list.size() > 1) {
+                owner = list.get(0);
+            }
+        }
+        if (owner instanceof OWLClass) {
+            return getIdentifier(((OWLClass) owner).getIRI());
+        }
+        return null;
+    }
+
+    /**
+     * Translates axioms grouped by term frame, in parallel if more than one worker is set.
+     *
+     * @param groups axioms grouped by term frame
+     */
+    protected void trTermAxioms(Collection<List<OWLAxiom>> groups) {
+        if (workers == 1 || groups.size() < 2) {
+            OWLAxiomVisitor visitor = new Translator();
+            groups.forEach(g -> g.forEach(ax -> ax.accept(visitor)));
+            return;
+        }
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            List<Runnable> tasks = new ArrayList<>();
+            for (List<List<OWLAxiom>> shard : pool.split(new ArrayList<>(groups))) {
+                tasks.add(() -> {
+                    OWLAxiomVisitor visitor = new Translator();
+                    shard.forEach(g -> g.forEach(ax -> ax.accept(visitor)));
+                });
+            }
+            pool.runAll(tasks);
+        }
+    }
+
+    protected void addUntranslatableAxioms() {
         if (!untranslatableAxioms.isEmpty() && !discardUntranslatable) {
             String axiomString = OwlStringTools.translate(untranslatableAxioms);
             if (!axiomString.isEmpty()) {
@@ -741,12 +964,6 @@ public class OWLAPIOwl2Obo {
                 headerFrame.addClause(new Clause(OboFormatTag.TAG_OWL_AXIOMS, axiomString));
             }
         }
-        return getObodoc();
-    }
-
-    private void accept(Stream<? extends OWLAxiom> axioms) {
-        OWLAxiomVisitor visitor = new Translator();
-        axioms.forEach(ax -> ax.accept(visitor));
     }
 
     /**
@@ -807,10 +1024,14 @@ public class OWLAPIOwl2Obo {
 
     protected void add(@Nullable Frame f) {
         if (f != null) {
-            try {
-                getObodoc().addFrame(f);
-            } catch (Exception ex) {
-                LOG.error(ex.getMessage(), ex);
+            OBODoc doc = getObodoc();
+            // frames are added concurrently when translating with more than one worker
+            synchronized (doc) {
+                try {
+                    doc.addFrame(f);
+                } catch (Exception ex) {
+                    LOG.error(ex.getMessage(), ex);
+                }
             }
         }
     }
@@ -1859,14 +2080,17 @@ public class OWLAPIOwl2Obo {
     }
 
     private Frame getTermFrame(String id) {
-        Frame f = getObodoc().getTermFrame(id);
-        if (f == null) {
-            f = new Frame(FrameType.TERM);
-            f.setId(id);
-            f.addClause(new Clause(OboFormatTag.TAG_ID, id));
-            add(f);
+        OBODoc doc = getObodoc();
+        synchronized (doc) {
+            Frame f = doc.getTermFrame(id);
+            if (f == null) {
+                f = new Frame(FrameType.TERM);
+                f.setId(id);
+                f.addClause(new Clause(OboFormatTag.TAG_ID, id));
+                add(f);
+            }
+            return f;
         }
-        return f;
     }
 
     /**
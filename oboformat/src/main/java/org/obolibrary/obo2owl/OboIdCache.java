@@ -0,0 +1,187 @@
+package org.obolibrary.obo2owl;
+
+import static org.obolibrary.obo2owl.Obo2OWLConstants.DEFAULT_IRI_PREFIX;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collections;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.semanticweb.owlapi.vocab.OWLXMLVocabulary;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Bounded caches for the translation of prefixed OBO ids to IRIs and of IRIs to OBO ids, shared
+ * by all translator instances. Only translations that do not depend on the document being
+ * translated are cached here: {@link OWLAPIObo2Owl} keeps translating shorthand ids, and ids in
+ * id spaces it maps to other prefixes, with its own cache, as it does for all ids when a subclass
+ * overrides {@link OWLAPIObo2Owl#loadOboToIRI(String)}. The IRI prefixes of the id spaces are
+ * cached as well. The size of each cache is {@link ConfigurationOptions#CACHE_SIZE}.
+ *
+ * @since 5.1.17
+ */
+public class OboIdCache {
+
+    private static final OboIdCache SHARED = new OboIdCache(ConfigurationOptions.CACHE_SIZE
+        .getValue(Integer.class, Collections.emptyMap()).longValue());
+    private final LoadingCache<String, String> prefixes;
+    private final LoadingCache<String, IRI> iris;
+    private final LoadingCache<IRI, String> ids;
+
+    OboIdCache(long maximumSize) {
+        prefixes = CacheBuilder.newBuilder().maximumSize(maximumSize)
+            .build(new CacheLoader<String, String>() {
+
+                @Override
+                public String load(String key) {
+                    return DEFAULT_IRI_PREFIX + key;
+                }
+            });
+        iris = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats()
+            .build(new CacheLoader<String, IRI>() {
+
+                @Override
+                public IRI load(String key) {
+                    return loadIRI(key);
+                }
+            });
+        ids = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats()
+            .build(new CacheLoader<IRI, String>() {
+
+                @Override
+                public String load(IRI key) {
+                    return OWLAPIOwl2Obo.loadIdentifier(key);
+                }
+            });
+    }
+
+    /**
+     * @return the cache shared by all translators
+     */
+    public static OboIdCache getSharedCache() {
+        return SHARED;
+    }
+
+    /**
+     * @param id prefixed OBO id, i.e., containing a colon
+     * @return the IRI
+     */
+    public IRI getIRI(String id) {
+        return iris.getUnchecked(id);
+    }
+
+    /**
+     * @param iri IRI
+     * @return the OBO id
+     */
+    public String getIdentifier(IRI iri) {
+        return ids.getUnchecked(iri);
+    }
+
+    /**
+     * @return hit and miss counts of the OBO id to IRI cache
+     */
+    public CacheStats getIRIStats() {
+        return iris.stats();
+    }
+
+    /**
+     * @return hit and miss counts of the IRI to OBO id cache
+     */
+    public CacheStats getIdentifierStats() {
+        return ids.stats();
+    }
+
+    /**
+     * Discards all cached translations.
+     */
+    public void invalidateAll() {
+        prefixes.invalidateAll();
+        iris.invalidateAll();
+        ids.invalidateAll();
+    }
+
+    private IRI loadIRI(String id) {
+        IRI iri = fixedIRI(id);
+        if (iri != null) {
+            return iri;
+        }
+        int i = id.indexOf(':');
+        String localId = id.substring(i + 1);
+        // NonCanonical-Prefixed-ID
+        String db = id.substring(0, i) + (localId.contains("_") ? "#_" : "_");
+        return iri(getPrefix(db), localId);
+    }
+
+    /**
+     * @param db id space, followed by the separator of the local id
+     * @return IRI prefix of the id space
+     */
+    String getPrefix(String db) {
+        return prefixes.getUnchecked(db);
+    }
+
+    /**
+     * @param id OBO id
+     * @return the IRI of an id that is already an IRI or is a prefixed name of the OWL, RDF and
+     *         XSD vocabularies, or null for all other ids
+     */
+    @Nullable
+    static IRI fixedIRI(String id) {
+        if (id.contains(" ")) {
+            throw new OWLParserException("spaces not allowed: '" + id + '\'');
+        }
+        // No conversion is required if this is already an IRI (ID-as-URI rule)
+        if (id.startsWith("http:") || id.startsWith("https:") || id.startsWith("ftp:")
+            || id.startsWith("urn:")) {
+            // TODO - roundtrip from other schemes
+            return IRI.create(id);
+        } else if (id.startsWith("owl:") || id.startsWith("xsd:") || id.startsWith("rdf:")
+            || id.startsWith("rdfs:")) {
+            for (OWL2Datatype d : OWL2Datatype.values()) {
+                if (d.getPrefixedName().equals(id)) {
+                    return d.getIRI();
+                }
+            }
+            for (OWLRDFVocabulary d : OWLRDFVocabulary.values()) {
+                if (d.getPrefixedName().equals(id)) {
+                    return d.getIRI();
+                }
+            }
+            for (OWLXMLVocabulary d : OWLXMLVocabulary.values()) {
+                if (d.getPrefixedName().equals(id)) {
+                    return d.getIRI();
+                }
+            }
+        }
+        return null;
+    }
+
+    static IRI iri(String uriPrefix, String localId) {
+        String safeId;
+        try {
+            safeId = URLEncoder.encode(localId, "US-ASCII");
+        } catch (UnsupportedEncodingException e1) {
+            throw new OWLRuntimeException(e1);
+        }
+        if (safeId.contains(" ")) {
+            safeId = safeId.replace(" ", "_");
+        }
+        try {
+            return IRI.create(uriPrefix + safeId);
+        } catch (IllegalArgumentException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+}
@@ -4,14 +4,21 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
 import org.obolibrary.oboformat.model.Clause;
 import org.obolibrary.oboformat.model.Frame;
 import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.Xref;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.semanticweb.owlapi.util.WorkerPool;
 
 /**
  * Diffs two OBO Documents. Performs structural diffing only - does not use reasoning (use OWLDiff
@@ -38,6 +45,146 @@ public class OBODocDiffer {
         return diffs;
     }
 
+    /**
+     * Indexed diff: frames are matched by id, frames whose clauses are the same in the same order
+     * are skipped, and the clauses of the other frames are looked up through a hash index rather
+     * than compared pairwise. Unlike {@link #getDiffs(OBODoc, OBODoc)}, frames only present in
+     * {@code doc2} are reported with frame number 2.
+     *
+     * @param doc1 doc1
+     * @param doc2 doc2
+     * @param workers number of threads used to compare frames
+     * @return list of diffs
+     * @since 5.1.17
+     */
+    public static List<Diff> getDiffs(OBODoc doc1, OBODoc doc2, int workers) {
+        List<Diff> diffs = new ArrayList<>();
+        diff(doc1, doc2, workers, diffs::add);
+        return diffs;
+    }
+
+    /**
+     * Indexed diff, as {@link #getDiffs(OBODoc, OBODoc, int)}, passing the diffs to a consumer
+     * as they are found instead of collecting them. Diffs are passed on the calling thread, in
+     * document order.
+     *
+     * @param doc1 doc1
+     * @param doc2 doc2
+     * @param workers number of threads used to compare frames
+     * @param consumer consumer for the diffs
+     * @since 5.1.17
+     */
+    public static void diff(OBODoc doc1, OBODoc doc2, int workers, Consumer<Diff> consumer) {
+        diffFrame("Header", verifyNotNull(doc1.getHeaderFrame()),
+            verifyNotNull(doc2.getHeaderFrame())).forEach(consumer);
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            diffFrames("Term", doc1.getTermFrames(), doc2.getTermFrames(), pool, consumer);
+            diffFrames("Typedef", doc1.getTypedefFrames(), doc2.getTypedefFrames(), pool,
+                consumer);
+            diffFrames("Instance", doc1.getInstanceFrames(), doc2.getInstanceFrames(), pool,
+                consumer);
+        }
+    }
+
+    private static void diffFrames(String ftype, Collection<Frame> fl1, Collection<Frame> fl2,
+        WorkerPool pool, Consumer<Diff> consumer) {
+        Map<String, Frame> fm1 = new HashMap<>();
+        fl1.forEach(f -> fm1.put(f.getId(), f));
+        Map<String, Frame> fm2 = new HashMap<>();
+        fl2.forEach(f -> fm2.put(f.getId(), f));
+        List<Callable<List<Diff>>> tasks = new ArrayList<>();
+        for (List<Frame> shard : pool.split(new ArrayList<>(fl1))) {
+            tasks.add(() -> diffFrames(ftype, shard, fm2));
+        }
+        pool.invokeAll(tasks, (List<Diff> diffs) -> diffs.forEach(consumer));
+        for (Frame f2 : fl2) {
+            if (!fm1.containsKey(f2.getId())) {
+                consumer.accept(new Diff(ftype, "cannot find frame", f2, 2));
+            }
+        }
+    }
+
+    private static List<Diff> diffFrames(String ftype, List<Frame> fl1, Map<String, Frame> fm2) {
+        List<Diff> diffs = new ArrayList<>();
+        for (Frame f1 : fl1) {
+            Frame f2 = fm2.get(f1.getId());
+            if (f2 == null) {
+                diffs.add(new Diff(ftype, "cannot find frame", f1, 1));
+            } else {
+                diffs.addAll(diffFrame(ftype, f1, f2));
+            }
+        }
+        return diffs;
+    }
+
+    private static List<Diff> diffFrame(String ftype, Frame f1, Frame f2) {
+        if (sameClauses(f1.getClauses(), f2.getClauses())) {
+            return Collections.emptyList();
+        }
+        List<Diff> diffs = new ArrayList<>();
+        unmatchedClauses(ftype, f1, f2, 1, diffs);
+        unmatchedClauses(ftype, f2, f1, 2, diffs);
+        return diffs;
+    }
+
+    private static boolean sameClauses(Collection<Clause> l1, Collection<Clause> l2) {
+        if (l1.size() != l2.size()) {
+            return false;
+        }
+        Iterator<Clause> i2 = l2.iterator();
+        for (Clause c : l1) {
+            if (!matches(c, i2.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void unmatchedClauses(String ftype, Frame f1, Frame f2, int n,
+        List<Diff> diffs) {
+        Map<Integer, List<Clause>> index = new HashMap<>();
+        f2.getClauses().forEach(
+            c -> index.computeIfAbsent(Integer.valueOf(matchHash(c)), k -> new ArrayList<>(1))
+                .add(c));
+        for (Clause c : f1.getClauses()) {
+            List<Clause> candidates = index.get(Integer.valueOf(matchHash(c)));
+            if (candidates == null || candidates.stream().noneMatch(c2 -> matches(c, c2))) {
+                diffs.add(new Diff(ftype, "cannot_match_clause", f1, f2, c, n));
+            }
+        }
+    }
+
+    private static boolean matches(Clause c, Clause c2) {
+        if (!c.equals(c2)) {
+            return false;
+        }
+        if (OboFormatTag.TAG_XREF.getTag().equals(c.getTag())) {
+            return Objects.equals(c.getValue(Xref.class).getAnnotation(),
+                c2.getValue(Xref.class).getAnnotation());
+        }
+        return true;
+    }
+
+    /**
+     * Hash consistent with {@link Clause#equals(Object)}, which, unlike
+     * {@link Clause#hashCode()}, treats boolean values and their string forms as equal. Xrefs and
+     * qualifiers are left out, since their comparison ignores order.
+     */
+    private static int matchHash(Clause c) {
+        Collection<Object> values = c.getValues();
+        int hash = 31 * Objects.hashCode(c.getTag()) + values.size();
+        if (values.size() != 1) {
+            return 31 * hash + values.hashCode();
+        }
+        Object value = values.iterator().next();
+        if ("true".equals(value)) {
+            value = Boolean.TRUE;
+        } else if ("false".equals(value)) {
+            value = Boolean.FALSE;
+        }
+        return 31 * hash + Objects.hashCode(value);
+    }
+
     // FRAME LISTS
     private static List<Diff> getDiffsAsym(String ftype, Collection<Frame> fl1,
         Collection<Frame> fl2, int n, boolean isCheckFrame) {
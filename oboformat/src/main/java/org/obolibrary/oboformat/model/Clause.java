@@ -120,10 +120,24 @@ public class Clause {
                 values = Collections.singletonList(values.get(0));
                 break;
             default:
-                ((ArrayList<?>) values).trimToSize();
+                if (values instanceof ArrayList) {
+                    ((ArrayList<?>) values).trimToSize();
+                }
         }
     }
 
+    /**
+     * Replaces tag, values, xrefs and qualifiers with the canonical instances of the interner.
+     *
+     * @param interner interner for the document
+     */
+    void compact(ClauseInterner interner) {
+        tag = interner.intern(tag);
+        values = interner.intern(values);
+        xrefs = interner.intern(xrefs);
+        qualifierValues = interner.intern(qualifierValues);
+    }
+
     void freezeXrefs() {
         switch (xrefs.size()) {
             case 0:
@@ -0,0 +1,65 @@
+package org.obolibrary.oboformat.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Canonical instances of the tags, values, xrefs and qualifiers of the clauses of a document, used
+ * by {@link OBODoc#compact()}. Lists are shared between clauses, and are therefore unmodifiable.
+ */
+final class ClauseInterner {
+
+    private final Map<Object, Object> objects = new HashMap<>();
+    private final Map<List<Object>, List<?>> lists = new HashMap<>();
+
+    /**
+     * Xref equality ignores the annotation, which must be kept.
+     */
+    private static Object key(@Nullable Object o) {
+        if (o instanceof Xref) {
+            Xref x = (Xref) o;
+            return Arrays.asList(Xref.class, x.getIdref(), x.getAnnotation());
+        }
+        return o;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    <T> T intern(@Nullable T o) {
+        if (o == null) {
+            return null;
+        }
+        return (T) objects.computeIfAbsent(key(o), k -> o);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> List<T> intern(Collection<T> c) {
+        if (c.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> keys = new ArrayList<>(c.size());
+        c.forEach(o -> keys.add(key(o)));
+        List<?> list = lists.get(keys);
+        if (list == null) {
+            Object[] array = new Object[c.size()];
+            int i = 0;
+            for (T o : c) {
+                array[i++] = intern(o);
+            }
+            if (array.length == 1) {
+                list = Collections.singletonList(array[0]);
+            } else {
+                list = Collections.unmodifiableList(Arrays.asList(array));
+            }
+            lists.put(keys, list);
+        }
+        return (List<T>) list;
+    }
+}
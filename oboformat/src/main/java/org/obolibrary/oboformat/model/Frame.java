@@ -3,6 +3,7 @@ package org.obolibrary.oboformat.model;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -73,6 +74,24 @@ public class Frame {
         }
     }
 
+    /**
+     * Compacts the clauses of this frame and stores them in an array. The frame is thawed as
+     * necessary if it is subsequently modified.
+     *
+     * @param interner interner for the document
+     */
+    void compact(ClauseInterner interner) {
+        if (clauses.isEmpty()) {
+            clauses = Collections.emptyList();
+            return;
+        }
+        Clause[] array = clauses.toArray(new Clause[clauses.size()]);
+        for (Clause clause : array) {
+            clause.compact(interner);
+        }
+        clauses = Arrays.asList(array);
+    }
+
     /**
      * @return the type
      */
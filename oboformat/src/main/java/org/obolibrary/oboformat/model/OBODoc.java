@@ -2,6 +2,7 @@ package org.obolibrary.oboformat.model;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -131,6 +132,27 @@ public class OBODoc {
         }
     }
 
+    /**
+     * Compacting an OBODoc replaces the tags, values, xrefs and qualifiers of all clauses with
+     * instances shared across the document, and stores the clauses of each frame in an array. The
+     * accessors of frames and clauses are unchanged; clause collections become unmodifiable, and
+     * are copied when a clause is modified. Xrefs and qualifier values are shared between clauses
+     * and must not be modified in place after compacting.
+     *
+     * @since 5.1.17
+     */
+    public void compact() {
+        ClauseInterner interner = new ClauseInterner();
+        if (headerFrame != null) {
+            verifyNotNull(headerFrame).compact(interner);
+        }
+        for (Map<String, Frame> frameMap : Arrays.asList(termFrameMap, typedefFrameMap,
+            instanceFrameMap)) {
+            frameMap.values().forEach(frame -> frame.compact(interner));
+        }
+        annotationFrames.forEach(frame -> frame.compact(interner));
+    }
+
     /**
      * @param id the id
      * @return the term frame
@@ -140,6 +162,16 @@ public class OBODoc {
         return getTermFrame(id, false);
     }
 
+    /**
+     * @param id the id
+     * @return the removed term frame, or null if there was none
+     * @since 5.1.17
+     */
+    @Nullable
+    public Frame removeTermFrame(String id) {
+        return termFrameMap.remove(id);
+    }
+
     /**
      * @param id the id
      * @param followImport the follow import
@@ -377,6 +409,32 @@ public class OBODoc {
         return getHeaderDescriptor();
     }
 
+    /**
+     * Collects the ids of the term and typedef frames of this document and of its import closure,
+     * for lookups that would otherwise walk the imported documents every time.
+     *
+     * @param termIds set to add the term frame ids to
+     * @param typedefIds set to add the typedef frame ids to
+     * @since 5.1.17
+     */
+    public void collectFrameIds(Set<String> termIds, Set<String> typedefIds) {
+        // this set is used to check for cycles
+        Set<String> visited = new HashSet<>();
+        visited.add(getHeaderDescriptor());
+        collectFrameIds(termIds, typedefIds, visited);
+    }
+
+    private void collectFrameIds(Set<String> termIds, Set<String> typedefIds,
+        Set<String> visitedDocs) {
+        termIds.addAll(termFrameMap.keySet());
+        typedefIds.addAll(typedefFrameMap.keySet());
+        for (OBODoc doc : importedOBODocs) {
+            if (visitedDocs.add(doc.getHeaderDescriptor())) {
+                doc.collectFrameIds(termIds, typedefIds, visitedDocs);
+            }
+        }
+    }
+
     /**
      * @return the header descriptor
      */
@@ -0,0 +1,193 @@
+package org.obolibrary.oboformat.parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import org.obolibrary.oboformat.model.Clause;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.semanticweb.owlapi.util.WorkerPool;
+
+/**
+ * Checks the references of the term and typedef frames of a document in a single pass over their
+ * clauses, optionally expanding the xrefs of term frames in the same pass. References are
+ * resolved against an index of the frame ids of the document and, if imports are followed, of
+ * its import closure; the index is built when the scan starts, so frames added by xref expansion
+ * are not seen by the checks.
+ *
+ * @since 5.1.17
+ */
+public class OBODocScanner {
+
+    private final OBODoc doc;
+    private final boolean followImport;
+    @Nullable
+    private XrefExpander xrefExpander;
+    private int workers = 1;
+    private Set<String> termIds = new HashSet<>();
+    private Set<String> typedefIds = new HashSet<>();
+
+    /**
+     * @param doc document to scan
+     * @param followImport true if references can be resolved in imported documents
+     */
+    public OBODocScanner(OBODoc doc, boolean followImport) {
+        this.doc = doc;
+        this.followImport = followImport;
+    }
+
+    /**
+     * @param xrefExpander expander for the xrefs of the term frames of the document, or null to
+     *        only check references
+     */
+    public void setXrefExpander(@Nullable XrefExpander xrefExpander) {
+        this.xrefExpander = xrefExpander;
+    }
+
+    /**
+     * @return number of threads used to check frames
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @param workers number of threads used to check frames; 1 for a sequential scan
+     */
+    public void setWorkers(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Scans the document. In a sequential scan, dangling references are reported in document
+     * order; with more than one worker, they are reported from the worker threads, in no
+     * particular order, and the consumer must be thread safe. Xrefs are always expanded on the
+     * calling thread, in document order.
+     *
+     * @param danglingReferences consumer for the dangling reference errors
+     */
+    public void scan(Consumer<String> danglingReferences) {
+        termIds = new HashSet<>();
+        typedefIds = new HashSet<>();
+        if (followImport) {
+            doc.collectFrameIds(termIds, typedefIds);
+        }
+        if (workers == 1) {
+            for (Frame f : doc.getTermFrames()) {
+                if (checkTermFrame(f, danglingReferences)) {
+                    expandXrefs(f);
+                }
+            }
+            doc.getTypedefFrames().forEach(f -> checkTypedefFrame(f, danglingReferences));
+            return;
+        }
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            for (List<Frame> frames : scan(pool, doc.getTermFrames(), true, danglingReferences)) {
+                frames.forEach(this::expandXrefs);
+            }
+            scan(pool, doc.getTypedefFrames(), false, danglingReferences);
+        }
+    }
+
+    /**
+     * @return for each shard, the term frames with xrefs to expand
+     */
+    private List<List<Frame>> scan(WorkerPool pool, Collection<Frame> frames, boolean terms,
+        Consumer<String> danglingReferences) {
+        List<Callable<List<Frame>>> tasks = new ArrayList<>();
+        for (List<Frame> shard : pool.split(new ArrayList<>(frames))) {
+            tasks.add(() -> {
+                List<Frame> expand = new ArrayList<>();
+                for (Frame f : shard) {
+                    if (!terms) {
+                        checkTypedefFrame(f, danglingReferences);
+                    } else if (checkTermFrame(f, danglingReferences)) {
+                        expand.add(f);
+                    }
+                }
+                return expand;
+            });
+        }
+        return pool.invokeAll(tasks);
+    }
+
+    private void expandXrefs(Frame f) {
+        if (xrefExpander != null) {
+            xrefExpander.expandXrefs(f);
+        }
+    }
+
+    /**
+     * @return true if the frame has xrefs to expand
+     */
+    private boolean checkTermFrame(Frame f, Consumer<String> danglingReferences) {
+        boolean expand = false;
+        for (Clause c : f.getClauses()) {
+            String tag = c.getTag();
+            if (tag == null) {
+                continue;
+            }
+            OboFormatTag tagConstant = OBOFormatConstants.getTag(tag);
+            if (OboFormatTag.TERM_FRAMES.contains(tagConstant)) {
+                if (c.getValues().size() > 1) {
+                    checkRelation(c.getValue(String.class), tag, f, danglingReferences);
+                    checkClassReference(c.getValue2(String.class), tag, f, danglingReferences);
+                } else {
+                    checkClassReference(c.getValue(String.class), tag, f, danglingReferences);
+                }
+            } else if (xrefExpander != null && !expand) {
+                expand = xrefExpander.isExpanded(c);
+            }
+        }
+        return expand;
+    }
+
+    private void checkTypedefFrame(Frame f, Consumer<String> danglingReferences) {
+        for (Clause c : f.getClauses()) {
+            String tag = c.getTag();
+            if (tag == null) {
+                continue;
+            }
+            OboFormatTag tagConstant = OBOFormatConstants.getTag(tag);
+            if (OboFormatTag.TYPEDEF_FRAMES.contains(tagConstant)) {
+                checkRelation(c.getValue(String.class), tag, f, danglingReferences);
+            } else if (tagConstant == OboFormatTag.TAG_HOLDS_OVER_CHAIN
+                || tagConstant == OboFormatTag.TAG_EQUIVALENT_TO_CHAIN
+                || tagConstant == OboFormatTag.TAG_RELATIONSHIP) {
+                checkRelation(c.getValue(String.class), tag, f, danglingReferences);
+                checkRelation(c.getValue2(String.class), tag, f, danglingReferences);
+            } else if (tagConstant == OboFormatTag.TAG_DOMAIN
+                || tagConstant == OboFormatTag.TAG_RANGE) {
+                checkClassReference(c.getValue(String.class), tag, f, danglingReferences);
+            }
+        }
+    }
+
+    private void checkRelation(String relId, String tag, Frame f,
+        Consumer<String> danglingReferences) {
+        boolean declared = followImport ? typedefIds.contains(relId)
+            : doc.getTypedefFrame(relId, false) != null;
+        if (!declared) {
+            danglingReferences.accept("The relation '" + relId + "' reference in" + " the tag '"
+                + tag + " ' in the frame of id '" + f.getId() + "' is not declared");
+        }
+    }
+
+    private void checkClassReference(String classId, String tag, Frame f,
+        Consumer<String> danglingReferences) {
+        boolean declared = followImport ? termIds.contains(classId)
+            : doc.getTermFrame(classId, false) != null;
+        if (!declared) {
+            danglingReferences.accept("The class '" + classId + "' reference in" + " the tag '"
+                + tag + " ' in the frame of id '" + f.getId() + "'is not declared");
+        }
+    }
+}
@@ -15,9 +15,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
@@ -30,6 +32,7 @@ import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.QualifierValue;
 import org.obolibrary.oboformat.model.Xref;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.semanticweb.owlapi.util.WorkerPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +49,8 @@ public class OBOFormatParser {
     protected final MyStream stream;
     private final LoadingCache<String, String> stringCache;
     private boolean followImport;
+    private int workers = 1;
+    private boolean compact;
     private Object location;
     private final ConcurrentHashMap<String, OBODoc> importCache = new ConcurrentHashMap<>();
 
@@ -78,6 +83,19 @@ public class OBOFormatParser {
         stringCache = builder.build(key -> key);
     }
 
+    /**
+     * Parser for a range of lines, sharing the string cache of the parser for the whole document.
+     *
+     * @param lines lines to parse
+     * @param from index of the first line
+     * @param to index after the last line
+     * @param parent parser for the whole document
+     */
+    private OBOFormatParser(List<String> lines, int from, int to, OBOFormatParser parent) {
+        stream = new MyStream(lines.subList(from, to).iterator(), from);
+        stringCache = parent.stringCache;
+    }
+
     private static void addOboNamespace(@Nullable Collection<Frame> frames,
         String defaultOboNamespace) {
         if (frames != null && !frames.isEmpty()) {
@@ -108,7 +126,20 @@ public class OBOFormatParser {
     }
 
     private static String removeTrailingWS(String s) {
-        return s.replaceAll("\\s*$", "");
+        // same characters as \s in a regular expression, without compiling a pattern per value
+        int end = s.length();
+        while (end > 0 && " \t\n\u000B\f\r".indexOf(s.charAt(end - 1)) != -1) {
+            end--;
+        }
+        return end == s.length() ? s : s.substring(0, end);
+    }
+
+    private static String removeTrailingSpaces(String s) {
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return end == s.length() ? s : s.substring(0, end);
     }
 
     /**
@@ -141,6 +172,45 @@ public class OBOFormatParser {
         followImport = followImports;
     }
 
+    /**
+     * @return number of threads parsing frames
+     * @since 5.1.17
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sets the number of threads parsing frames. With more than one worker, the whole document is
+     * read first and split at stanza boundaries; batches of consecutive stanzas are parsed
+     * concurrently and their frames are added to the document in document order, so duplicate
+     * frames are merged as in a sequential parse. The header and the batches are parsed by plain
+     * {@code OBOFormatParser} instances, therefore parsing methods overridden in subclasses are not
+     * used.
+     *
+     * @param workers number of threads parsing frames; 1 for a sequential parse
+     * @since 5.1.17
+     */
+    public void setWorkers(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * @return true if parsed documents are compacted
+     * @since 5.1.17
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * @param compact true if parsed documents should be compacted, see {@link OBODoc#compact()}
+     * @since 5.1.17
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
     /**
      * Parses a local file or URL to an OBODoc.
      *
@@ -165,11 +235,26 @@ public class OBOFormatParser {
      * @throws OBOFormatParserException parser exception
      */
     public OBODoc parse(File file) throws IOException {
+        return parse(file, new OBODoc());
+    }
+
+    /**
+     * Parses a local file into a document. The document can be a subclass of {@link OBODoc} that
+     * handles frames as they are parsed, instead of keeping them.
+     *
+     * @param file file
+     * @param obodoc document to fill
+     * @return the document
+     * @throws IOException if there was a problem reading from the output stream
+     * @throws OBOFormatParserException parser exception
+     * @since 5.1.17
+     */
+    public OBODoc parse(File file, OBODoc obodoc) throws IOException {
         location = file;
         try (FileInputStream f = new FileInputStream(file);
             InputStreamReader in2 = new InputStreamReader(f, StandardCharsets.UTF_8);
             BufferedReader in = new BufferedReader(in2);) {
-            return parse(in);
+            return parse(in, obodoc);
         }
     }
 
@@ -232,8 +317,19 @@ public class OBOFormatParser {
      * @throws OBOFormatParserException parser exception
      */
     public OBODoc parse(Reader reader) throws IOException {
+        return parse(reader, new OBODoc());
+    }
+
+    /**
+     * @param reader reader
+     * @param obodoc document to fill
+     * @return the document
+     * @throws IOException if there was a problem reading from the output stream
+     * @throws OBOFormatParserException parser exception
+     * @since 5.1.17
+     */
+    public OBODoc parse(Reader reader, OBODoc obodoc) throws IOException {
         setReader(new BufferedReader(reader));
-        OBODoc obodoc = new OBODoc();
         parseOBODoc(obodoc);
         // handle imports
         Frame hf = obodoc.getHeaderFrame();
@@ -265,12 +361,16 @@ public class OBOFormatParser {
     public void parseOBODoc(OBODoc obodoc) {
         Frame h = new Frame(FrameType.HEADER);
         obodoc.setHeaderFrame(h);
-        parseHeaderFrame(h);
-        h.freeze();
-        parseZeroOrMoreWsOptCmtNl();
-        while (!stream.eof()) {
-            parseEntityFrame(obodoc);
+        if (workers > 1) {
+            parseFramesInParallel(obodoc, h);
+        } else {
+            parseHeaderFrame(h);
+            h.freeze();
             parseZeroOrMoreWsOptCmtNl();
+            while (!stream.eof()) {
+                parseEntityFrame(obodoc);
+                parseZeroOrMoreWsOptCmtNl();
+            }
         }
         // set OBO namespace in frames
         String defaultOboNamespace =
@@ -280,6 +380,69 @@ public class OBOFormatParser {
             addOboNamespace(obodoc.getTypedefFrames(), defaultOboNamespace);
             addOboNamespace(obodoc.getInstanceFrames(), defaultOboNamespace);
         }
+        if (compact) {
+            obodoc.compact();
+        }
+    }
+
+    private void parseFramesInParallel(OBODoc obodoc, Frame h) {
+        List<String> lines = readLines();
+        // a stanza starts on a line whose first character other than spaces is '['; the
+        // sequential parser stops all frames, and the header, on those lines
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int j = skipWs(line);
+            if (line.startsWith("[", j)) {
+                if (line.startsWith("[Instance]", j)) {
+                    LOG.error(
+                        "Error: Instance frames are not supported yet. Parsing stopped at line: {}",
+                        Integer.valueOf(i + 1));
+                    lines = lines.subList(0, i);
+                    break;
+                }
+                starts.add(Integer.valueOf(i));
+            }
+        }
+        int headerEnd = starts.isEmpty() ? lines.size() : starts.get(0).intValue();
+        new OBOFormatParser(lines, 0, headerEnd, this).parseHeaderFrame(h);
+        h.freeze();
+        List<String> document = lines;
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            List<Callable<FrameBatch>> tasks = new ArrayList<>();
+            int end = 0;
+            for (List<Integer> batch : pool.split(starts)) {
+                end += batch.size();
+                int first = batch.get(0).intValue();
+                int last = end == starts.size() ? lines.size() : starts.get(end).intValue();
+                tasks.add(
+                    () -> new OBOFormatParser(document, first, last, this).parseFrameBatch());
+            }
+            pool.invokeAll(tasks, (FrameBatch b) -> b.addTo(obodoc));
+        }
+    }
+
+    private List<String> readLines() {
+        BufferedReader reader = verifyNotNull(stream.reader, "reader must be set before parsing");
+        List<String> lines = new ArrayList<>();
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new OBOFormatParserException(e, lines.size(), "Error reading from input.");
+        }
+        return lines;
+    }
+
+    private FrameBatch parseFrameBatch() {
+        FrameBatch batch = new FrameBatch(stream);
+        parseZeroOrMoreWsOptCmtNl();
+        while (!stream.eof()) {
+            parseEntityFrame(batch);
+            parseZeroOrMoreWsOptCmtNl();
+        }
+        return batch;
     }
 
     /**
@@ -308,6 +471,23 @@ public class OBOFormatParser {
         return danglingReferences;
     }
 
+    /**
+     * Checks every clause of the term and typedef frames, while
+     * {@link #checkDanglingReferences(OBODoc)} only checks the first clause of each tag. The
+     * references are resolved against an index of the frame ids, in one pass over the clauses;
+     * {@link #validate} and {@link #validate1} are not used.
+     *
+     * @param doc doc
+     * @return list of references, in document order
+     * @see OBODocScanner
+     * @since 5.1.17
+     */
+    public List<String> checkAllDanglingReferences(OBODoc doc) {
+        List<String> danglingReferences = new ArrayList<>();
+        new OBODocScanner(doc, followImport).scan(danglingReferences::add);
+        return danglingReferences;
+    }
+
     protected void validate1(OBODoc doc, List<String> danglingReferences, Frame f, String tag,
         @Nullable OboFormatTag tagConstant, @Nullable Clause c) {
         if (c != null) {
@@ -450,10 +630,9 @@ public class OBOFormatParser {
      */
     public void parseEntityFrame(OBODoc obodoc) {
         parseZeroOrMoreWsOptCmtNl();
-        String rest = stream.rest();
-        if (rest.startsWith("[Term]")) {
+        if (stream.startsWith("[Term]")) {
             parseTermFrame(obodoc);
-        } else if (rest.startsWith("[Instance]")) {
+        } else if (stream.startsWith("[Instance]")) {
             LOG.error("Error: Instance frames are not supported yet. Parsing stopped at line: {}",
                 Integer.valueOf(stream.getLineNo()));
             while (!stream.eof()) {
@@ -730,7 +909,7 @@ public class OBOFormatParser {
         if (i == -1) {
             error("Could not find tag separator ':' in line.");
         }
-        String tag = stream.rest().substring(0, i);
+        String tag = stream.substring(i);
         stream.advance(i + 1);
         parseWs();
         parseZeroOrMoreWs();
@@ -1035,7 +1214,7 @@ public class OBOFormatParser {
         if (id.contains(" ")) {
             warn("accepting bad xref with spaces:<" + id + '>');
         }
-        id = id.replaceAll(" +\\Z", "");
+        id = removeTrailingSpaces(id);
         Xref xref = new Xref(id);
         cl.addValue(xref);
         parseZeroOrMoreWs();
@@ -1074,8 +1253,7 @@ public class OBOFormatParser {
 
     private boolean parseQual(Clause cl) {
         parseZeroOrMoreWs();
-        String rest = stream.rest();
-        if (!rest.contains("=")) {
+        if (stream.indexOf('=') == -1) {
             error(
                 "Missing '=' in trailing qualifier block. This might happen for not properly escaped '{', '}' chars in comments.");
         }
@@ -1229,6 +1407,19 @@ public class OBOFormatParser {
         }
     }
 
+    /**
+     * @param line line
+     * @return position of the first character of the line that {@link #parseZeroOrMoreWs()}
+     *         does not skip
+     */
+    private static int skipWs(String line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
     private String getParseUntilAdv(String compl) {
         String ret = getParseUntil(compl);
         stream.advance(1);
@@ -1240,22 +1431,24 @@ public class OBOFormatParser {
     }
 
     private String getParseUntil(String compl, boolean commaWhitespace) {
-        String r = stream.rest();
+        // match on the current line in place; only the returned value is copied
+        int length = stream.remaining();
         int i = 0;
         boolean hasEscapedChars = false;
-        while (i < r.length()) {
-            if (r.charAt(i) == '\\') {
+        while (i < length) {
+            char c = stream.charAt(i);
+            if (c == '\\') {
                 hasEscapedChars = true;
                 i += 2;// Escape
                 continue;
             }
-            if (compl.contains(r.subSequence(i, i + 1))) {
-                if (commaWhitespace && r.charAt(i) == ',') {
+            if (compl.indexOf(c) != -1) {
+                if (commaWhitespace && c == ',') {
                     // a comma is only a valid separator with a following
                     // whitespace
                     // see bug and specification update
                     // http://code.google.com/p/oboformat/issues/detail?id=54
-                    if (i + 1 < r.length() && r.charAt(i + 1) == ' ') {
+                    if (i + 1 < length && stream.charAt(i + 1) == ' ') {
                         break;
                     }
                 } else {
@@ -1267,7 +1460,9 @@ public class OBOFormatParser {
         if (i == 0) {
             return "";
         }
-        String ret = r.substring(0, i);
+        // a trailing backslash escapes nothing
+        i = Math.min(i, length);
+        String ret = stream.substring(i);
         if (hasEscapedChars) {
             ret = handleEscapedChars(ret);
         }
@@ -1321,6 +1516,42 @@ public class OBOFormatParser {
         LOG.warn("LINE: {} {}  LINE:\n{}", Integer.valueOf(stream.lineNo), message, stream.line);
     }
 
+    /**
+     * Frames parsed by one worker, in document order, with the position at which each frame ended;
+     * frames are merged into the document by {@link #addTo(OBODoc)}.
+     */
+    private static class FrameBatch extends OBODoc {
+
+        private final MyStream source;
+        private final List<Frame> frames = new ArrayList<>();
+        private final List<Integer> lineNumbers = new ArrayList<>();
+        private final List<String> lines = new ArrayList<>();
+
+        FrameBatch(MyStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public void addFrame(Frame f) {
+            frames.add(f);
+            lineNumbers.add(Integer.valueOf(source.lineNo));
+            lines.add(source.line);
+        }
+
+        void addTo(OBODoc obodoc) {
+            for (int i = 0; i < frames.size(); i++) {
+                Frame f = frames.get(i);
+                try {
+                    obodoc.addFrame(f);
+                } catch (FrameMergeException e) {
+                    throw new OBOFormatParserException(
+                        "Could not add frame " + f + " to document, duplicate frame definition?",
+                        e, lineNumbers.get(i).intValue(), lines.get(i));
+                }
+            }
+        }
+    }
+
     protected static class MyStream {
 
         int pos = 0;
@@ -1329,6 +1560,8 @@ public class OBOFormatParser {
         int lineNo = 0;
         @Nullable
         BufferedReader reader;
+        @Nullable
+        Iterator<String> lines;
 
         public MyStream() {
             pos = 0;
@@ -1338,6 +1571,15 @@ public class OBOFormatParser {
             reader = r;
         }
 
+        /**
+         * @param lines lines already read
+         * @param lineNo number of lines before the first line
+         */
+        public MyStream(Iterator<String> lines, int lineNo) {
+            this.lines = lines;
+            this.lineNo = lineNo;
+        }
+
         public static String getTag() {
             return "";
         }
@@ -1378,6 +1620,13 @@ public class OBOFormatParser {
         }
 
         public void advanceLine() {
+            Iterator<String> iterator = lines;
+            if (iterator != null) {
+                line = iterator.hasNext() ? iterator.next() : null;
+                lineNo++;
+                pos = 0;
+                return;
+            }
             try {
                 line = verifyNotNull(reader, "reader must be set before accessing it").readLine();
                 lineNo++;
@@ -1408,23 +1657,58 @@ public class OBOFormatParser {
         }
 
         public boolean consume(String s) {
-            String r = rest();
-            if (r.isEmpty()) {
+            if (remaining() == 0) {
                 return false;
             }
-            if (r.startsWith(s)) {
+            if (line().startsWith(s, pos)) {
                 pos += s.length();
                 return true;
             }
             return false;
         }
 
+        /**
+         * @param s prefix to check
+         * @return true if the rest of the line starts with s; nothing is consumed
+         */
+        public boolean startsWith(String s) {
+            return remaining() > 0 && line().startsWith(s, pos);
+        }
+
+        /**
+         * @return number of characters left on the current line
+         */
+        public int remaining() {
+            prepare();
+            if (line == null) {
+                return 0;
+            }
+            return Math.max(0, line().length() - pos);
+        }
+
+        /**
+         * @param offset offset from the current position
+         * @return character at the offset
+         */
+        public char charAt(int offset) {
+            return line().charAt(pos + offset);
+        }
+
+        /**
+         * @param length number of characters
+         * @return copy of the next characters on the line; nothing is consumed
+         */
+        public String substring(int length) {
+            return line().substring(pos, pos + length);
+        }
+
         public int indexOf(char c) {
             prepare();
             if (line == null) {
                 return -1;
             }
-            return line().substring(pos).indexOf(c);
+            int i = line().indexOf(c, pos);
+            return i == -1 ? -1 : i - pos;
         }
 
         @Override
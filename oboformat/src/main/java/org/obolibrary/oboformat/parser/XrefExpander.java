@@ -3,9 +3,12 @@ package org.obolibrary.oboformat.parser;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import javax.annotation.Nullable;
 
@@ -71,8 +74,8 @@ public class XrefExpander {
     }
 
     private static String getIDSpace(String x) {
-        String[] parts = x.split(":", 2);
-        return parts[0];
+        int i = x.indexOf(':');
+        return i < 0 ? x : x.substring(0, i);
     }
 
     /**
@@ -166,20 +169,42 @@ public class XrefExpander {
      * Expand xref list.
      */
     public void expandXrefs() {
-        for (Frame f : sourceOBODoc.getTermFrames()) {
-            String id = checkNotNull(f.getTagValue(OboFormatTag.TAG_ID, String.class));
-            Collection<Clause> clauses = f.getClauses(OboFormatTag.TAG_XREF);
-            for (Clause c : clauses) {
-                Xref x = c.getValue(Xref.class);
-                String xid = x.getIdref();
-                String s = getIDSpace(xid);
-                if (treatMap.containsKey(s)) {
-                    treatMap.get(s).expand(f, id, xid);
+        sourceOBODoc.getTermFrames().forEach(this::expandXrefs);
+    }
+
+    /**
+     * Expand the xrefs of one term frame of the source document.
+     *
+     * @param f term frame
+     * @since 5.1.17
+     */
+    public void expandXrefs(Frame f) {
+        String id = checkNotNull(f.getTagValue(OboFormatTag.TAG_ID, String.class));
+        Collection<Clause> clauses = f.getClauses();
+        // equivalence expansions add clauses to the frame; these are not visited
+        List<Clause> list = clauses instanceof RandomAccess ? (List<Clause>) clauses
+            : new ArrayList<>(clauses);
+        for (int i = 0, n = list.size(); i < n; i++) {
+            Clause c = list.get(i);
+            if (OboFormatTag.TAG_XREF.getTag().equals(c.getTag())) {
+                String xid = c.getValue(Xref.class).getIdref();
+                Rule rule = treatMap.get(getIDSpace(xid));
+                if (rule != null) {
+                    rule.expand(f, id, xid);
                 }
             }
         }
     }
 
+    /**
+     * @param c clause
+     * @return true if the clause is an xref with an expansion rule for its id space
+     */
+    boolean isExpanded(Clause c) {
+        return OboFormatTag.TAG_XREF.getTag().equals(c.getTag())
+            && treatMap.containsKey(getIDSpace(c.getValue(Xref.class).getIdref()));
+    }
+
     /**
      * Rule.
      */
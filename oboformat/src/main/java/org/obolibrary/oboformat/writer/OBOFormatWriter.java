@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -629,24 +630,42 @@ public class OBOFormatWriter {
         if (isCheckStructure) {
             doc.check();
         }
-        Frame headerFrame = doc.getHeaderFrame();
-        writeHeader(checkNotNull(headerFrame), writer, nameProvider);
-        List<Frame> termFrames = new ArrayList<>();
-        termFrames.addAll(doc.getTermFrames());
-        Collections.sort(termFrames, framesComparator);
-        List<Frame> typeDefFrames = new ArrayList<>();
-        typeDefFrames.addAll(doc.getTypedefFrames());
-        Collections.sort(typeDefFrames, framesComparator);
-        List<Frame> instanceFrames = new ArrayList<>();
-        typeDefFrames.addAll(doc.getInstanceFrames());
-        Collections.sort(instanceFrames, framesComparator);
-        for (Frame f : termFrames) {
-            write(f, writer, nameProvider);
-        }
-        for (Frame f : typeDefFrames) {
-            write(f, writer, nameProvider);
-        }
-        for (Frame f : instanceFrames) {
+        // only one frame type is sorted at a time
+        Stream<Frame> frames =
+            Stream.of(doc.getTermFrames(), doc.getTypedefFrames(), doc.getInstanceFrames())
+                .flatMap(c -> c.stream().sorted(framesComparator));
+        write(checkNotNull(doc.getHeaderFrame()), frames, writer, nameProvider, false);
+    }
+
+    /**
+     * Writes a header and a stream of frames. Frames are written in the order of the stream, and
+     * each frame is checked, if structure checks are enabled, just before it is written; frames
+     * are not retained, so the stream can produce them lazily.
+     *
+     * @param headerFrame the header frame
+     * @param frames the frames to write, sorted by id within each frame type
+     * @param writer the writer
+     * @param nameProvider the name provider
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @since 5.1.17
+     */
+    public void write(Frame headerFrame, Stream<Frame> frames, Writer writer,
+        NameProvider nameProvider) throws IOException {
+        write(headerFrame, frames, writer, nameProvider, isCheckStructure);
+    }
+
+    private void write(Frame headerFrame, Stream<Frame> frames, Writer writer,
+        NameProvider nameProvider, boolean check) throws IOException {
+        if (check) {
+            headerFrame.check();
+        }
+        writeHeader(headerFrame, writer, nameProvider);
+        Iterator<Frame> iterator = frames.iterator();
+        while (iterator.hasNext()) {
+            Frame f = iterator.next();
+            if (check) {
+                f.check();
+            }
             write(f, writer, nameProvider);
         }
         // to be save always flush writer
@@ -12,7 +12,6 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package com.clarkparsia.owlapi.explanation;
 
-import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
@@ -24,9 +23,11 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -36,9 +37,13 @@ import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.modularity.locality.LocalityClass;
+import org.semanticweb.owlapi.modularity.locality.SyntacticLocalityModuleExtractor;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.slf4j.Logger;
@@ -104,6 +109,22 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     private final int fastPruningWindowSize;
 
+    /**
+     * True if expansion is restricted to a locality module and a single reasoner is updated
+     * between satisfiability tests.
+     */
+    private final boolean incremental;
+    /**
+     * The module for the class being explained, in incremental mode.
+     */
+    @Nullable
+    private OWLOntology moduleOntology;
+    /**
+     * The buffering reasoner on the debugging ontology, in incremental mode.
+     */
+    @Nullable
+    private OWLReasoner debuggingReasoner;
+
     // Creation of debugging ontology and satisfiability testing
     private int satTestCount;
 
@@ -131,9 +152,29 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     public BlackBoxExplanation(OWLOntology ontology, OWLReasonerFactory reasonerFactory,
         OWLReasoner reasoner, int fastPruningWindowSize) {
+        this(ontology, reasonerFactory, reasoner, fastPruningWindowSize, false);
+    }
+
+    /**
+     * Instantiates a new black box explanation. In incremental mode, the axioms used to expand the
+     * debugging ontology are taken from a bottom locality module for the signature of the class
+     * being explained, and a single buffering reasoner is kept on the debugging ontology; its
+     * axioms are changed and flushed between satisfiability tests rather than creating a new
+     * reasoner for each test.
+     *
+     * @param ontology the ontology
+     * @param reasonerFactory the reasoner factory
+     * @param reasoner the reasoner
+     * @param fastPruningWindowSize the window size for fast pruning
+     * @param incremental true to use modules and reuse the reasoner between tests
+     * @since 5.1.17
+     */
+    public BlackBoxExplanation(OWLOntology ontology, OWLReasonerFactory reasonerFactory,
+        OWLReasoner reasoner, int fastPruningWindowSize, boolean incremental) {
         super(ontology, reasonerFactory, reasoner);
         man = ontology.getOWLOntologyManager();
         this.fastPruningWindowSize = fastPruningWindowSize;
+        this.incremental = incremental;
     }
 
     /**
@@ -162,14 +203,30 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     @Override
     public void dispose() {
         reset();
+        if (debuggingReasoner != null) {
+            verifyNotNull(debuggingReasoner).dispose();
+            debuggingReasoner = null;
+        }
+        removeDebuggingOntology();
         getReasoner().dispose();
     }
 
-    private void reset() {
+    private void removeDebuggingOntology() {
         if (debuggingOntology != null) {
             man.removeOntology(verifyNotNull(debuggingOntology));
             debuggingOntology = null;
         }
+    }
+
+    private void reset() {
+        // in incremental mode the debugging ontology and its reasoner are reused
+        if (!incremental) {
+            removeDebuggingOntology();
+        }
+        if (moduleOntology != null) {
+            man.removeOntology(verifyNotNull(moduleOntology));
+            moduleOntology = null;
+        }
         debuggingAxioms.clear();
         objectsExpandedWithDefiningAxioms.clear();
         objectsExpandedWithReferencingAxioms.clear();
@@ -189,6 +246,9 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
                 return Collections.emptySet();
             }
             reset();
+            if (incremental) {
+                createModule(unsatClass);
+            }
             expandUntilUnsatisfiable(unsatClass);
             pruneUntilMinimal(unsatClass);
             removeDeclarations();
@@ -198,6 +258,23 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         }
     }
 
+    private void createModule(OWLClassExpression unsatClass) throws OWLException {
+        SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(
+            LocalityClass.BOTTOM, getOntology().importsClosure().flatMap(OWLOntology::axioms));
+        moduleOntology = man.createOntology(extractor.extract(unsatClass.signature()));
+    }
+
+    /**
+     * @return the ontologies the debugging axioms are taken from: the module, if one has been
+     *         extracted, or the imports closure of the ontology
+     */
+    private Stream<OWLOntology> expansionSource() {
+        if (moduleOntology != null) {
+            return Stream.of(verifyNotNull(moduleOntology));
+        }
+        return getOntology().importsClosure();
+    }
+
     // Expansion
     private int expandAxioms() {
         /*
@@ -265,7 +342,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     private int expandWithDefiningAxioms(OWLEntity obj, int limit) {
         Set<OWLAxiom> expansionAxioms = new HashSet<>();
-        getOntology().importsClosure().forEach(ont -> {
+        expansionSource().forEach(ont -> {
             boolean referenceFound = false;
             if (obj instanceof OWLClass) {
                 referenceFound = add(expansionAxioms, ont.axioms((OWLClass) obj));
@@ -295,7 +372,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         // First expand by getting the defining axioms - if this doesn't
         // return any axioms, then get the axioms that reference the entity
         Set<OWLAxiom> expansionAxioms =
-            asUnorderedSet(getOntology().referencingAxioms(obj, INCLUDED));
+            asUnorderedSet(expansionSource().flatMap(o -> o.referencingAxioms(obj)));
         expansionAxioms.removeAll(debuggingAxioms);
         return addMax(expansionAxioms, debuggingAxioms, limit);
     }
@@ -362,6 +439,9 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      * @throws OWLException exception
      */
     private boolean isSatisfiable(OWLClassExpression unsatClass) throws OWLException {
+        if (incremental) {
+            return isSatisfiableIncrementally(unsatClass);
+        }
         try {
             createDebuggingOntology();
             OWLReasoner reasoner =
@@ -383,6 +463,46 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         }
     }
 
+    /**
+     * Tests the satisfiability of the test class, updating the debugging ontology with the
+     * difference between its axioms and the debugging axioms and flushing the reasoner.
+     *
+     * @param unsatClass the unsatisfiable class
+     * @return true, if is satisfiable
+     * @throws OWLException exception
+     */
+    private boolean isSatisfiableIncrementally(OWLClassExpression unsatClass)
+        throws OWLException {
+        if (debuggingOntology == null) {
+            debuggingOntology = man.createOntology();
+        }
+        OWLOntology o = verifyNotNull(debuggingOntology);
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        o.axioms().filter(ax -> !debuggingAxioms.contains(ax))
+            .forEach(ax -> changes.add(new RemoveAxiom(o, ax)));
+        debuggingAxioms.stream().filter(ax -> !o.containsAxiom(ax))
+            .forEach(ax -> changes.add(new AddAxiom(o, ax)));
+        // changes must go through the manager, so that the reasoner sees them
+        man.applyChanges(changes);
+        if (debuggingReasoner == null) {
+            debuggingReasoner = getReasonerFactory().createReasoner(o);
+        }
+        OWLReasoner reasoner = verifyNotNull(debuggingReasoner);
+        reasoner.flush();
+        if (OntologyUtils.containsUnreferencedEntity(o, unsatClass)) {
+            return true;
+        }
+        satTestCount++;
+        try {
+            return reasoner.isSatisfiable(unsatClass);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn(
+                "Illegal argument found - satisfiability cannot be checked for {} because of {}",
+                unsatClass, e);
+            return false;
+        }
+    }
+
     private void createDebuggingOntology() throws OWLException {
         if (debuggingOntology != null) {
             man.removeOntology(verifyNotNull(debuggingOntology));
@@ -22,6 +22,13 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -52,6 +59,7 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HSTExplanationGenerator.class);
     private final TransactionAwareSingleExpGen singleExplanationGenerator;
+    private final List<TransactionAwareSingleExpGen> workerGenerators = new ArrayList<>();
     private ExplanationProgressMonitor progressMonitor = new SilentExplanationProgressMonitor();
 
     /**
@@ -62,6 +70,27 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             checkNotNull(singleExplanationGenerator, "singleExplanationGenerator cannot be null");
     }
 
+    /**
+     * Creates a generator that explores the hitting set tree in parallel. Each worker uses its own
+     * single explanation generator, since axioms are removed from and restored to the ontology of
+     * the generator while a path is explored; the generators returned by the factory must
+     * therefore work on independent copies of the ontology, each with its own manager.
+     *
+     * @param singleExplanationGenerator explanation generator to use for the first explanation
+     * @param workerGenerators factory for the per worker explanation generators
+     * @param workers number of workers; 1 or less explores the tree sequentially
+     * @since 5.1.17
+     */
+    public HSTExplanationGenerator(TransactionAwareSingleExpGen singleExplanationGenerator,
+        Supplier<? extends TransactionAwareSingleExpGen> workerGenerators, int workers) {
+        this(singleExplanationGenerator);
+        checkNotNull(workerGenerators, "workerGenerators cannot be null");
+        for (int i = 0; workers > 1 && i < workers; i++) {
+            this.workerGenerators.add(
+                checkNotNull(workerGenerators.get(), "worker generator cannot be null"));
+        }
+    }
+
     /**
      * Orders the axioms in a single MUPS by the frequency of which they appear in all MUPS.
      *
@@ -186,6 +215,7 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     @Override
     public void dispose() {
         singleExplanationGenerator.dispose();
+        workerGenerators.forEach(TransactionAwareSingleExpGen::dispose);
     }
 
     @Override
@@ -200,6 +230,9 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             if (firstMups.isEmpty()) {
                 return Collections.emptySet();
             }
+            if (!workerGenerators.isEmpty()) {
+                return new ParallelSearch(unsatClass, maxExplanations).run(firstMups);
+            }
             Set<Set<OWLAxiom>> allMups = new LinkedHashSet<>();
             progressMonitor.foundExplanation(firstMups);
             allMups.add(firstMups);
@@ -360,22 +393,29 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
      * @return the sets the
      */
     private Set<OWLOntology> removeAxiomAndAddDeclarations(OWLAxiom axiom,
+        List<OWLDeclarationAxiom> temporaryDeclarations) {
+        return removeAxiomAndAddDeclarations(getReasoner().getRootOntology(), axiom,
+            temporaryDeclarations);
+    }
+
+    private Set<OWLOntology> removeAxiomAndAddDeclarations(OWLOntology root, OWLAxiom axiom,
         List<OWLDeclarationAxiom> temporaryDeclarations) {
         // Remove the current axiom from all the ontologies it is included
         // in
-        Set<OWLOntology> ontologies =
-            OntologyUtils.removeAxiom(axiom, getReasoner().getRootOntology().importsClosure());
-        collectTemporaryDeclarations(axiom, temporaryDeclarations);
-        for (OWLDeclarationAxiom decl : temporaryDeclarations) {
-            OntologyUtils.addAxiom(decl, getReasoner().getRootOntology().importsClosure());
+        Set<OWLOntology> ontologies = OntologyUtils.removeAxiom(axiom, root.importsClosure());
+        List<OWLDeclarationAxiom> declarations = new ArrayList<>();
+        collectTemporaryDeclarations(root, axiom, declarations);
+        for (OWLDeclarationAxiom decl : declarations) {
+            OntologyUtils.addAxiom(decl, root.importsClosure());
         }
+        temporaryDeclarations.addAll(declarations);
         return ontologies;
     }
 
-    private void collectTemporaryDeclarations(OWLAxiom axiom,
+    private void collectTemporaryDeclarations(OWLOntology root, OWLAxiom axiom,
         List<OWLDeclarationAxiom> temporaryDeclarations) {
         for (OWLEntity e : getSignature(axiom)) {
-            boolean referenced = getReasoner().getRootOntology().isDeclared(e, INCLUDED);
+            boolean referenced = root.isDeclared(e, INCLUDED);
             if (!referenced) {
                 temporaryDeclarations.add(getDeclaration(e));
             }
@@ -391,4 +431,149 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     private OWLDeclarationAxiom getDeclaration(OWLEntity e) {
         return getOntologyManager().getOWLDataFactory().getOWLDeclarationAxiom(e);
     }
+
+    /**
+     * Parallel exploration of the hitting set tree. Every edge of the tree is a task in a work
+     * stealing pool; justifications, closed paths and satisfiable paths are shared between tasks,
+     * so that a path reached through different orderings is explored only once.
+     */
+    private class ParallelSearch {
+
+        private final OWLClassExpression unsatClass;
+        private final int maxExplanations;
+        private final Set<Set<OWLAxiom>> allMups = new CopyOnWriteArraySet<>();
+        private final Set<Set<OWLAxiom>> satPaths = ConcurrentHashMap.newKeySet();
+        private final Set<Set<OWLAxiom>> closedPaths = ConcurrentHashMap.newKeySet();
+        private final BlockingQueue<TransactionAwareSingleExpGen> idle =
+            new LinkedBlockingQueue<>(workerGenerators);
+
+        ParallelSearch(OWLClassExpression unsatClass, int maxExplanations) {
+            this.unsatClass = unsatClass;
+            this.maxExplanations = maxExplanations;
+        }
+
+        Set<Set<OWLAxiom>> run(Set<OWLAxiom> firstMups) {
+            add(firstMups);
+            workerGenerators.forEach(TransactionAwareSingleExpGen::beginTransaction);
+            ForkJoinPool pool = new ForkJoinPool(workerGenerators.size());
+            try {
+                pool.invoke(new Node(Collections.emptySet(), firstMups));
+            } finally {
+                pool.shutdownNow();
+                workerGenerators.forEach(TransactionAwareSingleExpGen::endTransaction);
+            }
+            progressMonitor.foundAllExplanations();
+            return new LinkedHashSet<>(allMups);
+        }
+
+        boolean isDone() {
+            return progressMonitor.isCancelled()
+                || maxExplanations > 0 && allMups.size() >= maxExplanations;
+        }
+
+        synchronized void add(Set<OWLAxiom> mups) {
+            if (!isDone() && allMups.add(mups)) {
+                LOGGER.info("MUPS {}: {}", Integer.valueOf(allMups.size()), mups);
+                progressMonitor.foundExplanation(mups);
+            }
+        }
+
+        /**
+         * @param path axioms removed along the path
+         * @return a justification disjoint from the path; empty if the path makes the class
+         *         satisfiable
+         */
+        Set<OWLAxiom> getNewMUPS(Set<OWLAxiom> path) {
+            for (Set<OWLAxiom> foundMUPS : allMups) {
+                if (Collections.disjoint(foundMUPS, path)) {
+                    return foundMUPS;
+                }
+            }
+            TransactionAwareSingleExpGen gen;
+            try {
+                gen = idle.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            }
+            OWLOntology root = gen.getReasoner().getRootOntology();
+            List<OWLAxiom> removed = new ArrayList<>();
+            List<Set<OWLOntology>> ontologies = new ArrayList<>();
+            List<OWLDeclarationAxiom> temporaryDeclarations = new ArrayList<>();
+            try {
+                for (OWLAxiom axiom : path) {
+                    removed.add(axiom);
+                    ontologies.add(
+                        removeAxiomAndAddDeclarations(root, axiom, temporaryDeclarations));
+                }
+                return gen.getExplanation(unsatClass);
+            } finally {
+                for (OWLDeclarationAxiom decl : temporaryDeclarations) {
+                    OntologyUtils.removeAxiom(decl, root.importsClosure());
+                }
+                for (int i = 0; i < removed.size(); i++) {
+                    OntologyUtils.addAxiom(removed.get(i), ontologies.get(i).stream());
+                }
+                idle.add(gen);
+            }
+        }
+
+        /**
+         * A node of the tree: the path leading to it and its justification.
+         */
+        private class Node extends RecursiveAction {
+
+            private final Set<OWLAxiom> path;
+            private final Set<OWLAxiom> mups;
+
+            Node(Set<OWLAxiom> path, Set<OWLAxiom> mups) {
+                this.path = path;
+                this.mups = mups;
+            }
+
+            @Override
+            protected void compute() {
+                List<Edge> edges = new ArrayList<>();
+                // order against a snapshot, other tasks keep adding justifications
+                Set<Set<OWLAxiom>> snapshot = new HashSet<>(allMups);
+                for (OWLAxiom axiom : getOrderedMUPS(new ArrayList<>(mups), snapshot)) {
+                    Set<OWLAxiom> newPath = new HashSet<>(path);
+                    newPath.add(axiom);
+                    edges.add(new Edge(newPath));
+                }
+                invokeAll(edges);
+            }
+        }
+
+        /**
+         * An edge of the tree, labelled with the axioms removed along the path.
+         */
+        private class Edge extends RecursiveAction {
+
+            private final Set<OWLAxiom> path;
+
+            Edge(Set<OWLAxiom> path) {
+                this.path = path;
+            }
+
+            @Override
+            protected void compute() {
+                if (isDone() || !closedPaths.add(path)
+                    || checkEarlyTermination(satPaths, path)) {
+                    return;
+                }
+                Set<OWLAxiom> newMUPS = getNewMUPS(path);
+                if (!Collections.disjoint(newMUPS, path)) {
+                    throw new OWLRuntimeException("Explanation contains removed axiom: " + path);
+                }
+                if (newMUPS.isEmpty()) {
+                    LOGGER.info("Stop - satisfiable");
+                    satPaths.add(path);
+                    return;
+                }
+                add(newMUPS);
+                new Node(path, newMUPS).compute();
+            }
+        }
+    }
 }
@@ -15,10 +15,16 @@ package org.semanticweb.owlapi.metrics;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.semanticweb.owlapi.model.OWLAxiomChange;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
@@ -73,6 +79,7 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     public M getValue() {
         if (dirty) {
             value = recomputeMetric();
+            setDirty(false);
         }
         return verifyNotNull(value);
     }
@@ -96,11 +103,41 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
 
     @Override
     public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
-        if (isMetricInvalidated(changes)) {
+        if (dirty || !isMetricInvalidated(changes)) {
+            return;
+        }
+        Set<OWLOntology> ontologies = asUnorderedSet(getOntologies());
+        List<OWLAxiomChange> axiomChanges = new ArrayList<>();
+        for (OWLOntologyChange change : changes) {
+            if (change.isImportChange() && importsClosureUsed) {
+                setDirty(true);
+                return;
+            }
+            if (change.isAxiomChange() && ontologies.contains(change.getOntology())) {
+                axiomChanges.add((OWLAxiomChange) change);
+            }
+        }
+        Optional<M> updated = updateMetric(verifyNotNull(value), axiomChanges);
+        if (updated.isPresent()) {
+            value = updated.get();
+        } else {
             setDirty(true);
         }
     }
 
+    /**
+     * Updates the current value of the metric from a list of applied changes, without looking at
+     * the whole ontology. Metrics that cannot be maintained incrementally return an empty
+     * optional, which causes the value to be recomputed on the next call to {@link #getValue()}.
+     *
+     * @param currentValue the value before the changes were applied
+     * @param changes the axiom changes applied to the ontologies used by this metric, in order
+     * @return the updated value, or an empty optional if the metric must be recomputed
+     */
+    protected Optional<M> updateMetric(M currentValue, List<OWLAxiomChange> changes) {
+        return Optional.empty();
+    }
+
     @Override
     public OWLOntologyManager getManager() {
         return ontology.getOWLOntologyManager();
@@ -120,7 +157,7 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
     @Override
     public void setImportsClosureUsed(boolean b) {
         importsClosureUsed = b;
-        recomputeMetric();
+        setDirty(true);
     }
 
     /**
@@ -135,6 +172,18 @@ public abstract class AbstractOWLMetric<M extends Serializable> implements OWLMe
      */
     protected abstract boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes);
 
+    /**
+     * Gets an analysis that computes the value of this metric in a single pass over the axioms of
+     * the ontologies returned by {@link #getOntologies()}. Used by {@link OntologyAnalyser} to
+     * compute several metrics at once.
+     *
+     * @return the analysis, or null if the metric cannot be computed one axiom at a time
+     */
+    @Nullable
+    protected OntologyAnalysis<?, M> getAnalysis() {
+        return null;
+    }
+
     /**
      * Dispose metric.
      */
@@ -13,6 +13,10 @@
 package org.semanticweb.owlapi.metrics;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomChange;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 
@@ -36,6 +40,42 @@ public class AxiomCount extends IntegerValuedMetric {
         return Integer.valueOf(getOntologies().mapToInt(OWLOntology::getAxiomCount).sum());
     }
 
+    @Override
+    protected Optional<Integer> updateMetric(Integer currentValue, List<OWLAxiomChange> changes) {
+        int count = currentValue.intValue();
+        for (OWLAxiomChange change : changes) {
+            count += change.isAddAxiom() ? 1 : -1;
+        }
+        return Optional.of(Integer.valueOf(count));
+    }
+
+    @Override
+    protected OntologyAnalysis<?, Integer> getAnalysis() {
+        return new OntologyAnalysis<AtomicInteger, Integer>() {
+
+            @Override
+            public AtomicInteger newAccumulator() {
+                return new AtomicInteger();
+            }
+
+            @Override
+            public void accept(AtomicInteger count, OWLOntology ontology, OWLAxiom axiom) {
+                count.incrementAndGet();
+            }
+
+            @Override
+            public AtomicInteger combine(AtomicInteger left, AtomicInteger right) {
+                left.addAndGet(right.get());
+                return left;
+            }
+
+            @Override
+            public Integer finish(AtomicInteger count) {
+                return Integer.valueOf(count.get());
+            }
+        };
+    }
+
     @Override
     protected boolean isMetricInvalidated(List<? extends OWLOntologyChange> changes) {
         return true;
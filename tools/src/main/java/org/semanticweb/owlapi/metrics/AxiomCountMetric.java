@@ -13,6 +13,7 @@
 package org.semanticweb.owlapi.metrics;
 
 import java.util.Set;
+import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -39,4 +40,10 @@ public abstract class AxiomCountMetric extends ObjectCountMetric<OWLAxiom> {
     public Set<OWLAxiom> getAxioms() {
         return getObjects();
     }
+
+    @Override
+    protected Stream<OWLAxiom> getObjectOccurrences(OWLOntology ont) {
+        // each axiom contributes only itself
+        return getObjects(ont);
+    }
 }
@@ -46,6 +46,16 @@ public class AxiomTypeMetric extends AxiomCountMetric {
         return ont.axioms(axiomType).map(x -> x);
     }
 
+    @Override
+    protected Stream<OWLAxiom> getContributedObjects(OWLAxiom axiom) {
+        return axiom.isOfType(axiomType) ? Stream.of(axiom) : Stream.empty();
+    }
+
+    @Override
+    protected boolean isIncremental() {
+        return true;
+    }
+
     /**
      * Gets the axiom type.
      *
@@ -12,12 +12,22 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.metrics;
 
-import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
-
+import java.util.Collections;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomChange;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.util.Construct;
 import org.semanticweb.owlapi.util.DLExpressivityChecker;
 
 /**
@@ -26,6 +36,11 @@ import org.semanticweb.owlapi.util.DLExpressivityChecker;
  */
 public class DLExpressivity extends AbstractOWLMetric<String> {
 
+    /**
+     * Number of logical axiom occurrences, across the ontologies used, that use each construct.
+     */
+    private final Map<Construct, Integer> occurrences = new EnumMap<>(Construct.class);
+
     /**
      * @param o ontology to use
      */
@@ -35,8 +50,79 @@ public class DLExpressivity extends AbstractOWLMetric<String> {
 
     @Override
     public String recomputeMetric() {
-        DLExpressivityChecker checker = new DLExpressivityChecker(asList(getOntologies()));
-        return checker.getDescriptionLogicName();
+        occurrences.clear();
+        getOntologies().flatMap(OWLOntology::logicalAxioms).forEach(ax -> count(ax, 1));
+        return getDescriptionLogicName();
+    }
+
+    @Override
+    protected Optional<String> updateMetric(String currentValue, List<OWLAxiomChange> changes) {
+        for (OWLAxiomChange change : changes) {
+            if (change.getAxiom().isLogicalAxiom()) {
+                count(change.getAxiom(), change.isAddAxiom() ? 1 : -1);
+            }
+        }
+        return Optional.of(getDescriptionLogicName());
+    }
+
+    @Override
+    protected OntologyAnalysis<?, String> getAnalysis() {
+        return new OntologyAnalysis<Set<Construct>, String>() {
+
+            @Override
+            public Set<Construct> newAccumulator() {
+                return EnumSet.noneOf(Construct.class);
+            }
+
+            @Override
+            public void accept(Set<Construct> constructs, OWLOntology ontology, OWLAxiom axiom) {
+                if (axiom.isLogicalAxiom()) {
+                    constructs.addAll(getConstructs(axiom));
+                }
+            }
+
+            @Override
+            public Set<Construct> combine(Set<Construct> left, Set<Construct> right) {
+                left.addAll(right);
+                return left;
+            }
+
+            @Override
+            public String finish(Set<Construct> constructs) {
+                return getDescriptionLogicName(constructs);
+            }
+        };
+    }
+
+    private void count(OWLAxiom axiom, int delta) {
+        getConstructs(axiom).forEach(c -> occurrences.merge(c, Integer.valueOf(delta), (a, b) -> {
+            int sum = a.intValue() + b.intValue();
+            return sum == 0 ? null : Integer.valueOf(sum);
+        }));
+    }
+
+    /**
+     * The constructs used by an axiom do not depend on the rest of the ontology, so the constructs
+     * of the ontology are the union of the constructs of its logical axioms.
+     */
+    private static List<Construct> getConstructs(OWLAxiom axiom) {
+        DLExpressivityChecker checker = new DLExpressivityChecker(Collections.emptyList());
+        axiom.accept(checker);
+        return checker.getConstructs();
+    }
+
+    private String getDescriptionLogicName() {
+        return getDescriptionLogicName(occurrences.keySet());
+    }
+
+    private static String getDescriptionLogicName(Collection<Construct> used) {
+        Set<Construct> constructs = new TreeSet<>(used);
+        // Rr+I = R + I
+        if (constructs.containsAll(Construct.incompatibleRoleFetures)) {
+            constructs.add(Construct.ROLE_COMPLEX);
+        }
+        Construct.trim(constructs);
+        return constructs.stream().map(Object::toString).collect(Collectors.joining());
     }
 
     @Override
@@ -15,7 +15,12 @@ package org.semanticweb.owlapi.metrics;
 import java.util.stream.Stream;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLNaryClassAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
@@ -39,4 +44,30 @@ public class GCICount extends AxiomCountMetric {
     protected Stream<OWLAxiom> getObjects(OWLOntology ont) {
         return ont.generalClassAxioms().map(x -> x);
     }
+
+    @Override
+    protected Stream<OWLAxiom> getContributedObjects(OWLAxiom axiom) {
+        return isGCI(axiom) ? Stream.of(axiom) : Stream.empty();
+    }
+
+    @Override
+    protected boolean isIncremental() {
+        return true;
+    }
+
+    /**
+     * @param axiom axiom to check
+     * @return true if the axiom is indexed as a general class axiom: a subclass axiom with an
+     *         anonymous subclass, or an equivalent or disjoint classes axiom without named classes
+     */
+    private static boolean isGCI(OWLAxiom axiom) {
+        if (axiom instanceof OWLSubClassOfAxiom) {
+            return ((OWLSubClassOfAxiom) axiom).getSubClass().isAnonymous();
+        }
+        if (axiom instanceof OWLEquivalentClassesAxiom || axiom instanceof OWLDisjointClassesAxiom) {
+            return ((OWLNaryClassAxiom) axiom).classExpressions()
+                .allMatch(OWLClassExpression::isAnonymous);
+        }
+        return false;
+    }
 }
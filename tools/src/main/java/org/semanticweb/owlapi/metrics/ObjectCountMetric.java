@@ -14,10 +14,18 @@ package org.semanticweb.owlapi.metrics;
 
 import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomChange;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 
@@ -28,6 +36,12 @@ import org.semanticweb.owlapi.model.OWLOntologyChange;
  */
 public abstract class ObjectCountMetric<E> extends IntegerValuedMetric {
 
+    /**
+     * Number of axiom occurrences, across the ontologies used, that contribute each object. Only
+     * maintained for incremental metrics.
+     */
+    private final Map<E, Integer> occurrences = new HashMap<>();
+
     /**
      * Instantiates a new object count metric.
      *
@@ -57,9 +71,98 @@ public abstract class ObjectCountMetric<E> extends IntegerValuedMetric {
      */
     protected abstract Stream<E> getObjects(OWLOntology ont);
 
+    /**
+     * Gets the objects contributed by a single axiom. Only used if {@link #isIncremental()} returns
+     * true; each object must be returned at most once.
+     *
+     * @param axiom the axiom
+     * @return the objects
+     */
+    protected Stream<E> getContributedObjects(@SuppressWarnings("unused") OWLAxiom axiom) {
+        return Stream.empty();
+    }
+
+    /**
+     * @return true if the objects of an ontology are exactly the objects contributed by its axioms
+     *         through {@link #getContributedObjects(OWLAxiom)}, so that the count can be updated
+     *         from axiom changes.
+     */
+    protected boolean isIncremental() {
+        return false;
+    }
+
+    /**
+     * Gets the objects contributed by all axioms of an ontology, once for each contributing axiom.
+     *
+     * @param ont the ontology
+     * @return the object occurrences
+     */
+    protected Stream<E> getObjectOccurrences(OWLOntology ont) {
+        return ont.axioms().flatMap(this::getContributedObjects);
+    }
+
     @Override
     public Integer recomputeMetric() {
-        return Integer.valueOf(getObjects().size());
+        if (!isIncremental()) {
+            return Integer.valueOf(getObjects().size());
+        }
+        occurrences.clear();
+        getOntologies().flatMap(this::getObjectOccurrences).forEach(e -> count(e, 1));
+        return Integer.valueOf(occurrences.size());
+    }
+
+    @Override
+    protected Optional<Integer> updateMetric(Integer currentValue, List<OWLAxiomChange> changes) {
+        if (!isIncremental()) {
+            return Optional.empty();
+        }
+        for (OWLAxiomChange change : changes) {
+            int delta = change.isAddAxiom() ? 1 : -1;
+            getContributedObjects(change.getAxiom()).forEach(e -> count(e, delta));
+        }
+        return Optional.of(Integer.valueOf(occurrences.size()));
+    }
+
+    @Override
+    @Nullable
+    protected OntologyAnalysis<?, Integer> getAnalysis() {
+        if (!isIncremental()) {
+            return null;
+        }
+        return new OntologyAnalysis<Set<E>, Integer>() {
+
+            @Override
+            public Set<E> newAccumulator() {
+                return new HashSet<>();
+            }
+
+            @Override
+            public void accept(Set<E> objects, OWLOntology ontology, OWLAxiom axiom) {
+                getContributedObjects(axiom).forEach(objects::add);
+            }
+
+            @Override
+            public Set<E> combine(Set<E> left, Set<E> right) {
+                if (left.size() < right.size()) {
+                    right.addAll(left);
+                    return right;
+                }
+                left.addAll(right);
+                return left;
+            }
+
+            @Override
+            public Integer finish(Set<E> objects) {
+                return Integer.valueOf(objects.size());
+            }
+        };
+    }
+
+    private void count(E e, int delta) {
+        occurrences.merge(e, Integer.valueOf(delta), (a, b) -> {
+            int sum = a.intValue() + b.intValue();
+            return sum == 0 ? null : Integer.valueOf(sum);
+        });
     }
 
     /**
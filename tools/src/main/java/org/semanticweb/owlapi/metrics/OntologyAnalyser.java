@@ -0,0 +1,223 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.metrics;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.profiles.OWLProfile;
+import org.semanticweb.owlapi.profiles.OWLProfileReport;
+import org.semanticweb.owlapi.profiles.ProfileVisitor;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
+import org.semanticweb.owlapi.util.WorkerPool;
+
+/**
+ * Computes a set of metrics and checks a set of profiles in a single pass over the axioms of an
+ * ontology and its imports closure. The axioms are split in chunks which are analysed in parallel;
+ * the partial results are then combined in axiom order, so the results do not depend on the number
+ * of workers. Metrics that cannot be computed one axiom at a time are computed separately, after
+ * the pass, as are profiles that do not declare their
+ * {@link OWLProfile#getCheckedProfiles() checked profiles}.
+ *
+ * @since 5.1.17
+ */
+public class OntologyAnalyser {
+
+    private final List<OWLMetric<?>> metrics;
+    private final List<OWLProfile> profiles;
+
+    /**
+     * @param metrics the metrics to compute
+     * @param profiles the profiles to check
+     */
+    public OntologyAnalyser(List<OWLMetric<?>> metrics, List<? extends OWLProfile> profiles) {
+        this.metrics = new ArrayList<>(checkNotNull(metrics, "metrics cannot be null"));
+        this.profiles = new ArrayList<>(checkNotNull(profiles, "profiles cannot be null"));
+    }
+
+    /**
+     * @param ontology the ontology to analyse, together with its imports closure. Metrics are
+     *        computed over their own ontology; metrics that refer to ontologies outside the
+     *        imports closure are computed separately.
+     * @param workers number of threads to use
+     * @return the metric values and profile reports
+     */
+    public OntologyReport analyse(OWLOntology ontology, int workers) {
+        List<OWLOntology> ontologies = asList(ontology.importsClosure());
+        Set<OWLOntology> closure = asUnorderedSet(ontologies.stream());
+        List<OntologyAnalysis<Object, ?>> analyses = new ArrayList<>();
+        List<OWLMetric<?>> separate = new ArrayList<>();
+        for (OWLMetric<?> metric : metrics) {
+            OntologyAnalysis<Object, ?> analysis = getAnalysis(metric, closure);
+            if (analysis == null) {
+                separate.add(metric);
+            } else {
+                analyses.add(analysis);
+            }
+        }
+        // profiles that do not declare their checks can only be checked as a whole
+        List<OWLProfile> checked = asList(
+            profiles.stream().filter(p -> !p.getCheckedProfiles().isEmpty()));
+        if (!checked.isEmpty()) {
+            OWLObjectPropertyManager propertyManager =
+                ProfileVisitor.sharedPropertyManager(ontology);
+            checked.forEach(p -> analyses.add(cast(new ProfileAnalysis(p, propertyManager))));
+        }
+        List<Object> results = run(analyses, ontologies, Math.max(1, workers));
+        OntologyReport report = new OntologyReport();
+        int i = 0;
+        for (OWLMetric<?> metric : metrics) {
+            if (separate.contains(metric)) {
+                report.setValue(metric, metric.getValue());
+            } else {
+                report.setValue(metric, results.get(i++));
+            }
+        }
+        for (OWLProfile profile : profiles) {
+            if (profile.getCheckedProfiles().isEmpty()) {
+                report.setReport(profile, profile.checkOntology(ontology));
+            } else {
+                report.setReport(profile, (OWLProfileReport) results.get(i++));
+            }
+        }
+        return report;
+    }
+
+    @Nullable
+    private static OntologyAnalysis<Object, ?> getAnalysis(OWLMetric<?> metric,
+        Set<OWLOntology> closure) {
+        if (!(metric instanceof AbstractOWLMetric)) {
+            return null;
+        }
+        AbstractOWLMetric<?> m = (AbstractOWLMetric<?>) metric;
+        OntologyAnalysis<?, ?> analysis = m.getAnalysis();
+        Set<OWLOntology> used = asUnorderedSet(m.getOntologies());
+        if (analysis == null || !closure.containsAll(used)) {
+            return null;
+        }
+        return new ScopedAnalysis<>(cast(analysis), used);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OntologyAnalysis<Object, ?> cast(OntologyAnalysis<?, ?> analysis) {
+        return (OntologyAnalysis<Object, ?>) analysis;
+    }
+
+    private static List<Object> run(List<OntologyAnalysis<Object, ?>> analyses,
+        List<OWLOntology> ontologies, int workers) {
+        List<List<OWLAxiom>> axioms = new ArrayList<>();
+        ontologies.forEach(o -> axioms.add(asList(o.axioms())));
+        int total = axioms.stream().mapToInt(List::size).sum();
+        int chunkSize = Math.max(1, total / (workers * WorkerPool.TASKS_PER_WORKER) + 1);
+        // the ontology headers are accumulated first
+        List<Object> accumulators = newAccumulators(analyses);
+        for (OWLOntology o : ontologies) {
+            for (int i = 0; i < analyses.size(); i++) {
+                analyses.get(i).acceptOntology(accumulators.get(i), o);
+            }
+        }
+        List<Callable<List<Object>>> chunks = new ArrayList<>();
+        for (int o = 0; o < ontologies.size(); o++) {
+            OWLOntology ontology = ontologies.get(o);
+            List<OWLAxiom> list = axioms.get(o);
+            for (int start = 0; start < list.size(); start += chunkSize) {
+                List<OWLAxiom> chunk =
+                    list.subList(start, Math.min(list.size(), start + chunkSize));
+                chunks.add(() -> analyse(analyses, ontology, chunk));
+            }
+        }
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            pool.invokeAll(chunks, partial -> {
+                for (int i = 0; i < analyses.size(); i++) {
+                    accumulators.set(i,
+                        analyses.get(i).combine(accumulators.get(i), partial.get(i)));
+                }
+            });
+        }
+        List<Object> results = new ArrayList<>();
+        for (int i = 0; i < analyses.size(); i++) {
+            results.add(analyses.get(i).finish(accumulators.get(i)));
+        }
+        return results;
+    }
+
+    private static List<Object> analyse(List<OntologyAnalysis<Object, ?>> analyses,
+        OWLOntology ontology, List<OWLAxiom> chunk) {
+        List<Object> accumulators = newAccumulators(analyses);
+        for (OWLAxiom ax : chunk) {
+            for (int i = 0; i < analyses.size(); i++) {
+                analyses.get(i).accept(accumulators.get(i), ontology, ax);
+            }
+        }
+        return accumulators;
+    }
+
+    private static List<Object> newAccumulators(List<OntologyAnalysis<Object, ?>> analyses) {
+        List<Object> accumulators = new ArrayList<>(analyses.size());
+        analyses.forEach(a -> accumulators.add(a.newAccumulator()));
+        return accumulators;
+    }
+
+    /**
+     * Restricts an analysis to the ontologies used by a metric.
+     */
+    private static class ScopedAnalysis<A, R> implements OntologyAnalysis<A, R> {
+
+        private final OntologyAnalysis<A, R> delegate;
+        private final Set<OWLOntology> ontologies;
+
+        ScopedAnalysis(OntologyAnalysis<A, R> delegate, Set<OWLOntology> ontologies) {
+            this.delegate = delegate;
+            this.ontologies = ontologies;
+        }
+
+        @Override
+        public A newAccumulator() {
+            return delegate.newAccumulator();
+        }
+
+        @Override
+        public void acceptOntology(A accumulator, OWLOntology ontology) {
+            if (ontologies.contains(ontology)) {
+                delegate.acceptOntology(accumulator, ontology);
+            }
+        }
+
+        @Override
+        public void accept(A accumulator, OWLOntology ontology, OWLAxiom axiom) {
+            if (ontologies.contains(ontology)) {
+                delegate.accept(accumulator, ontology, axiom);
+            }
+        }
+
+        @Override
+        public A combine(A left, A right) {
+            return delegate.combine(left, right);
+        }
+
+        @Override
+        public R finish(A accumulator) {
+            return delegate.finish(accumulator);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.metrics;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * An analysis that can be computed in a single pass over the axioms of a set of ontologies. The
+ * axioms can be split between threads: each thread accumulates a partial result in its own
+ * accumulator, and the partial results are combined in axiom order. This is the same contract as
+ * {@link java.util.stream.Collector}, with the ontology of each axiom made available.
+ *
+ * @param <A> the accumulator type; accumulators are only used by one thread at a time
+ * @param <R> the result type
+ * @since 5.1.17
+ */
+public interface OntologyAnalysis<A, R> {
+
+    /**
+     * @return a new, empty accumulator
+     */
+    A newAccumulator();
+
+    /**
+     * Called once for each ontology, before any of its axioms are combined.
+     *
+     * @param accumulator accumulator
+     * @param ontology ontology
+     */
+    default void acceptOntology(A accumulator, OWLOntology ontology) {
+        // nothing to do by default
+    }
+
+    /**
+     * @param accumulator accumulator
+     * @param ontology ontology containing the axiom
+     * @param axiom axiom
+     */
+    void accept(A accumulator, OWLOntology ontology, OWLAxiom axiom);
+
+    /**
+     * @param left partial result for the earlier axioms
+     * @param right partial result for the later axioms
+     * @return the combined partial result; can be one of the arguments
+     */
+    A combine(A left, A right);
+
+    /**
+     * @param accumulator the accumulator for all axioms
+     * @return the result
+     */
+    R finish(A accumulator);
+}
@@ -0,0 +1,74 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.metrics;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.profiles.OWLProfile;
+import org.semanticweb.owlapi.profiles.OWLProfileReport;
+
+/**
+ * Results of an {@link OntologyAnalyser} run: metric values and profile reports.
+ *
+ * @since 5.1.17
+ */
+public class OntologyReport {
+
+    private final Map<OWLMetric<?>, Object> values = new IdentityHashMap<>();
+    private final Map<OWLProfile, OWLProfileReport> reports = new LinkedHashMap<>();
+    private final List<String> summary = new ArrayList<>();
+
+    void setValue(OWLMetric<?> metric, Object value) {
+        values.put(metric, value);
+        summary.add(metric.getName() + ": " + value);
+    }
+
+    void setReport(OWLProfile profile, OWLProfileReport report) {
+        reports.put(profile, report);
+        summary.add(profile.getName() + ": " + (report.isInProfile() ? "in profile"
+            : report.getViolations().size() + " violations"));
+    }
+
+    /**
+     * @param metric metric
+     * @param <M> value type
+     * @return the value of the metric, or null if the metric was not computed
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <M> M getValue(OWLMetric<M> metric) {
+        return (M) values.get(metric);
+    }
+
+    /**
+     * @param profile profile
+     * @return the report for the profile, or null if the profile was not checked
+     */
+    @Nullable
+    public OWLProfileReport getReport(OWLProfile profile) {
+        return reports.get(profile);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        summary.forEach(line -> sb.append(line).append('\n'));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,81 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.profiles.OWLOntologyProfileWalker;
+import org.semanticweb.owlapi.profiles.OWLProfile;
+import org.semanticweb.owlapi.profiles.OWLProfileReport;
+import org.semanticweb.owlapi.profiles.OWLProfileViolation;
+import org.semanticweb.owlapi.profiles.ProfileVisitor;
+import org.semanticweb.owlapi.util.OWLObjectPropertyManager;
+
+/**
+ * Profile check as an ontology analysis; each accumulator owns a walker and a profile visitor. The
+ * visitors share one property manager for the imports closure of the analysed ontology, created
+ * with {@link ProfileVisitor#sharedPropertyManager(OWLOntology)}.
+ */
+class ProfileAnalysis implements OntologyAnalysis<ProfileAnalysis.Checker, OWLProfileReport> {
+
+    private final OWLProfile profile;
+    private final OWLObjectPropertyManager propertyManager;
+
+    /**
+     * @param profile profile to check
+     * @param propertyManager property manager for the imports closure of the analysed ontology
+     */
+    ProfileAnalysis(OWLProfile profile, OWLObjectPropertyManager propertyManager) {
+        this.profile = profile;
+        this.propertyManager = propertyManager;
+    }
+
+    @Override
+    public Checker newAccumulator() {
+        return new Checker();
+    }
+
+    @Override
+    public void acceptOntology(Checker checker, OWLOntology ontology) {
+        checker.walker.walkOntologyHeader(ontology, checker.visitor);
+    }
+
+    @Override
+    public void accept(Checker checker, OWLOntology ontology, OWLAxiom axiom) {
+        checker.walker.walkAxiom(ontology, axiom, checker.visitor);
+    }
+
+    @Override
+    public Checker combine(Checker left, Checker right) {
+        left.violations.addAll(right.violations);
+        return left;
+    }
+
+    @Override
+    public OWLProfileReport finish(Checker checker) {
+        return new OWLProfileReport(profile, checker.violations);
+    }
+
+    class Checker {
+
+        final Set<OWLProfileViolation> violations = new LinkedHashSet<>();
+        final OWLOntologyProfileWalker walker =
+            new OWLOntologyProfileWalker(Collections.<OWLOntology>emptyList());
+        final ProfileVisitor visitor = new ProfileVisitor(walker, violations,
+            profile.getCheckedProfiles(), propertyManager);
+    }
+}
@@ -13,6 +13,7 @@
 package org.semanticweb.owlapi.metrics;
 
 import java.util.stream.Stream;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 
@@ -40,4 +41,14 @@ public class ReferencedObjectPropertyCount extends ObjectCountMetric<OWLObjectPr
     protected Stream<OWLObjectProperty> getObjects(OWLOntology ont) {
         return ont.objectPropertiesInSignature();
     }
+
+    @Override
+    protected Stream<OWLObjectProperty> getContributedObjects(OWLAxiom axiom) {
+        return axiom.objectPropertiesInSignature();
+    }
+
+    @Override
+    protected boolean isIncremental() {
+        return true;
+    }
 }
@@ -41,6 +41,17 @@ public class AxiomSelector {
         return asList(types.flatMap(type -> o.axioms(type, Imports.INCLUDED)));
     }
 
+    /**
+     * @param axiom the axiom to check
+     * @param excludeAssertions true if assertions should be excluded
+     * @return true if the axiom would be selected by {@link #selectAxioms(OWLOntology, boolean)}
+     */
+    public static boolean isSelected(OWLAxiom axiom, boolean excludeAssertions) {
+        AxiomType<?> type = axiom.getAxiomType();
+        return LOGICAL_AXIOMS_AND_DECLARATIONS_TYPES.contains(type)
+            && !(excludeAssertions && AxiomType.ABoxAxiomTypes.contains(type));
+    }
+
     /**
      * @param o axioms to wrap
      * @return axioms wrapped as AxiomWrapper
@@ -8,12 +8,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.util.ProgressMonitor;
 
 import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
 
@@ -211,6 +213,28 @@ public class Decomposer {
         return verifyNotNull(atomList);
     }
 
+    /**
+     * Build the atomic structure extracting axiom modules concurrently. Each worker uses its own
+     * locality checker over the signature index of this decomposer; the result is the same for any
+     * number of workers.
+     *
+     * @param t module type
+     * @param checkers supplier of locality checkers, called once per worker
+     * @param workers number of worker threads
+     * @param monitor progress monitor; progress is reported and cancellation checked from the
+     *        worker threads. Cancellation causes an {@link org.semanticweb.owlapi.model.OWLRuntimeException}
+     * @return the atomic structure for given module type T
+     */
+    public AtomList getAOS(ModuleType t, Supplier<LocalityChecker> checkers, int workers,
+        ProgressMonitor monitor) {
+        type = t;
+        modularizer.preprocessOntology(axioms);
+        tautologies.clear();
+        atomList = new ParallelDecomposition(axioms, modularizer.getSigIndex(), checkers, workers,
+            monitor, t).build(tautologies);
+        return verifyNotNull(atomList);
+    }
+
     /**
      * @param signature the signature to use
      * @param moduletype the module type
@@ -219,6 +219,13 @@ public class Modularizer {
         return checker;
     }
 
+    /**
+     * @return the signature index built by the last call to {@link #preprocessOntology(Collection)}
+     */
+    public SigIndex getSigIndex() {
+        return sigIndex;
+    }
+
     /**
      * @return the last computed module
      */
@@ -0,0 +1,259 @@
+package org.semanticweb.owlapitools.decomposition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.ProgressMonitor;
+import org.semanticweb.owlapi.util.WorkerPool;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * Parallel construction of an atom list. Each axiom module is extracted by a worker that owns its
+ * locality checker and module state; the signature index is shared and only read. Atoms are the
+ * classes of axioms with equal modules, and an atom depends on the atoms of the axioms in its
+ * module. Atoms are numbered by the position of their first axiom in the input list, so the
+ * result does not depend on the number of workers or on scheduling.
+ */
+class ParallelDecomposition {
+
+    /**
+     * axioms to decompose; the position in this list is the axiom id
+     */
+    private final List<AxiomWrapper> axioms;
+    /**
+     * shared, read only signature index
+     */
+    private final SigIndex sigIndex;
+    /**
+     * factory for the worker locality checkers
+     */
+    private final Supplier<LocalityChecker> checkers;
+    private final int workers;
+    private final ProgressMonitor monitor;
+    private final ModuleType type;
+    /**
+     * axioms in the search space: used and not tautologies
+     */
+    private final BitSet searchSpace = new BitSet();
+    /**
+     * module of each axiom; equal modules share the same instance
+     */
+    private final BitSet[] modules;
+    /**
+     * canonical instances of the modules
+     */
+    private final Map<BitSet, BitSet> distinctModules = new ConcurrentHashMap<>();
+    private final AtomicInteger progress = new AtomicInteger();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    /**
+     * @param axioms axioms to decompose
+     * @param sigIndex signature index for the axioms
+     * @param checkers supplier of locality checkers, one for each worker
+     * @param workers number of workers
+     * @param monitor progress monitor; it must be safe to call it from multiple threads
+     * @param type module type
+     */
+    ParallelDecomposition(List<AxiomWrapper> axioms, SigIndex sigIndex,
+        Supplier<LocalityChecker> checkers, int workers, ProgressMonitor monitor,
+        ModuleType type) {
+        this.axioms = axioms;
+        this.sigIndex = sigIndex;
+        this.checkers = checkers;
+        this.workers = Math.max(1, workers);
+        this.monitor = monitor;
+        this.type = type;
+        modules = new BitSet[axioms.size()];
+        for (int i = 0; i < axioms.size(); i++) {
+            axioms.get(i).setId(i);
+        }
+    }
+
+    /**
+     * @param tautologies list to fill with the tautologies found
+     * @return the atom list
+     */
+    AtomList build(List<AxiomWrapper> tautologies) {
+        monitor.setStarted();
+        monitor.setSize(2L * axioms.size());
+        boolean[] isTautology = new boolean[axioms.size()];
+        runInParallel(w -> {
+            int i;
+            while ((i = next()) < axioms.size()) {
+                AxiomWrapper ax = axioms.get(i);
+                isTautology[i] = ax.isUsed() && w.isTautology(ax);
+            }
+        });
+        for (int i = 0; i < axioms.size(); i++) {
+            if (isTautology[i]) {
+                tautologies.add(axioms.get(i));
+            } else if (axioms.get(i).isUsed()) {
+                searchSpace.set(i);
+            }
+        }
+        progress.set(axioms.size());
+        runInParallel(w -> {
+            int i;
+            while ((i = next()) < 2 * axioms.size()) {
+                int id = i - axioms.size();
+                if (searchSpace.get(id)) {
+                    modules[id] = intern(w.extract(new Signature(axioms.get(id).signature())));
+                }
+            }
+        });
+        AtomList atomList = merge(new Worker(checkers.get()).extract(new Signature()));
+        monitor.setFinished();
+        return atomList;
+    }
+
+    /**
+     * @param bottomModule module for the empty signature
+     * @return atoms and dependencies built from the axiom modules
+     */
+    private AtomList merge(BitSet bottomModule) {
+        AtomList atomList = new AtomList();
+        Map<BitSet, OntologyAtom> atomsByModule = new LinkedHashMap<>();
+        OntologyAtom[] atomOf = new OntologyAtom[axioms.size()];
+        if (!bottomModule.isEmpty()) {
+            atomsByModule.put(intern(bottomModule), atomList.newAtom());
+        }
+        for (int i = searchSpace.nextSetBit(0); i >= 0; i = searchSpace.nextSetBit(i + 1)) {
+            OntologyAtom atom = atomsByModule.computeIfAbsent(modules[i], m -> atomList.newAtom());
+            atom.addAxiom(axioms.get(i));
+            atomOf[i] = atom;
+        }
+        atomsByModule.forEach((module, atom) -> {
+            List<AxiomWrapper> list = new ArrayList<>(module.cardinality());
+            for (int j = module.nextSetBit(0); j >= 0; j = module.nextSetBit(j + 1)) {
+                list.add(axioms.get(j));
+                atom.addDepAtom(atomOf[j]);
+            }
+            atom.setModule(list);
+        });
+        atomList.reduceGraph();
+        return atomList;
+    }
+
+    private BitSet intern(BitSet module) {
+        BitSet old = distinctModules.putIfAbsent(module, module);
+        return old == null ? module : old;
+    }
+
+    /**
+     * @return next index to process; reports progress and stops all workers on cancellation
+     */
+    private int next() {
+        if (cancelled.get() || monitor.isCancelled()) {
+            cancelled.set(true);
+            return Integer.MAX_VALUE;
+        }
+        int i = progress.getAndIncrement();
+        monitor.setProgress(i);
+        return i;
+    }
+
+    private void runInParallel(WorkerTask task) {
+        try (WorkerPool pool = new WorkerPool(workers)) {
+            pool.runOnEachWorker(() -> task.run(new Worker(checkers.get())));
+        }
+        if (cancelled.get()) {
+            throw new OWLRuntimeException("Atomic decomposition cancelled");
+        }
+    }
+
+    @FunctionalInterface
+    private interface WorkerTask {
+
+        void run(Worker w);
+    }
+
+    /**
+     * Thread confined module extractor; membership in the module being built is kept in a bit set
+     * indexed by axiom id rather than in the shared axiom wrappers.
+     */
+    private class Worker {
+
+        private final LocalityChecker checker;
+        private final Deque<OWLEntity> workQueue = new ArrayDeque<>();
+
+        Worker(LocalityChecker checker) {
+            this.checker = checker;
+            checker.preprocessOntology(axioms);
+        }
+
+        /**
+         * @param ax axiom
+         * @return true iff the axiom is local wrt its own signature
+         */
+        boolean isTautology(AxiomWrapper ax) {
+            boolean topLocality = type == ModuleType.TOP;
+            Signature sig = new Signature(ax.signature());
+            sig.setLocality(topLocality);
+            checker.setSignatureValue(sig);
+            boolean toReturn = checker.local(ax.getAxiom());
+            if (type != ModuleType.STAR || !toReturn) {
+                return toReturn;
+            }
+            sig.setLocality(!topLocality);
+            return checker.local(ax.getAxiom());
+        }
+
+        /**
+         * @param signature signature
+         * @return module wrt signature and module type
+         */
+        BitSet extract(Signature signature) {
+            boolean topLocality = type == ModuleType.TOP;
+            BitSet module = extract(signature, topLocality, searchSpace);
+            if (type != ModuleType.STAR) {
+                return module;
+            }
+            // here there is a star: do the cycle until stabilization
+            int size;
+            do {
+                size = module.cardinality();
+                topLocality = !topLocality;
+                module = extract(signature, topLocality, module);
+            } while (size != module.cardinality());
+            return module;
+        }
+
+        private BitSet extract(Signature signature, boolean topLocality, BitSet space) {
+            Signature sig = new Signature(signature.getSignature().stream());
+            sig.setLocality(topLocality);
+            checker.setSignatureValue(sig);
+            BitSet module = new BitSet(axioms.size());
+            workQueue.addAll(sig.getSignature());
+            for (AxiomWrapper ax : sigIndex.getNonLocal(sig.topCLocal())) {
+                addNonLocal(ax, true, sig, space, module);
+            }
+            while (!workQueue.isEmpty()) {
+                for (AxiomWrapper ax : sigIndex.getAxioms(workQueue.poll())) {
+                    addNonLocal(ax, false, sig, space, module);
+                }
+            }
+            return module;
+        }
+
+        private void addNonLocal(AxiomWrapper ax, boolean noCheck, Signature sig, BitSet space,
+            BitSet module) {
+            int id = ax.getId();
+            if (space.get(id) && !module.get(id) && (noCheck || !checker.local(ax.getAxiom()))) {
+                module.set(id);
+                ax.signature().filter(sig::add).forEach(workQueue::add);
+            }
+        }
+    }
+}
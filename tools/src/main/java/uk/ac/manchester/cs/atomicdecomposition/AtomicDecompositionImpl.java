@@ -1,27 +1,50 @@
 package uk.ac.manchester.cs.atomicdecomposition;
 
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.add;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
+import org.semanticweb.owlapi.change.BinaryOWLObjectReader;
+import org.semanticweb.owlapi.change.BinaryOWLObjectWriter;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.util.ProgressMonitor;
 import org.semanticweb.owlapitools.decomposition.AtomList;
 import org.semanticweb.owlapitools.decomposition.AxiomSelector;
 import org.semanticweb.owlapitools.decomposition.AxiomWrapper;
 import org.semanticweb.owlapitools.decomposition.Decomposer;
 import org.semanticweb.owlapitools.decomposition.IdentityMultiMap;
+import org.semanticweb.owlapitools.decomposition.LocalityChecker;
+import org.semanticweb.owlapitools.decomposition.Modularizer;
 import org.semanticweb.owlapitools.decomposition.OntologyAtom;
+import org.semanticweb.owlapitools.decomposition.Signature;
 import org.semanticweb.owlapitools.decomposition.SyntacticLocalityChecker;
 
 import com.carrotsearch.hppcrt.maps.ObjectIntHashMap;
@@ -29,19 +52,33 @@ import com.carrotsearch.hppcrt.maps.ObjectIntHashMap;
 import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
 
 /**
- * Atomic decomposition implementation.
+ * Atomic decomposition implementation. A decomposition can be saved to and loaded from a stream,
+ * and kept up to date with {@link #update(List)} when the decomposed axioms change.
  */
 public class AtomicDecompositionImpl implements AtomicDecomposition {
 
+    private static final int MAGIC = 0x4f574c41;
+    private static final int FORMAT_VERSION = 3;
     final Map<OWLEntity, Set<Atom>> termBasedIndex = new LinkedHashMap<>();
     private final ModuleType type;
+    private boolean excludeAssertions = false;
     Set<OWLAxiom> globalAxioms;
-    Set<OWLAxiom> tautologies;
-    List<Atom> atoms;
-    ObjectIntHashMap<Atom> atomIndex = new ObjectIntHashMap<>();
+    final Set<OWLAxiom> tautologies = new LinkedHashSet<>();
+    /**
+     * decomposed axioms, in input order
+     */
+    final Set<OWLAxiom> axioms;
+    final List<Atom> atoms = new ArrayList<>();
+    final Map<OWLAxiom, Atom> axiomIndex = new HashMap<>();
     IdentityMultiMap<Atom, Atom> dependents = new IdentityMultiMap<>();
     IdentityMultiMap<Atom, Atom> dependencies = new IdentityMultiMap<>();
+    /**
+     * decomposer and atom list are built lazily after loading or updating
+     */
+    @Nullable
     Decomposer decomposer;
+    @Nullable
+    AtomList atomList;
 
     /**
      * @param o o
@@ -65,6 +102,18 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
      */
     public AtomicDecompositionImpl(OWLOntology o, ModuleType type, boolean excludeAssertions) {
         this(AxiomSelector.selectAxioms(o, excludeAssertions), type);
+        this.excludeAssertions = excludeAssertions;
+    }
+
+    /**
+     * @param o o
+     * @param type type
+     * @param workers number of worker threads
+     * @param monitor progress monitor
+     */
+    public AtomicDecompositionImpl(OWLOntology o, ModuleType type, int workers,
+        ProgressMonitor monitor) {
+        this(AxiomSelector.selectAxioms(o), type, workers, monitor);
     }
 
     /**
@@ -73,26 +122,63 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
      */
     public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type) {
         this.type = type;
-        decomposer = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
-        int size = decomposer.getAOS(this.type).size();
-        atoms = new ArrayList<>();
+        this.axioms = new LinkedHashSet<>(axioms);
+        Decomposer d = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
+        init(d, d.getAOS(this.type));
+    }
+
+    /**
+     * Decompose extracting the axiom modules in parallel; atoms and dependencies are the same as
+     * those built by the sequential constructors.
+     *
+     * @param axioms axioms
+     * @param type type
+     * @param workers number of worker threads
+     * @param monitor progress monitor; cancelling it aborts the decomposition with an
+     *        {@link org.semanticweb.owlapi.model.OWLRuntimeException}
+     */
+    public AtomicDecompositionImpl(List<OWLAxiom> axioms, ModuleType type, int workers,
+        ProgressMonitor monitor) {
+        this.type = type;
+        this.axioms = new LinkedHashSet<>(axioms);
+        Decomposer d = new Decomposer(AxiomSelector.wrap(axioms), new SyntacticLocalityChecker());
+        init(d, d.getAOS(this.type, SyntacticLocalityChecker::new, workers, monitor));
+    }
+
+    private AtomicDecompositionImpl(ModuleType type, Set<OWLAxiom> axioms) {
+        this.type = type;
+        this.axioms = axioms;
+    }
+
+    private void init(Decomposer d, AtomList list) {
+        decomposer = d;
+        atomList = list;
+        tautologies.addAll(asSet(d.getTautologies()));
+        int size = list.size();
         for (int i = 0; i < size; i++) {
-            final Atom atom = new Atom(asSet(decomposer.getAOS().get(i).getAtomAxioms()));
-            atoms.add(atom);
-            atomIndex.put(atom, i);
-            for (OWLEntity e : atom.getSignature()) {
-                termBasedIndex.computeIfAbsent(e, x -> new HashSet<>()).add(atom);
-            }
+            addAtom(new Atom(asSet(list.get(i).getAtomAxioms())));
         }
         for (int i = 0; i < size; i++) {
-            Set<OntologyAtom> dependentIndexes = decomposer.getAOS().get(i).getDependencies();
+            Set<OntologyAtom> dependentIndexes = list.get(i).getDependencies();
             for (OntologyAtom j : dependentIndexes) {
-                dependencies.put(atoms.get(i), atoms.get(j.getId()));
-                dependents.put(atoms.get(j.getId()), atoms.get(i));
+                addDependency(atoms.get(i), atoms.get(j.getId()));
             }
         }
     }
 
+    private void addAtom(Atom atom) {
+        atoms.add(atom);
+        atom.getAxioms().forEach(ax -> axiomIndex.put(ax, atom));
+        for (OWLEntity e : atom.getSignature()) {
+            termBasedIndex.computeIfAbsent(e, x -> new HashSet<>()).add(atom);
+        }
+    }
+
+    private void addDependency(Atom atom, Atom dependency) {
+        dependencies.put(atom, dependency);
+        dependents.put(dependency, atom);
+    }
+
     Set<OWLAxiom> asSet(Collection<AxiomWrapper> c) {
         Set<OWLAxiom> toReturn = new HashSet<>();
         for (AxiomWrapper p : c) {
@@ -105,6 +191,271 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
         return type.ordinal();
     }
 
+    /**
+     * Save atoms, dependencies and the axioms they refer to. Axioms are written once, in the
+     * binary encoding of {@link BinaryOWLObjectWriter}, and atoms refer to them by position.
+     *
+     * @param out stream to write to; it is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    public void save(OutputStream out) throws IOException {
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(out));
+        BinaryOWLObjectWriter writer = new BinaryOWLObjectWriter(stream);
+        stream.writeInt(MAGIC);
+        writer.writeVarint(FORMAT_VERSION);
+        writer.writeVarint(type.ordinal());
+        stream.writeBoolean(excludeAssertions);
+        ObjectIntHashMap<OWLAxiom> axiomIds = new ObjectIntHashMap<>();
+        writer.writeVarint(axioms.size());
+        for (OWLAxiom ax : axioms) {
+            axiomIds.put(ax, axiomIds.size());
+            writer.writeObject(ax);
+        }
+        writeIds(writer, tautologies, axiomIds);
+        ObjectIntHashMap<Atom> atomIds = new ObjectIntHashMap<>();
+        writer.writeVarint(atoms.size());
+        for (Atom atom : atoms) {
+            atomIds.put(atom, atomIds.size());
+            writeIds(writer, atom.getAxioms(), axiomIds);
+        }
+        for (Atom atom : atoms) {
+            writeIds(writer, dependencies.get(atom), atomIds);
+        }
+        stream.flush();
+    }
+
+    private static <T> void writeIds(BinaryOWLObjectWriter writer, Collection<T> c,
+        ObjectIntHashMap<T> ids) throws IOException {
+        writer.writeVarint(c.size());
+        for (T t : c) {
+            writer.writeVarint(ids.get(t));
+        }
+    }
+
+    /**
+     * Load a decomposition saved with {@link #save(OutputStream)}. No module is extracted while
+     * loading.
+     *
+     * @param in stream to read from
+     * @param df data factory used to create the axioms
+     * @return loaded decomposition
+     * @throws IOException if reading fails or the stream does not contain a decomposition
+     */
+    public static AtomicDecompositionImpl load(InputStream in, OWLDataFactory df)
+        throws IOException {
+        DataInputStream stream = new DataInputStream(new BufferedInputStream(in));
+        BinaryOWLObjectReader reader = new BinaryOWLObjectReader(stream, df);
+        if (stream.readInt() != MAGIC) {
+            throw new IOException("Not an atomic decomposition");
+        }
+        int version = reader.readVarint();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported atomic decomposition format " + version);
+        }
+        ModuleType type = ModuleType.values()[reader.readVarint()];
+        boolean excludeAssertions = stream.readBoolean();
+        OWLAxiom[] axioms = new OWLAxiom[reader.readVarint()];
+        for (int i = 0; i < axioms.length; i++) {
+            axioms[i] = reader.readObject(OWLAxiom.class);
+        }
+        AtomicDecompositionImpl ad =
+            new AtomicDecompositionImpl(type, new LinkedHashSet<>(Arrays.asList(axioms)));
+        ad.excludeAssertions = excludeAssertions;
+        ad.tautologies.addAll(readIds(reader, axioms));
+        Atom[] atoms = new Atom[reader.readVarint()];
+        for (int i = 0; i < atoms.length; i++) {
+            atoms[i] = new Atom(new HashSet<>(readIds(reader, axioms)));
+            ad.addAtom(atoms[i]);
+        }
+        for (Atom atom : atoms) {
+            readIds(reader, atoms).forEach(d -> ad.addDependency(atom, d));
+        }
+        return ad;
+    }
+
+    private static <T> List<T> readIds(BinaryOWLObjectReader reader, T[] values)
+        throws IOException {
+        int size = reader.readVarint();
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int id = reader.readVarint();
+            if (id >= values.length) {
+                throw new IOException("Invalid reference " + id);
+            }
+            list.add(values[id]);
+        }
+        return list;
+    }
+
+    /**
+     * Update the decomposition after axioms have been added to or removed from the decomposed
+     * axioms. Only atoms whose principal ideal signature contains an entity in the signature of a
+     * changed axiom can have a different module; those atoms are removed and their axioms, with
+     * the added ones, are placed in new atoms. Axioms that are non local wrt the empty signature
+     * change every module, so changing them causes a full recomputation.
+     *
+     * @param changes changes to apply; changes that do not add or remove axioms selected for
+     *        decomposition are ignored
+     */
+    public void update(List<? extends OWLOntologyChange> changes) {
+        Set<OWLAxiom> added = new LinkedHashSet<>();
+        Set<OWLAxiom> removed = new HashSet<>();
+        for (OWLOntologyChange c : changes) {
+            if (c.isAxiomChange() && AxiomSelector.isSelected(c.getAxiom(), excludeAssertions)) {
+                OWLAxiom ax = c.getAxiom();
+                if (c.isAddAxiom()) {
+                    if (axioms.add(ax) && !removed.remove(ax)) {
+                        added.add(ax);
+                    }
+                } else if (axioms.remove(ax) && !added.remove(ax)) {
+                    removed.add(ax);
+                }
+            }
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        decomposer = null;
+        atomList = null;
+        LocalityChecker checker = new SyntacticLocalityChecker();
+        Set<OWLEntity> changedSignature = new HashSet<>();
+        List<OWLAxiom> toPlace = new ArrayList<>();
+        boolean global = false;
+        for (OWLAxiom ax : removed) {
+            if (!tautologies.remove(ax)) {
+                global |= isGlobal(checker, ax);
+                add(changedSignature, ax.signature());
+            }
+        }
+        for (OWLAxiom ax : added) {
+            if (isTautology(checker, ax)) {
+                tautologies.add(ax);
+            } else {
+                global |= isGlobal(checker, ax);
+                add(changedSignature, ax.signature());
+                toPlace.add(ax);
+            }
+        }
+        if (global) {
+            recompute();
+            return;
+        }
+        Set<Atom> affected = new HashSet<>();
+        for (OWLEntity e : changedSignature) {
+            for (Atom a : termBasedIndex.getOrDefault(e, Collections.emptySet())) {
+                if (!affected.contains(a)) {
+                    affected.addAll(getDependents(a));
+                }
+            }
+        }
+        for (Atom a : affected) {
+            a.getAxioms().stream().filter(axioms::contains).forEach(toPlace::add);
+        }
+        removeAtoms(affected);
+        placeAxioms(toPlace);
+    }
+
+    private boolean local(LocalityChecker checker, OWLAxiom ax, Signature sig, boolean top) {
+        sig.setLocality(top);
+        checker.setSignatureValue(sig);
+        return checker.local(ax);
+    }
+
+    private boolean isTautology(LocalityChecker checker, OWLAxiom ax) {
+        Signature sig = new Signature(ax.signature());
+        boolean topLocality = type == ModuleType.TOP;
+        boolean toReturn = local(checker, ax, sig, topLocality);
+        if (type != ModuleType.STAR || !toReturn) {
+            return toReturn;
+        }
+        return local(checker, ax, sig, !topLocality);
+    }
+
+    private boolean isGlobal(LocalityChecker checker, OWLAxiom ax) {
+        Signature sig = new Signature();
+        boolean topLocality = type == ModuleType.TOP;
+        boolean toReturn = !local(checker, ax, sig, topLocality);
+        if (type != ModuleType.STAR || toReturn) {
+            return toReturn;
+        }
+        return !local(checker, ax, sig, !topLocality);
+    }
+
+    private void recompute() {
+        termBasedIndex.clear();
+        tautologies.clear();
+        atoms.clear();
+        axiomIndex.clear();
+        dependencies.clear();
+        dependents.clear();
+        Decomposer d = new Decomposer(AxiomSelector.wrap(new ArrayList<>(axioms)),
+            new SyntacticLocalityChecker());
+        init(d, d.getAOS(type));
+    }
+
+    private void removeAtoms(Set<Atom> affected) {
+        atoms.removeIf(affected::contains);
+        for (Atom atom : affected) {
+            atom.getAxioms().forEach(axiomIndex::remove);
+            for (OWLEntity e : atom.getSignature()) {
+                Set<Atom> set = termBasedIndex.get(e);
+                if (set != null && set.remove(atom) && set.isEmpty()) {
+                    termBasedIndex.remove(e);
+                }
+            }
+            for (Atom d : dependencies.get(atom)) {
+                dependents.remove(d, atom);
+            }
+        }
+        for (Atom atom : affected) {
+            dependencies.remove(atom);
+            dependents.remove(atom);
+        }
+    }
+
+    /**
+     * Extract the modules of the axioms to place and build atoms from axioms with equal modules.
+     * New atoms can depend on existing atoms but not vice versa.
+     *
+     * @param toPlace axioms without an atom
+     */
+    private void placeAxioms(List<OWLAxiom> toPlace) {
+        List<AxiomWrapper> wrappers = AxiomSelector.wrap(new ArrayList<>(axioms));
+        wrappers.forEach(w -> w.setUsed(!tautologies.contains(w.getAxiom())));
+        Modularizer modularizer =
+            Decomposer.buildModulariser(wrappers, new SyntacticLocalityChecker());
+        Map<Set<OWLAxiom>, List<OWLAxiom>> atomsByModule = new LinkedHashMap<>();
+        for (OWLAxiom ax : toPlace) {
+            modularizer.extract(wrappers, new Signature(ax.signature()), type);
+            atomsByModule.computeIfAbsent(asSet(modularizer.getModule()), x -> new ArrayList<>())
+                .add(ax);
+        }
+        Map<Atom, Set<OWLAxiom>> modules = new LinkedHashMap<>();
+        atomsByModule.forEach((module, atomAxioms) -> {
+            Atom atom = new Atom(new HashSet<>(atomAxioms));
+            addAtom(atom);
+            modules.put(atom, module);
+        });
+        Map<Atom, Set<Atom>> allDependencies = new HashMap<>();
+        modules.forEach((atom, module) -> allDependencies.put(atom, module.stream()
+            .map(axiomIndex::get).filter(a -> a != atom).collect(Collectors.toSet())));
+        Map<Atom, Set<Atom>> below = new HashMap<>();
+        allDependencies.forEach((atom, all) -> {
+            Set<Atom> direct = new HashSet<>(all);
+            for (Atom d : all) {
+                direct.removeAll(below.computeIfAbsent(d, x -> {
+                    if (allDependencies.containsKey(x)) {
+                        return allDependencies.get(x);
+                    }
+                    Set<Atom> s = getDependencies(x);
+                    s.remove(x);
+                    return s;
+                }));
+            }
+            direct.forEach(d -> addDependency(atom, d));
+        });
+    }
+
     @Override
     public Set<Atom> getAtoms() {
         return new HashSet<>(atoms);
@@ -113,12 +464,7 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
     @Nullable
     @Override
     public Atom getAtomForAxiom(OWLAxiom axiom) {
-        for (int i = 0; i < atoms.size(); i++) {
-            if (atoms.get(i).contains(axiom)) {
-                return atoms.get(i);
-            }
-        }
-        return null;
+        return axiomIndex.get(axiom);
     }
 
     @Override
@@ -133,7 +479,9 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
 
     @Override
     public Set<OWLAxiom> getPrincipalIdeal(Atom atom) {
-        return asSet(getAtomModule(atomIndex.get(atom)));
+        Set<OWLAxiom> toReturn = new HashSet<>();
+        getDependencies(atom).forEach(a -> toReturn.addAll(a.getAxioms()));
+        return toReturn;
     }
 
     @Override
@@ -218,7 +566,7 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
 
     @Override
     public Set<OWLAxiom> getTautologies() {
-        return asSet(decomposer.getTautologies());
+        return new HashSet<>(tautologies);
     }
 
     @Override
@@ -237,18 +585,48 @@ public class AtomicDecompositionImpl implements AtomicDecomposition {
      * @return module at index
      */
     Collection<AxiomWrapper> getAtomModule(int index) {
-        return decomposer.getAOS().get(index).getModule();
+        return getAtomList().get(index).getModule();
     }
 
     @Override
     public AtomList getAtomList() {
-        return decomposer.getAOS();
+        if (atomList == null) {
+            atomList = buildAtomList();
+        }
+        return verifyNotNull(atomList);
+    }
+
+    private AtomList buildAtomList() {
+        AtomList list = new AtomList();
+        Map<OWLAxiom, AxiomWrapper> wrappers = new HashMap<>();
+        axioms.forEach(ax -> wrappers.put(ax, new AxiomWrapper(ax)));
+        Map<Atom, OntologyAtom> map = new IdentityHashMap<>();
+        for (Atom atom : atoms) {
+            OntologyAtom ontologyAtom = list.newAtom();
+            atom.getAxioms().forEach(ax -> ontologyAtom.addAxiom(wrappers.get(ax)));
+            map.put(atom, ontologyAtom);
+        }
+        for (Atom atom : atoms) {
+            OntologyAtom ontologyAtom = map.get(atom);
+            ontologyAtom.setModule(
+                asList(getPrincipalIdeal(atom).stream().map(wrappers::get)));
+            dependencies.get(atom).forEach(d -> ontologyAtom.addDepAtom(map.get(d)));
+        }
+        return list;
+    }
+
+    private Decomposer getDecomposer() {
+        if (decomposer == null) {
+            decomposer = new Decomposer(AxiomSelector.wrap(new ArrayList<>(axioms)),
+                new SyntacticLocalityChecker());
+        }
+        return verifyNotNull(decomposer);
     }
 
     @Override
     public Stream<OWLAxiom> getModule(Stream<OWLEntity> signature, boolean useSemantics,
         ModuleType moduletype) {
-        return decomposer.getModule(signature, useSemantics, moduletype).stream()
+        return getDecomposer().getModule(signature, useSemantics, moduletype).stream()
             .map(AxiomWrapper::getAxiom).filter(ax -> ax != null);
     }
 }